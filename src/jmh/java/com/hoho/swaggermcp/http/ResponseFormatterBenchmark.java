@@ -0,0 +1,82 @@
+package com.hoho.swaggermcp.http;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 포맷팅 벤치마크 (ResponseFormatter.format)
+ *
+ * 배열 JSON 응답을 크기별로 포맷팅합니다. 1 MiB 기본 응답 한도를 넘는 크기는 잘라내기/드레인 경로를 탑니다.
+ * - json: 투영 없이 정리 출력
+ * - compact: 투영 없이 간결한 형식(공백 없는 JSON)으로 출력
+ * - projected: select/limit 투영 적용
+ * - text: JSON이 아닌 본문
+ *   gradle jmh -Pjmh="ResponseFormatterBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFormatterBenchmark {
+
+    @Param({"1024", "65536", "1048576", "4194304"})
+    public int payloadBytes;
+
+    private ResponseFormatter formatter;
+    private JsonProjection projection;
+    private byte[] json;
+    private byte[] text;
+
+    @Setup
+    public void setUp() {
+        formatter = new ResponseFormatter(HttpClientSettings.DEFAULT_MAX_RESPONSE_BYTES,
+            HttpClientSettings.DEFAULT_MAX_DRAIN_BYTES);
+        projection = new JsonProjection(List.of("[*].id", "[*].name"), 0, 50, -1);
+
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; sb.length() < payloadBytes; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"id\":").append(i)
+                .append(",\"name\":\"item-").append(i).append('"')
+                .append(",\"status\":\"active\",\"price\":").append(i * 1.5)
+                .append(",\"tags\":[\"a\",\"b\",\"c\"],\"owner\":{\"id\":").append(i % 97)
+                .append(",\"name\":\"한글 소유자\"}}");
+        }
+        json = sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+
+        StringBuilder plain = new StringBuilder();
+        while (plain.length() < payloadBytes) {
+            plain.append("line ").append(plain.length()).append(": plain text response body\n");
+        }
+        text = plain.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String json() throws IOException {
+        return formatter.format(200, "OK", new ByteArrayInputStream(json), json.length, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String compact() throws IOException {
+        return formatter.format(200, "OK", new ByteArrayInputStream(json), json.length, StandardCharsets.UTF_8,
+            JsonProjection.NONE, OutputFormat.COMPACT);
+    }
+
+    @Benchmark
+    public String projected() throws IOException {
+        return formatter.format(200, "OK", new ByteArrayInputStream(json), json.length, StandardCharsets.UTF_8,
+            projection);
+    }
+
+    @Benchmark
+    public String text() throws IOException {
+        return formatter.format(200, "OK", new ByteArrayInputStream(text), text.length, StandardCharsets.UTF_8);
+    }
+}
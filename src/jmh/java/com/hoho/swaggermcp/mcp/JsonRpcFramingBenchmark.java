@@ -0,0 +1,99 @@
+package com.hoho.swaggermcp.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * stdio 프레이밍 벤치마크 (메시지당 할당 바이트 비교)
+ *
+ * tools/call 요청 한 줄을 읽어 파싱하고, 큰 Tool 결과를 담은 응답 한 줄을 쓰는 과정을 측정합니다.
+ * - legacy: 이전 McpServer 방식 (readLine -> String -> readValue -> treeToValue, writeValueAsString -> println)
+ * - streaming: JsonLineReader/JsonLineWriter (바이트 줄 버퍼를 ObjectReader로 바로 파싱, JsonGenerator로 바로 기록)
+ *
+ * 메시지당 할당량은 -prof gc의 gc.alloc.rate.norm으로 확인합니다.
+ *   gradle jmh -Pjmh="JsonRpcFramingBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonRpcFramingBenchmark {
+
+    private static final int MESSAGES = 100;
+
+    @Param({"1024", "65536"})
+    public int resultBytes;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader requestReader;
+    private ObjectReader callParamsReader;
+    private byte[] input;
+    private String resultText;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        requestReader = objectMapper.readerFor(JsonRpcRequest.class);
+        callParamsReader = objectMapper.readerFor(McpModels.CallToolParams.class);
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < MESSAGES; i++) {
+            sb.append("{\"jsonrpc\":\"2.0\",\"id\":").append(i)
+                .append(",\"method\":\"tools/call\",\"params\":{\"name\":\"call_api\",\"arguments\":")
+                .append("{\"api\":\"pets\",\"operationId\":\"getPetById\",\"parameters\":{\"petId\":\"")
+                .append(i).append("\",\"verbose\":true},\"select\":\"items[*].name\"}}}\n");
+        }
+        input = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        StringBuilder text = new StringBuilder("=== HTTP 응답 ===\n상태: 200 OK\n\n응답 데이터:\n[");
+        while (text.length() < resultBytes) {
+            text.append("{\"id\":").append(text.length()).append(",\"name\":\"rex\",\"tags\":[\"a\",\"b\"]},\n");
+        }
+        resultText = text.append(']').toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void legacy(Blackhole blackhole) throws IOException {
+        BufferedReader reader = new BufferedReader(
+            new InputStreamReader(new ByteArrayInputStream(input), StandardCharsets.UTF_8));
+        PrintWriter writer = new PrintWriter(new PrintStream(OutputStream.nullOutputStream(), true, StandardCharsets.UTF_8), true);
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            JsonRpcRequest request = objectMapper.readValue(line, JsonRpcRequest.class);
+            McpModels.CallToolParams params = objectMapper.treeToValue(request.getParams(), McpModels.CallToolParams.class);
+            blackhole.consume(params);
+
+            JsonRpcResponse response = JsonRpcResponse.success(request.getId(), McpModels.CallToolResult.success(resultText));
+            writer.println(objectMapper.writeValueAsString(response));
+            writer.flush();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void streaming(Blackhole blackhole) throws IOException {
+        JsonLineReader reader = new JsonLineReader(new ByteArrayInputStream(input));
+        JsonLineWriter writer = new JsonLineWriter(
+            new BufferedOutputStream(new PrintStream(OutputStream.nullOutputStream(), true, StandardCharsets.UTF_8), 64 * 1024),
+            objectMapper);
+
+        while (reader.next()) {
+            JsonRpcRequest request = requestReader.readValue(reader.array(), reader.offset(), reader.length());
+            McpModels.CallToolParams params = callParamsReader.readValue(request.getParams());
+            blackhole.consume(params);
+
+            JsonRpcResponse response = JsonRpcResponse.success(request.getId(), McpModels.CallToolResult.success(resultText));
+            writer.write(response);
+        }
+    }
+}
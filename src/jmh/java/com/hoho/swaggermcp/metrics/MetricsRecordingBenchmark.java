@@ -0,0 +1,57 @@
+package com.hoho.swaggermcp.metrics;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지표 기록 비용 벤치마크
+ *
+ * call_api 한 번에 기록하는 분포(처리 시간, 업스트림 시간, 포맷팅 시간, 요청/응답 크기)를 여러 스레드에서 동시에 기록합니다.
+ *   gradle jmh -Pjmh="MetricsRecordingBenchmark -t 8 -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsRecordingBenchmark {
+
+    private static final String[] OPERATIONS = {
+        "petstore/getPetById", "petstore/listPets", "petstore/createPet", "orders/getOrder"
+    };
+
+    private ServerMetrics metrics;
+
+    @Setup
+    public void setUp() {
+        metrics = new ServerMetrics();
+    }
+
+    @State(Scope.Thread)
+    public static class Sample {
+        long value = 1;
+        int next;
+
+        String operation() {
+            return OPERATIONS[next++ & (OPERATIONS.length - 1)];
+        }
+
+        long nextValue() {
+            value = value * 6364136223846793005L + 1442695040888963407L;
+            return (value >>> 40) & 0xFFFFF;  // 0 ~ 1s (마이크로초 단위 나노초 값)
+        }
+    }
+
+    @Benchmark
+    public void recordCall(Sample sample) {
+        String operation = sample.operation();
+        long nanos = sample.nextValue() * 1_000;
+        metrics.toolDispatch().recordNanos("call_api", nanos);
+        metrics.upstreamHttp().recordNanos(operation, nanos / 2);
+        metrics.responseFormat().recordNanos(operation, nanos / 8);
+        metrics.upstreamBytesOut().record(operation, 0);
+        metrics.upstreamBytesIn().record(operation, sample.value & 0xFFFF);
+    }
+}
@@ -0,0 +1,183 @@
+package com.hoho.swaggermcp.swagger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hoho.swaggermcp.http.ApiResponse;
+import com.hoho.swaggermcp.http.CallOptions;
+import com.hoho.swaggermcp.http.HttpApiClient;
+import com.hoho.swaggermcp.http.HttpClientSettings;
+import com.hoho.swaggermcp.mcp.McpModels;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import javax.net.ServerSocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * call_api 디스패치 벤치마크 (인자 해석, 파라미터 분류, URL 조립, 요청/응답 처리)
+ *
+ * 업스트림은 고정 JSON을 돌려주는 MockWebServer입니다. 캐시와 요청 병합은 꺼서 매번 실제 요청을 보냅니다.
+ * - getById: path + query 파라미터 (GET)
+ * - create: header + body 파라미터 (POST)
+ * - rawClient: 같은 GET을 HttpApiClient로 직접 호출 (call_api 처리 비용을 빼고 보기 위한 기준선)
+ *   gradle jmh -Pjmh="CallApiBenchmark -t 4"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CallApiBenchmark {
+
+    private static final int OPERATIONS = 500;
+    private static final String RESPONSE_BODY =
+        "{\"id\":1,\"name\":\"rex\",\"status\":\"active\",\"tags\":[\"a\",\"b\"],\"owner\":{\"id\":7,\"name\":\"kim\"}}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong sequence = new AtomicLong();
+    private MockWebServer server;
+    private SwaggerToolProvider provider;
+    private HttpApiClient rawClient;
+    private volatile String spec;
+    private String getOperationId;
+    private String createOperationId;
+    private String idParam;
+    private String rawPath;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        server.setDispatcher(new Dispatcher() {
+            @NotNull
+            @Override
+            public MockResponse dispatch(@NotNull RecordedRequest request) {
+                if (request.getPath() != null && request.getPath().startsWith("/v3/api-docs")) {
+                    return new MockResponse().setHeader("Content-Type", "application/json").setBody(spec);
+                }
+                return new MockResponse().setHeader("Content-Type", "application/json").setBody(RESPONSE_BODY);
+            }
+        });
+        server.start();
+        spec = SyntheticSpec.json(OPERATIONS, server.url("/").toString());
+
+        HttpClientSettings settings = new HttpClientSettings();
+        settings.setCacheMaxBytes(0);
+        settings.setCoalesce(false);
+        SwaggerOptions options = new SwaggerOptions();
+        options.setHttpSettings(settings);
+
+        Map<String, String> apis = new LinkedHashMap<>();
+        apis.put("bench", server.url("/v3/api-docs").toString());
+        provider = new SwaggerToolProvider(apis, new LinkedHashMap<>(), options);
+        provider.initialize();
+        rawClient = new HttpApiClient(server.url("/").toString(), settings);
+
+        // 색인 중간쯤의 리소스를 사용 (첫 엔드포인트만 빠르게 찾는 경우를 피함)
+        int resource = OPERATIONS / 10;
+        String schema = SyntheticSpec.schemaName(resource);
+        getOperationId = "get" + schema + "ById";
+        createOperationId = "create" + schema;
+        idParam = SyntheticSpec.resourceName(resource) + "Id";
+        rawPath = SyntheticSpec.collectionPath(resource) + "/42";
+
+        check(provider.callTool("call_api", getByIdArguments()));
+        check(provider.callTool("call_api", createArguments()));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        provider.close();
+        rawClient.close();
+        server.shutdown();
+    }
+
+    @Benchmark
+    public McpModels.CallToolResult getById() {
+        return provider.callTool("call_api", getByIdArguments());
+    }
+
+    @Benchmark
+    public McpModels.CallToolResult create() {
+        return provider.callTool("call_api", createArguments());
+    }
+
+    @Benchmark
+    public ApiResponse rawClient() throws IOException {
+        return rawClient.execute("GET", rawPath, Map.of("expand", "owner"), Map.of(), null, CallOptions.DEFAULT);
+    }
+
+    private ObjectNode getByIdArguments() {
+        ObjectNode args = objectMapper.createObjectNode();
+        args.put("operationId", getOperationId);
+        args.putObject("parameters")
+            .put(idParam, sequence.incrementAndGet())
+            .put("expand", "owner");
+        return args;
+    }
+
+    private ObjectNode createArguments() {
+        ObjectNode args = objectMapper.createObjectNode();
+        args.put("operationId", createOperationId);
+        ObjectNode parameters = args.putObject("parameters");
+        parameters.put("X-Request-Id", "req-" + sequence.incrementAndGet());
+        parameters.put("name", "rex");
+        parameters.put("status", "active");
+        parameters.putArray("tags").add("a").add("b");
+        return args;
+    }
+
+    /**
+     * 받아들인 소켓에 TCP_NODELAY를 켜는 서버 소켓 팩토리
+     *
+     * MockWebServer는 응답 헤더와 바디를 따로 쓰므로, Nagle 알고리즘과 클라이언트의 지연 ACK가 겹치면
+     * 요청마다 약 40ms가 더해져 측정하려는 처리 비용이 묻힙니다.
+     */
+    private static final class NoDelayServerSocketFactory extends ServerSocketFactory {
+
+        @Override
+        public ServerSocket createServerSocket() throws IOException {
+            return new ServerSocket() {
+                @Override
+                public Socket accept() throws IOException {
+                    Socket socket = super.accept();
+                    socket.setTcpNoDelay(true);
+                    return socket;
+                }
+            };
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog, InetAddress address) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static void check(McpModels.CallToolResult result) {
+        if (Boolean.TRUE.equals(result.getIsError())) {
+            throw new IllegalStateException("call_api 실패: " + result.getContent().get(0).getText());
+        }
+    }
+}
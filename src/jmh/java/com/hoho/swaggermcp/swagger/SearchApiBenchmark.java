@@ -0,0 +1,78 @@
+package com.hoho.swaggermcp.swagger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hoho.swaggermcp.mcp.McpModels;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * search_api 처리량 벤치마크
+ *
+ * MockWebServer가 합성 스펙을 내려주고, SwaggerToolProvider를 실제와 같이 초기화한 뒤 search_api Tool을 호출합니다.
+ * 색인 검색과 결과 렌더링을 포함합니다. (@Threads로 동시 호출 수 조절)
+ *   gradle jmh -Pjmh="SearchApiBenchmark -t 4"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchApiBenchmark {
+
+    private static final String[] KEYWORDS = {
+        "pet", "create order", "invoice by id", "delete", "shipment3", "update payment", "list users", "review"
+    };
+
+    @Param({"1000", "10000"})
+    public int operations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MockWebServer server;
+    private SwaggerToolProvider provider;
+    private ObjectNode[] arguments;
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        server.enqueue(new MockResponse()
+            .setHeader("Content-Type", "application/json")
+            .setBody(SyntheticSpec.json(operations, server.url("/").toString())));
+
+        Map<String, String> apis = new LinkedHashMap<>();
+        apis.put("bench", server.url("/v3/api-docs").toString());
+        provider = new SwaggerToolProvider(apis);
+        provider.initialize();
+
+        arguments = new ObjectNode[KEYWORDS.length];
+        for (int i = 0; i < KEYWORDS.length; i++) {
+            arguments[i] = objectMapper.createObjectNode().put("keyword", KEYWORDS[i]).put("limit", 10);
+        }
+        McpModels.CallToolResult check = provider.callTool("search_api", arguments[0]);
+        if (Boolean.TRUE.equals(check.getIsError())) {
+            throw new IllegalStateException("search_api 실패: " + check.getContent().get(0).getText());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        provider.close();
+        server.shutdown();
+    }
+
+    @Benchmark
+    public McpModels.CallToolResult searchApi() {
+        ObjectNode args = arguments[Math.floorMod(next.getAndIncrement(), arguments.length)];
+        return provider.callTool("search_api", args);
+    }
+}
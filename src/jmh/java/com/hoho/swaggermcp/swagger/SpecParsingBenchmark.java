@@ -0,0 +1,46 @@
+package com.hoho.swaggermcp.swagger;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스펙 파싱 벤치마크 (SwaggerParser.parseContents + 엔드포인트 추출, 검색 색인 생성)
+ *
+ * 오퍼레이션 수별로 내려받은 스펙 본문을 파싱하는 시간을 측정합니다. (네트워크 제외)
+ *   gradle jmh -Pjmh="SpecParsingBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecParsingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int operations;
+
+    private String spec;
+    private List<ApiEndpoint> endpoints;
+
+    @Setup
+    public void setUp() {
+        spec = SyntheticSpec.json(operations, "http://127.0.0.1:1");
+        endpoints = new SwaggerParser("bench").parseContents(spec);
+        if (endpoints.size() < operations) {
+            throw new IllegalStateException("합성 스펙 파싱 결과가 부족합니다: " + endpoints.size());
+        }
+    }
+
+    @Benchmark
+    public List<ApiEndpoint> parse() {
+        return new SwaggerParser("bench").parseContents(spec);
+    }
+
+    @Benchmark
+    public EndpointSearchIndex buildSearchIndex() {
+        return EndpointSearchIndex.build(endpoints);
+    }
+}
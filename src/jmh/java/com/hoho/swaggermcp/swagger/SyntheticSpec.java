@@ -0,0 +1,109 @@
+package com.hoho.swaggermcp.swagger;
+
+/**
+ * 벤치마크용 합성 OpenAPI 3 스펙 생성기
+ *
+ * 리소스 하나당 list/create/get/update/delete 다섯 개 오퍼레이션을 만들고, 리소스 20개마다 태그를 바꿉니다.
+ * 경로/쿼리/헤더 파라미터와 $ref 스키마 요청 바디를 포함해 실제 스펙과 비슷한 파싱 비용이 들도록 합니다.
+ */
+public final class SyntheticSpec {
+
+    private static final String[] NOUNS = {
+        "pet", "order", "user", "invoice", "shipment", "product", "account", "payment", "review", "ticket"
+    };
+
+    private SyntheticSpec() {}
+
+    /**
+     * @param operations 만들 오퍼레이션 수 (5의 배수로 올림)
+     * @param serverUrl servers[0].url (호출 벤치마크에서는 MockWebServer 주소)
+     */
+    public static String json(int operations, String serverUrl) {
+        int resources = (operations + 4) / 5;
+        StringBuilder paths = new StringBuilder();
+        StringBuilder schemas = new StringBuilder();
+
+        for (int r = 0; r < resources; r++) {
+            String name = resourceName(r);
+            String schema = schemaName(r);
+            String tag = NOUNS[(r / 20) % NOUNS.length] + "-" + (r / 20);
+            if (r > 0) {
+                paths.append(',');
+                schemas.append(',');
+            }
+
+            paths.append('"').append(collectionPath(r)).append("\":{")
+                .append("\"get\":").append(operation("list" + schema, "List " + name + " records", tag,
+                    queryParam("page", "integer", false) + "," + queryParam("size", "integer", false)
+                        + "," + queryParam("q", "string", false), null))
+                .append(",\"post\":").append(operation("create" + schema, "Create a " + name, tag,
+                    headerParam("X-Request-Id"), schema))
+                .append("},");
+
+            String idParam = pathParam(name + "Id");
+            paths.append('"').append(itemPath(r)).append("\":{")
+                .append("\"get\":").append(operation("get" + schema + "ById", "Find " + name + " by id", tag,
+                    idParam + "," + queryParam("expand", "string", false), null))
+                .append(",\"put\":").append(operation("update" + schema, "Update an existing " + name, tag,
+                    idParam, schema))
+                .append(",\"delete\":").append(operation("delete" + schema, "Delete a " + name, tag,
+                    idParam, null))
+                .append('}');
+
+            schemas.append('"').append(schema).append("\":{\"type\":\"object\",\"required\":[\"name\"],\"properties\":{")
+                .append("\"id\":{\"type\":\"integer\",\"format\":\"int64\"},")
+                .append("\"name\":{\"type\":\"string\",\"description\":\"Display name of the ").append(name).append("\"},")
+                .append("\"status\":{\"type\":\"string\",\"enum\":[\"active\",\"pending\",\"archived\"]},")
+                .append("\"tags\":{\"type\":\"array\",\"items\":{\"type\":\"string\"}}}}");
+        }
+
+        return "{\"openapi\":\"3.0.1\",\"info\":{\"title\":\"Synthetic API\",\"version\":\"1.0\"},"
+            + "\"servers\":[{\"url\":\"" + serverUrl + "\"}],"
+            + "\"paths\":{" + paths + "},"
+            + "\"components\":{\"schemas\":{" + schemas + "}}}";
+    }
+
+    public static String resourceName(int r) {
+        return NOUNS[r % NOUNS.length] + (r / NOUNS.length);
+    }
+
+    public static String schemaName(int r) {
+        String name = resourceName(r);
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    public static String collectionPath(int r) {
+        return "/v1/" + resourceName(r) + "s";
+    }
+
+    public static String itemPath(int r) {
+        return collectionPath(r) + "/{" + resourceName(r) + "Id}";
+    }
+
+    private static String operation(String operationId, String summary, String tag, String parameters, String bodySchema) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"operationId\":\"").append(operationId).append("\",")
+            .append("\"summary\":\"").append(summary).append("\",")
+            .append("\"tags\":[\"").append(tag).append("\"],")
+            .append("\"parameters\":[").append(parameters).append("],");
+        if (bodySchema != null) {
+            sb.append("\"requestBody\":{\"required\":true,\"content\":{\"application/json\":{\"schema\":")
+                .append("{\"$ref\":\"#/components/schemas/").append(bodySchema).append("\"}}}},");
+        }
+        sb.append("\"responses\":{\"200\":{\"description\":\"OK\"}}}");
+        return sb.toString();
+    }
+
+    private static String pathParam(String name) {
+        return "{\"name\":\"" + name + "\",\"in\":\"path\",\"required\":true,\"schema\":{\"type\":\"integer\"}}";
+    }
+
+    private static String queryParam(String name, String type, boolean required) {
+        return "{\"name\":\"" + name + "\",\"in\":\"query\",\"required\":" + required
+            + ",\"schema\":{\"type\":\"" + type + "\"}}";
+    }
+
+    private static String headerParam(String name) {
+        return "{\"name\":\"" + name + "\",\"in\":\"header\",\"required\":false,\"schema\":{\"type\":\"string\"}}";
+    }
+}
@@ -1,14 +1,28 @@
 package com.hoho.swaggermcp;
 
+import com.hoho.swaggermcp.concurrent.ThreadPools;
+import com.hoho.swaggermcp.http.HttpClientFactory;
+import com.hoho.swaggermcp.http.HttpClientSettings;
+import com.hoho.swaggermcp.http.OutputFormat;
+import com.hoho.swaggermcp.mcp.McpHttpServer;
 import com.hoho.swaggermcp.mcp.McpServer;
+import com.hoho.swaggermcp.metrics.MetricsHttpHandler;
+import com.hoho.swaggermcp.metrics.ServerMetrics;
+import com.hoho.swaggermcp.swagger.SwaggerOptions;
 import com.hoho.swaggermcp.swagger.SwaggerToolProvider;
+import com.sun.net.httpserver.HttpServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.io.PrintStream;
+import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
 
 /**
  * SwaggerMCP 메인 진입점
@@ -23,6 +37,45 @@ import java.util.Map;
  *   # API with Authorization header
  *   java -jar swaggerMCP.jar --api myapi=http://localhost:8080/v3/api-docs --auth myapi="Bearer your-token"
  *
+ *   # 동시 처리 요청 수 제한 (1이면 순차 처리)
+ *   java -jar swaggerMCP.jar --api myapi=http://localhost:8080/v3/api-docs --max-in-flight 8
+ *
+ *   # 스펙 병렬 로드 (동시 4개, 스펙당 30초 제한)
+ *   java -jar swaggerMCP.jar --api a=http://a/v3/api-docs --api b=http://b/v3/api-docs --init-parallelism 4 --init-timeout 30
+ *
+ *   # 스펙 디스크 캐시 (ETag/Last-Modified 재검증, --offline이면 캐시만 사용)
+ *   java -jar swaggerMCP.jar --api myapi=http://localhost:8080/v3/api-docs --cache-dir ~/.swaggermcp/cache
+ *
+ *   # 지연 로드 (처음 사용할 때 스펙 로드, --warmup이면 핸드셰이크 후 백그라운드 로드)
+ *   java -jar swaggerMCP.jar --api a=http://a/v3/api-docs --api b=http://b/v3/api-docs --lazy --warmup
+ *
+ *   # API 응답 출력 크기 제한 (넘으면 잘라서 생략된 양 안내)
+ *   java -jar swaggerMCP.jar --api myapi=http://localhost:8080/v3/api-docs --max-response-bytes 262144
+ *
+ *   # API별 HTTP 연결 설정 (*는 모든 API 기본값)
+ *   java -jar swaggerMCP.jar --api 내부=http://internal/v3/api-docs --http "*=connectTimeout=5" --http 내부=h2c=true,poolSize=20
+ *
+ *   # 스테이징 API 보호: 초당 5회, 동시 실행 최대 4개 (429/503이면 자동으로 줄임), 2초 넘게 기다리면 거절
+ *   java -jar swaggerMCP.jar --api 스테이징=http://staging/v3/api-docs --http 스테이징=rateLimit=5,maxConcurrency=4,queueTimeoutMs=2000
+ *
+ *   # 목록 API 응답을 zstd/br/gzip으로 받고, 1KB 넘는 요청 바디는 gzip으로 압축해 전송
+ *   java -jar swaggerMCP.jar --api 내부=http://internal/v3/api-docs --http 내부=acceptEncoding=zstd+br+gzip,gzipRequests=true
+ *
+ *   # call_api_batch 동시 실행 수 상한
+ *   java -jar swaggerMCP.jar --api myapi=http://localhost:8080/v3/api-docs --batch-parallelism 16
+ *
+ *   # 토큰을 아끼는 간결한 출력 (| 구분 표와 공백 없는 JSON, 호출마다 format 인자로 바꿀 수 있음)
+ *   java -jar swaggerMCP.jar --api myapi=http://localhost:8080/v3/api-docs --output-format compact
+ *
+ *   # 스펙 자동 갱신 (60초마다 조건부 요청으로 확인, 바뀌면 tools/list_changed 알림)
+ *   java -jar swaggerMCP.jar --api myapi=http://localhost:8080/v3/api-docs --refresh-interval 60
+ *
+ *   # Streamable HTTP 전송 (여러 클라이언트가 세션별로 접속, 스펙과 연결 풀은 공유)
+ *   java -jar swaggerMCP.jar --api myapi=http://localhost:8080/v3/api-docs --transport http --port 3000
+ *
+ *   # stdio 전송에서 Prometheus 지표 노출 (http://127.0.0.1:9464/metrics, HTTP 전송은 /metrics가 기본 포함)
+ *   java -jar swaggerMCP.jar --api myapi=http://localhost:8080/v3/api-docs --metrics-port 9464
+ *
  * Docker 예시:
  *   docker run -i --rm ghcr.io/mary-code217/swagger-mcp:latest --api 로컬=http://host.docker.internal:8080/v3/api-docs
  */
@@ -30,6 +83,9 @@ public class Main {
 
     private static final Logger logger = LoggerFactory.getLogger(Main.class);
 
+    // 값을 받지 않는 옵션 (나머지 --옵션은 다음 인자가 값)
+    private static final Set<String> FLAG_OPTIONS = Set.of("--offline", "--lazy", "--warmup");
+
     public static void main(String[] args) {
         // UTF-8 인코딩 강제 설정 (Windows 한글 지원)
         try {
@@ -57,12 +113,51 @@ public class Main {
 
         try {
             // Swagger Tool Provider 초기화
-            SwaggerToolProvider toolProvider = new SwaggerToolProvider(apis, authHeaders);
+            SwaggerToolProvider toolProvider = new SwaggerToolProvider(apis, authHeaders, parseSwaggerOptions(args));
             toolProvider.initialize();
 
+            int maxInFlight = parseIntOption(args, "--max-in-flight", McpServer.DEFAULT_MAX_IN_FLIGHT);
+            String transport = parseOption(args, "--transport");
+
+            if ("http".equalsIgnoreCase(transport)) {
+                String host = parseOption(args, "--host");
+                McpHttpServer server = new McpHttpServer(toolProvider,
+                    host != null ? host : McpHttpServer.DEFAULT_HOST,
+                    parseIntOption(args, "--port", McpHttpServer.DEFAULT_PORT),
+                    maxInFlight);
+
+                // 시그널로 종료할 때 세션 정리 후 HTTP 연결 정리
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    server.stop();
+                    toolProvider.close();
+                    HttpClientFactory.shared().shutdown();
+                }, "shutdown"));
+                server.start();
+                return;
+            }
+            if (transport != null && !"stdio".equalsIgnoreCase(transport)) {
+                logger.warn("알 수 없는 전송 방식 무시: --transport {} (stdio 사용)", transport);
+            }
+
+            int metricsPort = parseIntOption(args, "--metrics-port", 0);
+            String metricsHost = parseOption(args, "--host");
+            HttpServer metricsServer = metricsPort > 0
+                ? startMetricsServer(metricsHost != null ? metricsHost : McpHttpServer.DEFAULT_HOST, metricsPort)
+                : null;
+
+            // 종료 시 HTTP 연결 정리 (stdin이 닫혀 정상 종료할 때와 시그널로 종료할 때 모두)
+            Runnable shutdown = () -> {
+                // HttpServer 디스패처는 데몬 스레드가 아니므로 멈춰야 프로세스가 끝남
+                if (metricsServer != null) metricsServer.stop(0);
+                toolProvider.close();
+                HttpClientFactory.shared().shutdown();
+            };
+            Runtime.getRuntime().addShutdownHook(new Thread(shutdown, "shutdown"));
+
             // MCP 서버 시작
-            McpServer server = new McpServer(toolProvider);
+            McpServer server = new McpServer(toolProvider, maxInFlight);
             server.start();
+            shutdown.run();
 
         } catch (Exception e) {
             logger.error("SwaggerMCP 실행 중 오류 발생", e);
@@ -71,6 +166,18 @@ public class Main {
         }
     }
 
+    /**
+     * stdio 전송용 지표 서버 (GET /metrics만 제공)
+     */
+    private static HttpServer startMetricsServer(String host, int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.createContext(MetricsHttpHandler.ENDPOINT, new MetricsHttpHandler(ServerMetrics.shared()));
+        server.setExecutor(Executors.newSingleThreadExecutor(ThreadPools.daemonThreadFactory("metrics-http")));
+        server.start();
+        logger.info("지표 서버 시작: http://{}:{}{}", host, server.getAddress().getPort(), MetricsHttpHandler.ENDPOINT);
+        return server;
+    }
+
     /**
      * 커맨드라인 인자 파싱 - API URL
      *
@@ -78,7 +185,7 @@ public class Main {
      * 1. 단일 URL (하위호환): http://localhost:8080/v3/api-docs
      * 2. 멀티 API: --api 이름=URL --api 이름2=URL2
      */
-    private static Map<String, String> parseApiArgs(String[] args) {
+    static Map<String, String> parseApiArgs(String[] args) {
         Map<String, String> apis = new LinkedHashMap<>();
 
         if (args.length == 0) {
@@ -101,7 +208,10 @@ public class Main {
                     apis.put(name, url);
                 }
                 i++; // skip next arg
-            } else if (!args[i].startsWith("--") && args[i].startsWith("http")) {
+            } else if (args[i].startsWith("--")) {
+                // 값을 받는 옵션은 값까지 건너뜀 (--transport http의 http를 URL로 보지 않도록)
+                if (!FLAG_OPTIONS.contains(args[i])) i++;
+            } else if (isUrl(args[i])) {
                 // 하위호환: 단일 URL
                 apis.put("default", args[i]);
             }
@@ -110,6 +220,11 @@ public class Main {
         return apis;
     }
 
+    private static boolean isUrl(String arg) {
+        String lower = arg.toLowerCase(Locale.ROOT);
+        return lower.startsWith("http://") || lower.startsWith("https://");
+    }
+
     /**
      * 커맨드라인 인자 파싱 - Authorization 헤더
      *
@@ -149,6 +264,135 @@ public class Main {
         return authHeaders;
     }
 
+    /**
+     * 커맨드라인 인자 파싱 - SwaggerToolProvider 옵션
+     */
+    private static SwaggerOptions parseSwaggerOptions(String[] args) {
+        SwaggerOptions options = new SwaggerOptions();
+        options.setInitParallelism(parseIntOption(args, "--init-parallelism", SwaggerOptions.DEFAULT_INIT_PARALLELISM));
+        options.setInitTimeoutSeconds(parseIntOption(args, "--init-timeout", SwaggerOptions.DEFAULT_INIT_TIMEOUT_SECONDS));
+        options.setCacheDir(parseOption(args, "--cache-dir"));
+        options.setOffline(hasFlag(args, "--offline"));
+        options.setLazy(hasFlag(args, "--lazy"));
+        options.setWarmup(hasFlag(args, "--warmup"));
+        options.setBatchParallelism(parseIntOption(args, "--batch-parallelism", SwaggerOptions.DEFAULT_BATCH_PARALLELISM));
+        options.setRefreshIntervalSeconds(parseIntOption(args, "--refresh-interval", 0));
+
+        String outputFormat = parseOption(args, "--output-format");
+        try {
+            options.setOutputFormat(OutputFormat.parse(outputFormat, OutputFormat.MARKDOWN));
+        } catch (IllegalArgumentException e) {
+            logger.warn("잘못된 옵션 값 무시: --output-format {}", outputFormat);
+        }
+
+        HttpClientSettings httpSettings = options.getHttpSettings();
+        httpSettings.setMaxResponseBytes(parseLongOption(args, "--max-response-bytes",
+            HttpClientSettings.DEFAULT_MAX_RESPONSE_BYTES));
+        parseHttpArgs(args, options);
+        return options;
+    }
+
+    /**
+     * 커맨드라인 인자 파싱 - API별 HTTP 클라이언트 설정
+     *
+     * 지원 형식: --http 이름=키=값,키=값 (이름이 *이면 모든 API의 기본값)
+     * 예: --http "*=connectTimeout=5,keepAlive=60" --http 내부=h2c=true,maxRequestsPerHost=32
+     */
+    private static void parseHttpArgs(String[] args, SwaggerOptions options) {
+        Map<String, String> perApi = new LinkedHashMap<>();
+        for (int i = 0; i < args.length - 1; i++) {
+            if (!"--http".equals(args[i])) continue;
+            String httpArg = args[i + 1];
+            int eqIndex = httpArg.indexOf('=');
+            if (eqIndex <= 0) {
+                logger.warn("잘못된 옵션 값 무시: --http {}", httpArg);
+                continue;
+            }
+            String name = httpArg.substring(0, eqIndex).trim();
+            String settings = httpArg.substring(eqIndex + 1);
+            if ("*".equals(name)) {
+                applyHttpSettings(options.getHttpSettings(), settings);
+            } else {
+                perApi.merge(name, settings, (a, b) -> a + "," + b);
+            }
+        }
+
+        // 기본값을 모두 적용한 뒤 API별 설정을 덮어씀
+        for (Map.Entry<String, String> entry : perApi.entrySet()) {
+            HttpClientSettings settings = options.getHttpSettings().copy();
+            applyHttpSettings(settings, entry.getValue());
+            options.setHttpSettings(entry.getKey(), settings);
+            logger.info("HTTP 설정 - {}: {}", entry.getKey(), settings);
+        }
+    }
+
+    private static void applyHttpSettings(HttpClientSettings settings, String pairs) {
+        for (String pair : pairs.split(",")) {
+            int eqIndex = pair.indexOf('=');
+            if (eqIndex <= 0) {
+                logger.warn("잘못된 HTTP 설정 무시: {}", pair);
+                continue;
+            }
+            try {
+                settings.apply(pair.substring(0, eqIndex), pair.substring(eqIndex + 1));
+            } catch (IllegalArgumentException e) {
+                logger.warn("잘못된 HTTP 설정 무시: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 커맨드라인 인자 파싱 - 값 하나를 받는 옵션
+     *
+     * 지원 형식: --옵션 값
+     */
+    private static String parseOption(String[] args, String option) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (option.equals(args[i])) {
+                return args[i + 1].trim();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 커맨드라인 인자 파싱 - 값 없는 플래그 옵션
+     */
+    private static boolean hasFlag(String[] args, String flag) {
+        for (String arg : args) {
+            if (flag.equals(arg)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 커맨드라인 인자 파싱 - 정수 옵션 (잘못된 값이면 기본값 사용)
+     */
+    private static int parseIntOption(String[] args, String option, int defaultValue) {
+        String value = parseOption(args, option);
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            logger.warn("잘못된 옵션 값 무시: {} {}", option, value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * 커맨드라인 인자 파싱 - 정수(long) 옵션 (잘못된 값이면 기본값 사용)
+     */
+    private static long parseLongOption(String[] args, String option, long defaultValue) {
+        String value = parseOption(args, option);
+        if (value == null) return defaultValue;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            logger.warn("잘못된 옵션 값 무시: {} {}", option, value);
+            return defaultValue;
+        }
+    }
+
     /**
      * 사용법 출력
      */
@@ -168,6 +412,30 @@ public class Main {
         System.err.println("  # API with Authorization (Basic Auth)");
         System.err.println("  java -jar swagger-mcp.jar --api myapi=http://localhost:8080/v3/api-docs --auth myapi=\"Basic base64-encoded\"");
         System.err.println();
+        System.err.println("옵션:");
+        System.err.println("  --transport stdio|http: MCP 전송 방식 (기본: stdio, http는 Streamable HTTP " + McpHttpServer.ENDPOINT + ")");
+        System.err.println("  --host 주소, --port N: HTTP 전송 바인딩 주소 (기본: " + McpHttpServer.DEFAULT_HOST + ":" + McpHttpServer.DEFAULT_PORT + ")");
+        System.err.println("  --metrics-port N: stdio 전송에서 Prometheus 지표(/metrics)를 노출할 포트 (HTTP 전송은 같은 포트의 /metrics)");
+        System.err.println("  --max-in-flight N: 동시에 처리할 최대 요청 수 (기본: " + McpServer.DEFAULT_MAX_IN_FLIGHT + ", 1이면 순차 처리)");
+        System.err.println("  --init-parallelism N: 동시에 로드할 스펙 수 (기본: " + SwaggerOptions.DEFAULT_INIT_PARALLELISM + ")");
+        System.err.println("  --init-timeout 초: 스펙 하나당 로드 제한 시간 (기본: " + SwaggerOptions.DEFAULT_INIT_TIMEOUT_SECONDS + ", 0이면 제한 없음)");
+        System.err.println("  --cache-dir 경로: 스펙 디스크 캐시 디렉토리 (ETag/Last-Modified로 재검증)");
+        System.err.println("  --offline: 스펙 서버에 요청하지 않고 캐시만 사용 (--cache-dir 필요)");
+        System.err.println("  --lazy: 시작 시 스펙을 로드하지 않고 처음 사용할 때 로드");
+        System.err.println("  --warmup: --lazy와 함께 사용, initialize 이후 백그라운드로 모든 스펙 로드");
+        System.err.println("  --refresh-interval 초: 실행 중 스펙 변경 확인 주기 (기본: 0, 갱신 안 함)");
+        System.err.println("  --batch-parallelism N: call_api_batch에서 동시에 실행할 최대 호출 수 (기본: " + SwaggerOptions.DEFAULT_BATCH_PARALLELISM + ")");
+        System.err.println("  --output-format compact|markdown|json: 목록/검색/호출 결과 기본 형식 (기본: markdown, 호출별 format 인자로 변경)");
+        System.err.println("  --max-response-bytes N: 출력할 API 응답 최대 바이트 (기본: " + HttpClientSettings.DEFAULT_MAX_RESPONSE_BYTES + ")");
+        System.err.println("  --http 이름=키=값,...: API별 HTTP 설정 (이름이 *이면 기본값)");
+        System.err.println("      poolSize, keepAlive, connectTimeout, readTimeout, writeTimeout, callTimeout (초),");
+        System.err.println("      http2=true|false, h2c=true|false, maxRequestsPerHost, maxResponseBytes");
+        System.err.println("      cacheEntries (GET 응답 캐시 항목 수, 기본 0: 사용 안 함), cacheMaxBytes, cacheTtl (초)");
+        System.err.println("      coalesce=true|false (동시에 들어온 같은 GET 요청 병합, 기본 true)");
+        System.err.println("      rateLimit (초당 요청 수), rateBurst, maxConcurrency, minConcurrency, queueSize, queueTimeoutMs");
+        System.err.println("      retries, retryPost=true|false, retryBackoffMs, retryMaxBackoffMs, breakerFailures, breakerOpen (초) (재시도와 서킷 브레이커는 기본 꺼짐)");
+        System.err.println("      acceptEncoding=zstd+br+gzip+deflate, gzipRequests=true|false, gzipRequestMinBytes");
+        System.err.println();
         System.err.println("Docker 예시:");
         System.err.println("  docker run -i --rm ghcr.io/mary-code217/swagger-mcp:latest --api 로컬=http://host.docker.internal:8080/v3/api-docs --auth 로컬=\"Bearer token\"");
         System.err.println();
@@ -0,0 +1,193 @@
+package com.hoho.swaggermcp.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 응답 결과에 따라 한도가 바뀌는 동시 실행 제한 (AIMD)
+ *
+ * 한도는 maxLimit에서 시작합니다. 과부하 신호(DROPPED)가 오면 한도를 BACKOFF_RATIO배로 줄이고(minLimit까지),
+ * 한도 가까이 쓰는 중에 성공하면 1/한도씩 늘립니다. (한도만큼 성공하면 1 증가)
+ * 자리가 없으면 최대 maxQueue개까지 대기열에서 기다리고, 대기열이 가득 찼거나 timeout이 지나면
+ * LimitExceededException으로 실패합니다. AsyncLimiter처럼 스레드를 막지 않습니다.
+ *
+ * 대기열에서 꺼낸 쪽이 그 future를 완료할 책임을 집니다. (자리 배정, 시간 초과, 취소가 겹쳐도 한 번만 처리)
+ */
+public class AdaptiveLimiter {
+
+    static final double BACKOFF_RATIO = 0.9;
+
+    /**
+     * 작업 결과 (한도 조정 신호)
+     */
+    public enum Outcome {
+        /** 정상 응답: 한도를 조금 늘림 */
+        SUCCESS,
+        /** 과부하 신호 (429/503, 시간 초과 등): 한도를 줄임 */
+        DROPPED,
+        /** 취소 등 판단할 수 없는 결과: 한도 유지 */
+        IGNORED
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final Deque<CompletableFuture<Permit>> waiting = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private long rejected;
+    private long backoffs;
+
+    public AdaptiveLimiter(int minLimit, int maxLimit, int maxQueue) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.minLimit = Math.max(1, Math.min(minLimit, this.maxLimit));
+        this.maxQueue = Math.max(0, maxQueue);
+        this.limit = this.maxLimit;
+    }
+
+    /**
+     * 실행 자리 요청
+     *
+     * 자리가 있으면 완료된 future를, 없으면 자리가 날 때 완료되는 future를 반환합니다.
+     * 반환된 future를 취소하면 대기열에서 빠집니다. 받은 Permit은 작업이 끝나면 반드시 release해야 합니다.
+     *
+     * @param timeoutNanos 대기열에서 기다릴 최대 시간 (0이면 자리가 없을 때 바로 실패)
+     */
+    public CompletableFuture<Permit> acquire(long timeoutNanos) {
+        CompletableFuture<Permit> waiter;
+        synchronized (this) {
+            if (inFlight < currentLimit()) {
+                inFlight++;
+                return CompletableFuture.completedFuture(new Permit());
+            }
+            if (timeoutNanos <= 0 || waiting.size() >= maxQueue) {
+                rejected++;
+                return CompletableFuture.failedFuture(new LimitExceededException(String.format(
+                    "concurrency limit reached (%d in flight, limit %d, %d queued)",
+                    inFlight, currentLimit(), waiting.size())));
+            }
+            waiter = new CompletableFuture<>();
+            waiting.add(waiter);
+        }
+
+        waiter.whenComplete((permit, error) -> {
+            if (waiter.isCancelled()) remove(waiter);
+        });
+        CompletableFuture.delayedExecutor(timeoutNanos, TimeUnit.NANOSECONDS).execute(() -> {
+            if (remove(waiter)) {
+                synchronized (this) {
+                    rejected++;
+                }
+                waiter.completeExceptionally(new LimitExceededException(String.format(
+                    "timed out after %d ms waiting for a concurrency slot (limit %d)",
+                    TimeUnit.NANOSECONDS.toMillis(timeoutNanos), getLimit())));
+            }
+        });
+        return waiter;
+    }
+
+    private synchronized boolean remove(CompletableFuture<Permit> waiter) {
+        return waiting.remove(waiter);
+    }
+
+    private void release(Outcome outcome) {
+        synchronized (this) {
+            int limitBefore = currentLimit();
+            boolean saturated = inFlight * 2 >= limitBefore;
+            inFlight--;
+            if (outcome == Outcome.DROPPED) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                backoffs++;
+            } else if (outcome == Outcome.SUCCESS && saturated) {
+                // 한도의 절반도 쓰지 않는 동안에는 늘리지 않음 (한가할 때 한도가 maxLimit까지 부풀지 않도록)
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+        grantWaiters();
+    }
+
+    /**
+     * 한도 안에서 대기 중인 호출에 자리 배정 (future 완료는 락 밖에서)
+     */
+    private void grantWaiters() {
+        while (true) {
+            CompletableFuture<Permit> next;
+            synchronized (this) {
+                if (inFlight >= currentLimit()) return;
+                next = waiting.poll();
+                if (next == null) return;
+                inFlight++;
+            }
+            if (!next.complete(new Permit())) {
+                // 배정 직전에 취소됨
+                synchronized (this) {
+                    inFlight--;
+                }
+            }
+        }
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getLimit() {
+        return currentLimit();
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return waiting.size();
+    }
+
+    /**
+     * 대기열이 가득 찼거나 대기 시간이 지나 거절한 횟수
+     */
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * 과부하 신호로 한도를 줄인 횟수
+     */
+    public synchronized long getBackoffs() {
+        return backoffs;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("limit %d (min %d, max %d), %d in flight, %d queued, rejected %d, backoffs %d",
+            currentLimit(), minLimit, maxLimit, inFlight, waiting.size(), rejected, backoffs);
+    }
+
+    /**
+     * 배정받은 실행 자리 (release는 한 번만 반영)
+     */
+    public final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        public void release(Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveLimiter.this.release(outcome);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.hoho.swaggermcp.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 비동기 작업 동시 실행 수 제한
+ *
+ * Semaphore와 달리 스레드를 막지 않습니다. 자리가 없으면 작업을 대기열에 넣고,
+ * 실행 중인 작업의 future가 끝날 때 다음 작업을 시작합니다.
+ * 반환된 future를 취소하면 대기 중인 작업은 시작하지 않고, 실행 중인 작업은 그 future를 취소합니다.
+ */
+public class AsyncLimiter {
+
+    private final int limit;
+    private final Deque<Runnable> waiting = new ArrayDeque<>();
+    private int active;
+
+    public AsyncLimiter(int limit) {
+        this.limit = Math.max(1, limit);
+    }
+
+    /**
+     * 작업 제출 (자리가 있으면 바로 시작)
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        Runnable start = () -> {
+            if (result.isDone()) {
+                // 대기 중에 취소됨
+                release();
+                return;
+            }
+            CompletableFuture<T> running;
+            try {
+                running = task.get();
+            } catch (RuntimeException | Error e) {
+                running = CompletableFuture.failedFuture(e);
+            }
+            CompletableFuture<T> started = running;
+            result.whenComplete((value, error) -> {
+                if (result.isCancelled()) started.cancel(true);
+            });
+            started.whenComplete((value, error) -> {
+                release();
+                if (error != null) result.completeExceptionally(error);
+                else result.complete(value);
+            });
+        };
+
+        boolean runNow;
+        synchronized (this) {
+            runNow = active < limit;
+            if (runNow) active++;
+            else waiting.add(start);
+        }
+        if (runNow) start.run();
+        return result;
+    }
+
+    private void release() {
+        Runnable next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) active--;
+        }
+        if (next != null) next.run();
+    }
+}
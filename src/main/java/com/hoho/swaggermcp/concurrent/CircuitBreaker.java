@@ -0,0 +1,102 @@
+package com.hoho.swaggermcp.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 연속 실패 횟수 기반 서킷 브레이커
+ *
+ * CLOSED에서 실패가 failureThreshold번 이어지면 OPEN이 되어 openDuration 동안 호출을 바로 거절합니다.
+ * 그 시간이 지나면 HALF_OPEN이 되어 시험 호출 하나만 보내고, 성공하면 CLOSED, 실패하면 다시 OPEN이 됩니다.
+ * 결과를 판단할 수 없는 호출(취소 등)은 onIgnored()로 알려 시험 자리를 돌려줍니다.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probing;
+    private long openedCount;
+    private String lastFailure;
+
+    public CircuitBreaker(int failureThreshold, long openDuration, TimeUnit unit) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = unit.toNanos(openDuration);
+    }
+
+    /**
+     * 호출해도 되는지 확인 (HALF_OPEN이면 시험 호출 하나만 허용)
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            probing = false;
+        }
+        if (state == State.CLOSED) return true;
+        if (state == State.HALF_OPEN && !probing) {
+            probing = true;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+        probing = false;
+    }
+
+    /**
+     * @param reason 실패 내용 (열린 동안 거절 메시지에 표시)
+     */
+    public synchronized void onFailure(String reason) {
+        lastFailure = reason;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            probing = false;
+            openedCount++;
+        }
+    }
+
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) probing = false;
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) return State.HALF_OPEN;
+        return state;
+    }
+
+    /**
+     * OPEN 상태가 끝날 때까지 남은 시간 (밀리초, 열려 있지 않으면 0)
+     */
+    public synchronized long getRemainingOpenMillis() {
+        if (state != State.OPEN) return 0;
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(openNanos - (System.nanoTime() - openedAt)));
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * 지금까지 OPEN으로 바뀐 횟수
+     */
+    public synchronized long getOpenedCount() {
+        return openedCount;
+    }
+
+    public synchronized String getLastFailure() {
+        return lastFailure;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return getState() + (consecutiveFailures > 0 ? " (" + consecutiveFailures + " consecutive failures)" : "");
+    }
+}
@@ -0,0 +1,15 @@
+package com.hoho.swaggermcp.concurrent;
+
+/**
+ * 요청률/동시 실행 제한에 걸려 작업을 시작하지 못함 (대기열이 가득 찼거나 대기 시간 초과)
+ *
+ * 메시지는 MCP 오류로 그대로 전달되므로 영어로 작성합니다.
+ */
+public class LimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LimitExceededException(String message) {
+        super(message);
+    }
+}
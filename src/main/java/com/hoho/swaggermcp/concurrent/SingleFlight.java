@@ -0,0 +1,186 @@
+package com.hoho.swaggermcp.concurrent;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 동일 작업 병합 (single-flight)
+ *
+ * 같은 키의 작업이 이미 진행 중이면 새로 실행하지 않고 그 결과를 함께 받습니다.
+ * 작업이 끝나면 키를 지우므로 결과를 저장하지는 않습니다. (캐시가 아님)
+ *
+ * 비동기 작업(executeAsync)은 기다리는 쪽마다 별도의 future를 주고 참조 수를 셉니다.
+ * 한 호출자가 취소해도 다른 호출자는 계속 결과를 받고, 모두 취소하면 실제 작업을 취소합니다.
+ * 동기 작업과 비동기 작업은 서로 병합하지 않습니다.
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * IOException을 던질 수 있는 작업
+     */
+    @FunctionalInterface
+    public interface Call<V> {
+        V call() throws IOException;
+    }
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, Flight> asyncInFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * 작업 실행 (같은 키가 진행 중이면 그 결과를 기다림)
+     */
+    public V execute(K key, Call<V> call) throws IOException {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            shared.increment();
+            return await(existing);
+        }
+
+        executed.increment();
+        try {
+            V value = call.call();
+            mine.complete(value);
+            return value;
+        } catch (IOException | RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * 비동기 작업 실행 (같은 키가 진행 중이면 그 작업에 합류)
+     *
+     * 반환된 future를 취소하면 이 호출자만 빠지고, 남은 호출자가 없으면 실제 작업 future도 취소합니다.
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+        while (true) {
+            Flight existing = asyncInFlight.get(key);
+            if (existing != null) {
+                CompletableFuture<V> waiter = existing.join();
+                if (waiter != null) {
+                    shared.increment();
+                    return waiter;
+                }
+                // 모두 취소되어 끝나는 중인 작업: 지우고 새로 시작
+                asyncInFlight.remove(key, existing);
+                continue;
+            }
+
+            Flight flight = new Flight(key);
+            if (asyncInFlight.putIfAbsent(key, flight) != null) continue;
+
+            executed.increment();
+            CompletableFuture<V> waiter = flight.join();
+            CompletableFuture<V> source;
+            try {
+                source = call.get();
+            } catch (RuntimeException | Error e) {
+                source = CompletableFuture.failedFuture(e);
+            }
+            flight.start(source);
+            return waiter;
+        }
+    }
+
+    /**
+     * 진행 중인 비동기 작업과 기다리는 호출자 수
+     */
+    private final class Flight {
+        private final K key;
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private CompletableFuture<V> source;
+        private int waiters;
+        private boolean abandoned;
+
+        Flight(K key) {
+            this.key = key;
+            result.whenComplete((value, error) -> asyncInFlight.remove(key, this));
+        }
+
+        /**
+         * 호출자 합류 (이미 모두 취소된 작업이면 null)
+         */
+        synchronized CompletableFuture<V> join() {
+            if (abandoned) return null;
+            waiters++;
+
+            CompletableFuture<V> waiter = new CompletableFuture<>();
+            result.whenComplete((value, error) -> {
+                if (error != null) waiter.completeExceptionally(error);
+                else waiter.complete(value);
+            });
+            waiter.whenComplete((value, error) -> {
+                if (waiter.isCancelled()) leave();
+            });
+            return waiter;
+        }
+
+        void start(CompletableFuture<V> source) {
+            boolean cancel;
+            synchronized (this) {
+                this.source = source;
+                cancel = abandoned;
+            }
+            if (cancel) source.cancel(true);
+            source.whenComplete((value, error) -> {
+                if (error != null) result.completeExceptionally(error);
+                else result.complete(value);
+            });
+        }
+
+        private void leave() {
+            CompletableFuture<V> toCancel;
+            synchronized (this) {
+                if (--waiters > 0 || result.isDone()) return;
+                abandoned = true;
+                toCancel = source;
+            }
+            asyncInFlight.remove(key, this);
+            if (toCancel != null) toCancel.cancel(true);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("병합된 요청 대기 중 중단됨");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * 실제로 실행한 횟수
+     */
+    public long getExecuted() {
+        return executed.sum();
+    }
+
+    /**
+     * 진행 중인 작업의 결과를 함께 받은 횟수
+     */
+    public long getShared() {
+        return shared.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("실행 %d, 병합 %d", getExecuted(), getShared());
+    }
+}
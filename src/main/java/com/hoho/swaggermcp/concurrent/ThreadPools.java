@@ -0,0 +1,79 @@
+package com.hoho.swaggermcp.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 스레드 풀 생성 유틸리티
+ *
+ * Java 21 이상에서는 가상 스레드를, Java 17에서는 크기가 제한된 플랫폼 스레드 풀을 사용합니다.
+ * 빌드 타깃이 17이므로 가상 스레드 API는 리플렉션으로 호출합니다.
+ */
+public final class ThreadPools {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadPools.class);
+
+    private ThreadPools() {}
+
+    /**
+     * 작업자 풀 생성
+     *
+     * @param namePrefix 플랫폼 스레드 이름 접두어
+     * @param maxThreads 플랫폼 스레드 풀 크기 (가상 스레드 사용 시 무시)
+     */
+    public static ExecutorService newWorkerPool(String namePrefix, int maxThreads) {
+        ExecutorService virtualPool = tryVirtualThreadPool();
+        if (virtualPool != null) {
+            logger.debug("가상 스레드 작업자 풀 사용: {}", namePrefix);
+            return virtualPool;
+        }
+        logger.debug("플랫폼 스레드 작업자 풀 사용: {} ({}개)", namePrefix, maxThreads);
+        return Executors.newFixedThreadPool(Math.max(1, maxThreads), daemonThreadFactory(namePrefix));
+    }
+
+    /**
+     * 크기 제한 없는 풀 생성 (SSE 스트림처럼 오래 붙잡는 작업용, 유휴 스레드는 60초 후 정리)
+     *
+     * @param namePrefix 플랫폼 스레드 이름 접두어
+     */
+    public static ExecutorService newElasticPool(String namePrefix) {
+        ExecutorService virtualPool = tryVirtualThreadPool();
+        if (virtualPool != null) {
+            logger.debug("가상 스레드 풀 사용: {}", namePrefix);
+            return virtualPool;
+        }
+        logger.debug("플랫폼 스레드 캐시 풀 사용: {}", namePrefix);
+        return Executors.newCachedThreadPool(daemonThreadFactory(namePrefix));
+    }
+
+    /**
+     * 데몬 스레드 팩토리 (번호가 붙은 이름 사용)
+     */
+    public static ThreadFactory daemonThreadFactory(String namePrefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() 호출 시도 (Java 21+)
+     */
+    private static ExecutorService tryVirtualThreadPool() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Java 17 또는 프리뷰 비활성화 상태
+            return null;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.hoho.swaggermcp.concurrent;
+
+/**
+ * 토큰 버킷 요청률 제한
+ *
+ * 초당 rate개씩 토큰이 차고 최대 burst개까지 쌓입니다. 토큰이 없으면 다음 토큰이 찰 때까지의 대기 시간을
+ * 미리 예약하므로(토큰이 음수가 됨) 뒤이어 들어온 호출은 그만큼 더 뒤로 밀려 고르게 퍼집니다.
+ * 스레드를 막지 않고 대기 시간만 알려주며, 기다리는 방법은 호출한 쪽이 정합니다.
+ */
+public class TokenBucket {
+
+    private final double permitsPerSecond;
+    private final double nanosPerPermit;
+    private final double burst;
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) throw new IllegalArgumentException("permitsPerSecond must be positive");
+        this.permitsPerSecond = permitsPerSecond;
+        this.nanosPerPermit = 1_000_000_000.0 / permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * 토큰 하나 예약
+     *
+     * @param maxWaitNanos 기다릴 수 있는 최대 시간
+     * @return 토큰을 쓸 수 있을 때까지 기다려야 하는 시간 (나노초, 바로 쓸 수 있으면 0),
+     *         maxWaitNanos 안에 받을 수 없으면 토큰을 쓰지 않고 -1
+     */
+    public synchronized long reserve(long maxWaitNanos) {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) / nanosPerPermit);
+        refilledAt = now;
+
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        long wait = (long) Math.ceil((1 - tokens) * nanosPerPermit);
+        if (wait > maxWaitNanos) return -1;
+        tokens -= 1;
+        return wait;
+    }
+
+    /**
+     * 현재 남은 토큰 수 (예약된 대기가 있으면 음수)
+     */
+    public synchronized double available() {
+        long now = System.nanoTime();
+        return Math.min(burst, tokens + (now - refilledAt) / nanosPerPermit);
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return (int) burst;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s/s, burst %d, available %.1f", formatRate(permitsPerSecond), (int) burst, available());
+    }
+
+    private static String formatRate(double rate) {
+        return rate == Math.rint(rate) ? Long.toString((long) rate) : Double.toString(rate);
+    }
+}
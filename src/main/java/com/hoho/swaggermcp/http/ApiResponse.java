@@ -0,0 +1,52 @@
+package com.hoho.swaggermcp.http;
+
+/**
+ * API 호출 결과 (HTTP 상태와 포맷팅된 응답 텍스트)
+ */
+public class ApiResponse {
+
+    private final int statusCode;
+    private final String statusMessage;
+    private final String text;
+    private final byte[] body;
+
+    public ApiResponse(int statusCode, String statusMessage, String text) {
+        this(statusCode, statusMessage, text, null);
+    }
+
+    public ApiResponse(int statusCode, String statusMessage, String text, byte[] body) {
+        this.statusCode = statusCode;
+        this.statusMessage = statusMessage;
+        this.text = text;
+        this.body = body;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getStatusMessage() {
+        return statusMessage;
+    }
+
+    /**
+     * ResponseFormatter가 만든 출력 (상태 줄 + 정렬된 바디)
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * 원본 응답 바디 (CallOptions.captureBody일 때만, 한도를 넘었으면 null)
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * 2xx/3xx 응답인지
+     */
+    public boolean isSuccessful() {
+        return statusCode < 400;
+    }
+}
@@ -0,0 +1,92 @@
+package com.hoho.swaggermcp.http;
+
+/**
+ * call_api 호출별 옵션
+ */
+public class CallOptions {
+
+    public static final CallOptions DEFAULT = new CallOptions(JsonProjection.NONE, false);
+
+    private final JsonProjection projection;
+    private final boolean noCache;
+    private final boolean captureBody;
+    private final String operation;
+    private final OutputFormat format;
+
+    public CallOptions(JsonProjection projection, boolean noCache) {
+        this(projection, noCache, false);
+    }
+
+    public CallOptions(JsonProjection projection, boolean noCache, boolean captureBody) {
+        this(projection, noCache, captureBody, null);
+    }
+
+    public CallOptions(JsonProjection projection, boolean noCache, boolean captureBody, String operation) {
+        this(projection, noCache, captureBody, operation, OutputFormat.MARKDOWN);
+    }
+
+    public CallOptions(JsonProjection projection, boolean noCache, boolean captureBody, String operation,
+                       OutputFormat format) {
+        this.projection = projection != null ? projection : JsonProjection.NONE;
+        this.noCache = noCache;
+        this.captureBody = captureBody;
+        this.operation = operation;
+        this.format = format != null ? format : OutputFormat.MARKDOWN;
+    }
+
+    /**
+     * 원본 바디도 함께 받는 복사본 (파이프라인에서 다음 단계가 참조하는 경우)
+     */
+    public CallOptions withCaptureBody() {
+        return captureBody ? this : new CallOptions(projection, noCache, true, operation, format);
+    }
+
+    /**
+     * 지표 라벨을 붙인 복사본 (예: "petstore/getPetById")
+     */
+    public CallOptions withOperation(String operation) {
+        return new CallOptions(projection, noCache, captureBody, operation, format);
+    }
+
+    /**
+     * 출력 형식을 바꾼 복사본
+     */
+    public CallOptions withFormat(OutputFormat format) {
+        return new CallOptions(projection, noCache, captureBody, operation, format);
+    }
+
+    /**
+     * 응답 JSON 투영 (select/offset/limit/maxDepth)
+     */
+    public JsonProjection getProjection() {
+        return projection;
+    }
+
+    /**
+     * 응답 캐시를 건너뛰고 서버에서 새로 받기 (받은 응답은 캐시에 저장)
+     */
+    public boolean isNoCache() {
+        return noCache;
+    }
+
+    /**
+     * 포맷팅된 출력과 별도로 원본 바디를 ApiResponse에 담기 (maxDrainBytes까지)
+     */
+    public boolean isCaptureBody() {
+        return captureBody;
+    }
+
+    /**
+     * 응답 출력 형식
+     */
+    public OutputFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * 업스트림 지표를 기록할 라벨 (없으면 기록하지 않음)
+     */
+    public String getOperation() {
+        return operation;
+    }
+}
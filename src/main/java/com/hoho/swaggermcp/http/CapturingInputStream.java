@@ -0,0 +1,73 @@
+package com.hoho.swaggermcp.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 읽은 바이트를 제한 크기까지 복사해 두는 입력 스트림 (응답 캐시 저장, 파이프라인 참조용)
+ *
+ * 제한을 넘으면 복사본을 버리고 그냥 통과시킵니다.
+ */
+class CapturingInputStream extends InputStream {
+
+    private final InputStream in;
+    private final long limit;
+    private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+    private boolean eof;
+
+    CapturingInputStream(InputStream in, long limit) {
+        this.in = in;
+        this.limit = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            eof = true;
+        } else if (copy != null) {
+            copy.write(b);
+            checkLimit();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int off, int len) throws IOException {
+        int read = in.read(buffer, off, len);
+        if (read < 0) {
+            eof = true;
+        } else if (copy != null) {
+            copy.write(buffer, off, read);
+            checkLimit();
+        }
+        return read;
+    }
+
+    private void checkLimit() {
+        if (copy.size() > limit) copy = null;
+    }
+
+    /**
+     * 포맷터가 끝까지 읽지 않은 나머지를 마저 읽어 복사 (제한 안에서만)
+     */
+    void drainForCapture() throws IOException {
+        byte[] buffer = new byte[8192];
+        while (copy != null && !eof) {
+            read(buffer, 0, buffer.length);
+        }
+    }
+
+    /**
+     * 바디 전체를 복사했으면 그 바이트, 아니면 null
+     */
+    byte[] capturedBody() {
+        return eof && copy != null ? copy.toByteArray() : null;
+    }
+
+    @Override
+    public void close() {
+        // 응답 바디는 Response가 닫음 (캡처가 끝나기 전에 포맷터가 닫지 않도록)
+    }
+}
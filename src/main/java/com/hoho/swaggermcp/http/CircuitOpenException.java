@@ -0,0 +1,17 @@
+package com.hoho.swaggermcp.http;
+
+import java.io.IOException;
+
+/**
+ * operation의 서킷 브레이커가 열려 있어 요청을 보내지 않고 바로 실패함
+ *
+ * 메시지는 MCP 오류로 그대로 전달되므로 영어로 작성합니다. 재시도 대상이 아닙니다.
+ */
+public class CircuitOpenException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,74 @@
+package com.hoho.swaggermcp.http;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 연결 풀 사용 통계
+ *
+ * OkHttp EventListener로 연결 획득 횟수와 새로 맺은 연결 수를 셉니다.
+ * 새 연결을 맺지 않고 획득했으면 풀에서 재사용한 것(hit)입니다.
+ * (localhost의 IPv6 주소처럼 실패한 연결 시도는 새 연결로 세지 않습니다)
+ */
+public class ConnectionStats extends EventListener {
+
+    private final ConnectionPool pool;
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder connects = new LongAdder();
+
+    public ConnectionStats(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        connects.increment();
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        acquired.increment();
+    }
+
+    /**
+     * 풀에서 재사용한 횟수
+     */
+    public long getHits() {
+        return Math.max(0, acquired.sum() - connects.sum());
+    }
+
+    /**
+     * 새 연결을 맺은 횟수
+     */
+    public long getMisses() {
+        return connects.sum();
+    }
+
+    /**
+     * 풀의 현재 연결 수 (같은 설정의 API끼리 공유하는 풀 기준)
+     */
+    public int getPooledConnections() {
+        return pool.connectionCount();
+    }
+
+    public int getIdleConnections() {
+        return pool.idleConnectionCount();
+    }
+
+    @Override
+    public String toString() {
+        long hits = getHits();
+        long misses = getMisses();
+        long total = hits + misses;
+        return String.format("재사용 %d / 신규 %d (재사용률 %s), 풀 연결 %d (유휴 %d)",
+            hits, misses, total > 0 ? String.format("%.0f%%", hits * 100.0 / total) : "-",
+            getPooledConnections(), getIdleConnections());
+    }
+}
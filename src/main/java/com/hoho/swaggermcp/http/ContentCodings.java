@@ -0,0 +1,138 @@
+package com.hoho.swaggermcp.http;
+
+import io.airlift.compress.zstd.ZstdInputStream;
+import org.brotli.dec.BrotliInputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * HTTP 콘텐츠 인코딩 (Accept-Encoding 협상, 응답 바디 해제, 요청 바디 gzip 압축)
+ *
+ * 응답은 스트림으로 풀어서 ResponseFormatter의 크기 제한 읽기에 그대로 넘기므로, 압축을 푼 전체 바디를
+ * 메모리에 올리지 않고 출력 한도(maxResponseBytes)와 드레인 한도(maxDrainBytes)까지만 풉니다.
+ * 모두 순수 Java 구현입니다. (gzip/deflate는 JDK, br은 org.brotli:dec, zstd는 aircompressor)
+ */
+final class ContentCodings {
+
+    static final List<String> SUPPORTED = List.of("zstd", "br", "gzip", "deflate", "identity");
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private ContentCodings() {}
+
+    /**
+     * acceptEncoding 설정 값을 Accept-Encoding 헤더 값으로 변환
+     *
+     * 쉼표는 --http 설정 구분자라 인코딩은 +, ; 또는 공백으로 구분합니다. (예: zstd+br+gzip, 앞에 둘수록 선호)
+     * none은 identity와 같습니다. (압축하지 않은 응답 요청)
+     *
+     * @throws IllegalArgumentException 지원하지 않는 인코딩
+     */
+    static String parseAcceptEncoding(String key, String value) {
+        List<String> codings = new ArrayList<>();
+        for (String token : value.split("[+;\\s]+")) {
+            if (token.isEmpty()) continue;
+            String coding = token.toLowerCase(Locale.ROOT);
+            if ("none".equals(coding)) coding = "identity";
+            if (!SUPPORTED.contains(coding)) {
+                throw new IllegalArgumentException("지원하지 않는 인코딩: " + key + "=" + value
+                    + " (" + String.join(", ", SUPPORTED) + ")");
+            }
+            if (!codings.contains(coding)) codings.add(coding);
+        }
+        if (codings.isEmpty()) throw new IllegalArgumentException("잘못된 값: " + key + "=" + value);
+        return String.join(", ", codings);
+    }
+
+    /**
+     * Content-Encoding에 따라 응답 바디 해제 (여러 번 인코딩되었으면 역순으로 풂)
+     *
+     * @param contentEncoding Content-Encoding 헤더 (없으면 body를 그대로 반환)
+     * @throws IOException 지원하지 않는 인코딩이거나 압축 데이터가 잘못된 경우
+     */
+    static InputStream decode(String contentEncoding, InputStream body) throws IOException {
+        if (contentEncoding == null || contentEncoding.isBlank()) return body;
+
+        String[] codings = contentEncoding.split(",");
+        InputStream decoded = body;
+        for (int i = codings.length - 1; i >= 0; i--) {
+            decoded = decodeOne(codings[i].trim().toLowerCase(Locale.ROOT), decoded);
+        }
+        return decoded;
+    }
+
+    private static InputStream decodeOne(String coding, InputStream in) throws IOException {
+        if (coding.isEmpty() || "identity".equals(coding)) return in;
+
+        // 바디가 비어 있으면(HEAD, 204 등) 압축 헤더를 읽지 않음
+        PushbackInputStream peek = new PushbackInputStream(in, 2);
+        int first = peek.read();
+        if (first < 0) return peek;
+        int second = peek.read();
+        if (second >= 0) peek.unread(second);
+        peek.unread(first);
+
+        switch (coding) {
+            case "gzip":
+            case "x-gzip":
+                return new GZIPInputStream(peek, BUFFER_SIZE);
+            case "deflate":
+                // 표준은 zlib 형식이지만 헤더 없는 raw deflate를 보내는 서버도 있음
+                boolean zlib = second >= 0 && (first & 0x0F) == 8 && ((first << 8) | second) % 31 == 0;
+                return new OwnedInflaterInputStream(peek, new Inflater(!zlib));
+            case "br":
+                return new BrotliInputStream(peek);
+            case "zstd":
+                return new ZstdInputStream(peek);
+            default:
+                throw new IOException("지원하지 않는 응답 Content-Encoding: " + coding);
+        }
+    }
+
+    /**
+     * 요청 바디 gzip 압축
+     */
+    static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 직접 만든 Inflater를 닫을 때 해제하는 InflaterInputStream (기본 구현은 외부 Inflater를 해제하지 않음)
+     */
+    private static final class OwnedInflaterInputStream extends InflaterInputStream {
+
+        private boolean closed;
+
+        OwnedInflaterInputStream(InputStream in, Inflater inflater) {
+            super(in, inflater, BUFFER_SIZE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) return;
+            closed = true;
+            try {
+                super.close();
+            } finally {
+                inf.end();
+            }
+        }
+    }
+}
@@ -1,22 +1,39 @@
 package com.hoho.swaggermcp.http;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hoho.swaggermcp.concurrent.CircuitBreaker;
+import com.hoho.swaggermcp.concurrent.SingleFlight;
+import com.hoho.swaggermcp.metrics.ServerMetrics;
 import okhttp3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * HTTP API 클라이언트
  *
  * MCP Tool 호출 시 실제 API 서버로 요청을 전송합니다.
+ *
+ * CallOptions에 operation 라벨이 있으면 응답 헤더까지 걸린 시간, 응답 포맷팅 시간(바디 수신 포함),
+ * 요청/응답 바디 크기를 ServerMetrics에 기록합니다.
+ *
+ * UpstreamLimiter가 있으면 캐시로 답하지 못한 요청만 허가를 받은 뒤 보냅니다. (요청률, 적응형 동시 실행 수)
+ *
+ * 일시적 오류는 RetryPolicy에 따라 백오프 후 다시 보내고(시도마다 허가를 새로 받음), operation별 서킷 브레이커가
+ * 연속 실패를 세어 업스트림이 내려가 있는 동안에는 제한 시간을 기다리지 않고 CircuitOpenException으로 바로 실패합니다.
  */
 public class HttpApiClient {
 
@@ -24,18 +41,80 @@ public class HttpApiClient {
     private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
 
     private final String baseUrl;
+    private final HttpClientSettings settings;
     private final OkHttpClient client;
+    private final ConnectionStats connectionStats;
+    private final Semaphore hostPermits;  // 동기 호출의 호스트당 동시 요청 제한 (비동기 호출은 디스패처가 제한)
     private final ObjectMapper objectMapper;
+    private final ResponseFormatter responseFormatter;
+    private final ResponseCache responseCache;  // 설정하지 않았으면 null
+    private final SingleFlight<String, ApiResponse> inFlightGets;  // 동시에 들어온 같은 GET 병합 (끄면 null)
+    private final UpstreamLimiter limiter;  // API별 요청 제한 (설정하지 않았으면 null)
+    private final RetryPolicy retryPolicy;
+    private final Map<String, OperationGuard> guards = new ConcurrentHashMap<>();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final ServerMetrics metrics = ServerMetrics.shared();
 
     public HttpApiClient(String baseUrl) {
+        this(baseUrl, new HttpClientSettings());
+    }
+
+    public HttpApiClient(String baseUrl, HttpClientSettings settings) {
+        this(baseUrl, settings, null);
+    }
+
+    /**
+     * @param limiter API별 업스트림 요청 제한 (없으면 null, 클라이언트를 다시 만들 때도 같은 인스턴스를 넘김)
+     */
+    public HttpApiClient(String baseUrl, HttpClientSettings settings, UpstreamLimiter limiter) {
         this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
-        this.client = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
-                .build();
+        this.settings = settings;
+        HttpClientFactory.ManagedClient managed = HttpClientFactory.shared().create(settings);
+        this.client = managed.getClient();
+        this.connectionStats = managed.getStats();
+        this.hostPermits = settings.getMaxRequestsPerHost() > 0 ? new Semaphore(settings.getMaxRequestsPerHost()) : null;
         this.objectMapper = new ObjectMapper();
-        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        this.responseFormatter = new ResponseFormatter(settings);
+        this.responseCache = settings.getCacheEntries() > 0
+            ? new ResponseCache(settings.getCacheEntries(), settings.getCacheMaxBytes(), settings.getCacheTtlSeconds())
+            : null;
+        this.inFlightGets = settings.isCoalesce() ? new SingleFlight<>() : null;
+        this.limiter = limiter;
+        this.retryPolicy = new RetryPolicy(settings);
+    }
+
+    /**
+     * 연결 풀, 응답 캐시, GET 병합 통계를 server_metrics와 /metrics에 등록 (라벨: API 이름)
+     *
+     * base URL이 바뀌어 클라이언트를 다시 만들면 새 클라이언트로 다시 등록해 이전 값을 대체합니다.
+     */
+    public void registerMetrics(String api) {
+        metrics.counter("upstream_connections_reused_total", "풀에서 재사용한 연결 수", "api", api,
+            connectionStats::getHits);
+        metrics.counter("upstream_connections_opened_total", "새로 맺은 연결 수", "api", api,
+            connectionStats::getMisses);
+        metrics.gauge("upstream_pool_connections", "연결 풀의 현재 연결 수 (설정이 같은 API끼리 공유하는 풀 기준)", "api", api,
+            connectionStats::getPooledConnections);
+        metrics.gauge("upstream_pool_idle_connections", "연결 풀의 유휴 연결 수 (설정이 같은 API끼리 공유하는 풀 기준)", "api", api,
+            connectionStats::getIdleConnections);
+        if (responseCache != null) {
+            ResponseCache cache = responseCache;
+            metrics.counter("response_cache_hits_total", "응답 캐시 적중 수 (재검증 포함)", "api", api, cache::getHits);
+            metrics.counter("response_cache_misses_total", "응답 캐시 미스 수", "api", api, cache::getMisses);
+            metrics.counter("response_cache_revalidations_total", "304로 재검증한 응답 캐시 항목 수", "api", api,
+                cache::getRevalidations);
+            metrics.counter("response_cache_evictions_total", "한도를 넘어 제거한 응답 캐시 항목 수", "api", api,
+                cache::getEvictions);
+            metrics.gauge("response_cache_entries", "응답 캐시 항목 수", "api", api, cache::getEntryCount);
+            metrics.gauge("response_cache_bytes", "응답 캐시에 저장된 바디 바이트 수", "api", api, cache::getTotalBytes);
+        }
+        if (inFlightGets != null) {
+            SingleFlight<String, ApiResponse> flights = inFlightGets;
+            metrics.counter("upstream_get_executed_total", "업스트림으로 보낸 병합 대상 GET 수", "api", api,
+                flights::getExecuted);
+            metrics.counter("upstream_get_coalesced_total", "진행 중인 같은 GET에 합류해 요청을 보내지 않은 호출 수", "api", api,
+                flights::getShared);
+        }
     }
 
     /**
@@ -43,13 +122,331 @@ public class HttpApiClient {
      */
     public String request(String method, String path, Map<String, String> queryParams,
                           Map<String, String> headers, Map<String, Object> body) throws IOException {
+        return request(method, path, queryParams, headers, body, CallOptions.DEFAULT);
+    }
+
+    /**
+     * HTTP 요청 수행 (호출별 옵션: 응답 투영, 캐시 무시)
+     */
+    public String request(String method, String path, Map<String, String> queryParams,
+                          Map<String, String> headers, Map<String, Object> body,
+                          CallOptions options) throws IOException {
+        return execute(method, path, queryParams, headers, body, options).getText();
+    }
+
+    /**
+     * HTTP 요청 수행 후 상태 코드와 함께 결과 반환
+     *
+     * 같은 GET 요청(URL, 헤더, 응답 투영이 모두 같은)이 이미 진행 중이면 그 결과를 함께 받습니다.
+     * GET 외의 메서드는 병합하지 않습니다.
+     */
+    public ApiResponse execute(String method, String path, Map<String, String> queryParams,
+                               Map<String, String> headers, Map<String, Object> body,
+                               CallOptions options) throws IOException {
 
         String url = buildUrl(path, queryParams);
+        if (isCoalescable(method, body)) {
+            return inFlightGets.execute(flightKey(url, headers, options), () -> send(method, url, headers, body, options));
+        }
+        return send(method, url, headers, body, options);
+    }
+
+    /**
+     * 비동기 HTTP 요청 수행 (OkHttp enqueue)
+     *
+     * 응답을 기다리는 동안 스레드를 점유하지 않습니다. 동시 요청 수는 디스패처의 호스트당 제한을 따릅니다.
+     * 반환된 future를 취소하면 진행 중인 OkHttp Call을 취소해 연결을 바로 정리합니다.
+     * 병합된 GET은 기다리는 호출자가 모두 취소해야 실제 요청이 취소됩니다.
+     */
+    public CompletableFuture<ApiResponse> executeAsync(String method, String path, Map<String, String> queryParams,
+                                                       Map<String, String> headers, Map<String, Object> body,
+                                                       CallOptions options) {
+
+        String url = buildUrl(path, queryParams);
+        if (isCoalescable(method, body)) {
+            return inFlightGets.executeAsync(flightKey(url, headers, options),
+                () -> sendAsync(method, url, headers, body, options));
+        }
+        return sendAsync(method, url, headers, body, options);
+    }
+
+    private boolean isCoalescable(String method, Map<String, Object> body) {
+        return inFlightGets != null && "GET".equalsIgnoreCase(method) && (body == null || body.isEmpty());
+    }
+
+    private static String flightKey(String url, Map<String, String> headers, CallOptions options) {
+        return ResponseCache.key("GET", url, headers) + "\n#" + options.getProjection().key()
+            + "#" + options.getFormat().id() + (options.isCaptureBody() ? "#body" : "");
+    }
+
+    private ApiResponse send(String method, String url, Map<String, String> headers, Map<String, Object> body,
+                             CallOptions options) throws IOException {
+        PreparedRequest prepared = prepare(method, url, headers, body, options);
+        if (prepared.cachedResponse != null) {
+            return prepared.cachedResponse;
+        }
+
+        for (int attempt = 0; ; attempt++) {
+            checkCircuit(prepared);
+            long delay;
+            int status = 0;
+            IOException failure = null;
+            UpstreamLimiter.Permit permit = null;
+            try {
+                if (limiter != null) permit = limiter.acquire();
+                acquireHostPermit();
+                long start = System.nanoTime();
+                try (Response response = client.newCall(prepared.request).execute()) {
+                    recordUpstream(prepared, start);
+                    status = response.code();
+                    delay = retryPolicy.delayAfterResponse(method, attempt, response);
+                    if (delay < 0) {
+                        return handleResponse(response, prepared, options);
+                    }
+                } finally {
+                    if (hostPermits != null) hostPermits.release();
+                }
+            } catch (IOException e) {
+                failure = e;
+                status = 0;
+                delay = retryPolicy.delayAfterError(method, attempt, e);
+                if (delay < 0) throw e;
+            } finally {
+                finishAttempt(prepared, permit, status, failure);
+            }
+
+            logRetry(prepared, attempt, delay, failure != null ? failure.toString() : "HTTP " + status);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("재시도 대기 중 중단됨");
+            }
+        }
+    }
+
+    private CompletableFuture<ApiResponse> sendAsync(String method, String url, Map<String, String> headers,
+                                                     Map<String, Object> body, CallOptions options) {
+        PreparedRequest prepared;
+        try {
+            prepared = prepare(method, url, headers, body, options);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (prepared.cachedResponse != null) {
+            return CompletableFuture.completedFuture(prepared.cachedResponse);
+        }
+
+        CompletableFuture<ApiResponse> future = new CompletableFuture<>();
+        attemptAsync(prepared, options, future, 0);
+        return future;
+    }
+
+    /**
+     * 한 번의 비동기 시도 (서킷 브레이커 확인, 요청 허가, 전송)
+     *
+     * 허가를 기다리는 동안 취소되면 대기에서 빠지고, 허가는 시도마다 받아 그 시도가 끝나면 반납합니다.
+     */
+    private void attemptAsync(PreparedRequest prepared, CallOptions options, CompletableFuture<ApiResponse> future,
+                              int attempt) {
+        if (future.isDone()) return;
+        try {
+            checkCircuit(prepared);
+        } catch (CircuitOpenException e) {
+            future.completeExceptionally(e);
+            return;
+        }
+        if (limiter == null) {
+            enqueue(prepared, options, future, attempt, null);
+            return;
+        }
+
+        CompletableFuture<UpstreamLimiter.Permit> admission = limiter.acquireAsync();
+        future.whenComplete((response, error) -> {
+            if (future.isCancelled()) admission.cancel(false);
+        });
+        admission.whenComplete((permit, error) -> {
+            if (error != null) {
+                finishAttempt(prepared, null, 0, null);
+                future.completeExceptionally(error);
+                return;
+            }
+            if (future.isDone()) {
+                finishAttempt(prepared, permit, 0, null);
+                return;
+            }
+            enqueue(prepared, options, future, attempt, permit);
+        });
+    }
+
+    private void enqueue(PreparedRequest prepared, CallOptions options, CompletableFuture<ApiResponse> future,
+                         int attempt, UpstreamLimiter.Permit permit) {
+        Call call = client.newCall(prepared.request);
+        long start = System.nanoTime();
+        future.whenComplete((response, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+                logger.info("HTTP 요청 취소: {} {}", prepared.method, prepared.url);
+            }
+        });
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failed, IOException e) {
+                if (future.isDone()) {
+                    finishAttempt(prepared, permit, 0, null);  // 취소됨
+                    return;
+                }
+                finishAttempt(prepared, permit, 0, e);
+                long delay = retryPolicy.delayAfterError(prepared.method, attempt, e);
+                if (delay < 0) {
+                    future.completeExceptionally(e);
+                } else {
+                    retryLater(prepared, options, future, attempt, delay, e.toString());
+                }
+            }
+
+            @Override
+            public void onResponse(Call succeeded, Response response) {
+                int status = response.code();
+                IOException failure = null;
+                long delay = -1;
+                try (response) {
+                    recordUpstream(prepared, start);
+                    delay = future.isDone() ? -1 : retryPolicy.delayAfterResponse(prepared.method, attempt, response);
+                    if (delay < 0) {
+                        future.complete(handleResponse(response, prepared, options));
+                    }
+                } catch (IOException e) {
+                    failure = e;
+                    delay = future.isDone() ? -1 : retryPolicy.delayAfterError(prepared.method, attempt, e);
+                    if (delay < 0) future.completeExceptionally(e);
+                } catch (RuntimeException e) {
+                    delay = -1;
+                    future.completeExceptionally(e);
+                } finally {
+                    finishAttempt(prepared, permit, failure != null ? 0 : status, failure);
+                }
+                if (delay >= 0) {
+                    retryLater(prepared, options, future, attempt, delay,
+                        failure != null ? failure.toString() : "HTTP " + status);
+                }
+            }
+        });
+    }
+
+    private void retryLater(PreparedRequest prepared, CallOptions options, CompletableFuture<ApiResponse> future,
+                            int attempt, long delayMillis, String reason) {
+        logRetry(prepared, attempt, delayMillis, reason);
+        CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS)
+            .execute(() -> attemptAsync(prepared, options, future, attempt + 1));
+    }
+
+    private void logRetry(PreparedRequest prepared, int attempt, long delayMillis, String reason) {
+        logger.info("HTTP 재시도 {}/{} ({}ms 후): {} {} - {}",
+            attempt + 1, retryPolicy.getMaxRetries(), delayMillis, prepared.method, prepared.url, reason);
+        if (prepared.guard != null) prepared.guard.retries.increment();
+    }
+
+    /**
+     * 서킷 브레이커가 열려 있으면 보내지 않고 바로 실패
+     */
+    private void checkCircuit(PreparedRequest prepared) throws CircuitOpenException {
+        CircuitBreaker breaker = prepared.guard != null ? prepared.guard.breaker : null;
+        if (breaker == null || breaker.tryAcquire()) return;
+
+        long remaining = breaker.getRemainingOpenMillis();
+        throw new CircuitOpenException(String.format(
+            "Circuit open for %s after %d consecutive failures (last: %s); %s",
+            prepared.operation, breaker.getConsecutiveFailures(), breaker.getLastFailure(),
+            remaining > 0 ? "failing fast for another " + (remaining + 999) / 1000 + "s" : "a probe request is in progress"));
+    }
+
+    /**
+     * 시도 하나가 끝남: 요청 허가 반납, 서킷 브레이커에 결과 반영
+     *
+     * 502/503/504 응답과 전송 오류는 실패로 셉니다. (429는 요청률 문제라 세지 않음)
+     * 상태 코드도 오류도 없으면(취소, 허가 거절) 결과를 반영하지 않습니다.
+     */
+    private void finishAttempt(PreparedRequest prepared, UpstreamLimiter.Permit permit, int status, IOException failure) {
+        if (permit != null) permit.release(status, failure);
+
+        CircuitBreaker breaker = prepared.guard != null ? prepared.guard.breaker : null;
+        if (breaker == null) return;
+        CircuitBreaker.State before = breaker.getState();
+        if (failure != null) {
+            breaker.onFailure(failure.toString());
+        } else if (status == 502 || status == 503 || status == 504) {
+            breaker.onFailure("HTTP " + status);
+        } else if (status != 0) {
+            breaker.onSuccess();
+        } else {
+            breaker.onIgnored();
+        }
+        CircuitBreaker.State after = breaker.getState();
+        if (before != after && after != CircuitBreaker.State.HALF_OPEN) {
+            if (after == CircuitBreaker.State.OPEN) {
+                logger.warn("서킷 브레이커 열림 ({}): 연속 실패 {}회, 마지막 오류: {}",
+                    prepared.operation, breaker.getConsecutiveFailures(), breaker.getLastFailure());
+            } else {
+                logger.info("서킷 브레이커 닫힘 ({})", prepared.operation);
+            }
+        }
+    }
+
+    /**
+     * operation별 재시도 횟수와 서킷 브레이커 (처음 호출될 때 만들고 지표에 등록)
+     */
+    private OperationGuard guard(String operation) {
+        if (operation == null) return null;
+        OperationGuard guard = guards.get(operation);
+        return guard != null ? guard : guards.computeIfAbsent(operation, this::newGuard);
+    }
+
+    private OperationGuard newGuard(String operation) {
+        CircuitBreaker breaker = settings.getBreakerFailures() > 0
+            ? new CircuitBreaker(settings.getBreakerFailures(), settings.getBreakerOpenSeconds(), TimeUnit.SECONDS)
+            : null;
+        OperationGuard guard = new OperationGuard(breaker);
+        metrics.counter("upstream_retries_total", "operation별 업스트림 재시도 횟수", "operation", operation,
+            guard.retries::sum);
+        if (breaker != null) {
+            metrics.gauge("upstream_circuit_state", "operation별 서킷 브레이커 상태 (0: closed, 1: open, 2: half-open)",
+                "operation", operation, () -> breaker.getState().ordinal());
+            metrics.counter("upstream_circuit_opened_total", "operation별 서킷 브레이커가 열린 횟수", "operation", operation,
+                breaker::getOpenedCount);
+        }
+        return guard;
+    }
+
+    private static final class OperationGuard {
+        final CircuitBreaker breaker;  // 사용하지 않으면 null
+        final LongAdder retries = new LongAdder();
+
+        OperationGuard(CircuitBreaker breaker) {
+            this.breaker = breaker;
+        }
+    }
+
+    /**
+     * 요청 생성 (GET이고 캐시에 신선한 항목이 있으면 cachedResponse만 채움)
+     */
+    private PreparedRequest prepare(String method, String url, Map<String, String> headers, Map<String, Object> body,
+                                    CallOptions options) throws IOException {
         logger.info("HTTP 요청: {} {}", method, url);
+        PreparedRequest prepared = new PreparedRequest();
+        prepared.method = method;
+        prepared.url = url;
+        prepared.operation = options.getOperation();
+        prepared.guard = guard(prepared.operation);
 
         Request.Builder requestBuilder = new Request.Builder()
                 .url(url)
                 .header("Accept", "application/json");
+        if (settings.getAcceptEncoding() != null) {
+            // 직접 지정하면 OkHttp가 gzip을 자동으로 풀지 않으므로 응답을 읽을 때 ContentCodings로 풂
+            requestBuilder.header("Accept-Encoding", settings.getAcceptEncoding());
+        }
 
         // 헤더 추가
         if (headers != null) {
@@ -59,9 +456,18 @@ public class HttpApiClient {
         // HTTP 메서드별 처리
         RequestBody requestBody = null;
         if (body != null && !body.isEmpty()) {
-            String jsonBody = objectMapper.writeValueAsString(body);
-            logger.debug("요청 바디: {}", jsonBody);
+            byte[] jsonBody = objectMapper.writeValueAsBytes(body);
+            if (logger.isDebugEnabled()) {
+                logger.debug("요청 바디: {}", new String(jsonBody, StandardCharsets.UTF_8));
+            }
+            if (settings.isGzipRequests() && jsonBody.length >= settings.getGzipRequestMinBytes()) {
+                byte[] compressed = ContentCodings.gzip(jsonBody);
+                logger.debug("요청 바디 gzip 압축: {} -> {} bytes", jsonBody.length, compressed.length);
+                jsonBody = compressed;
+                requestBuilder.header("Content-Encoding", "gzip");
+            }
             requestBody = RequestBody.create(jsonBody, JSON);
+            prepared.requestBytes = requestBody.contentLength();
         }
 
         switch (method.toUpperCase()) {
@@ -88,12 +494,149 @@ public class HttpApiClient {
                 throw new IllegalArgumentException("지원하지 않는 HTTP 메서드: " + method);
         }
 
-        try (Response response = client.newCall(requestBuilder.build()).execute()) {
-            String responseBody = response.body() != null ? response.body().string() : "";
-            logger.info("HTTP 응답: {} {}", response.code(), response.message());
-            logger.debug("응답 바디: {}", responseBody);
+        // 응답 캐시 (GET만)
+        if (responseCache != null && "GET".equalsIgnoreCase(method)) {
+            prepared.cacheKey = ResponseCache.key("GET", url, headers);
+            ResponseCache.Entry cached = options.isNoCache() ? null : responseCache.get(prepared.cacheKey);
+            if (cached != null && cached.isFresh()) {
+                responseCache.recordHit();
+                logger.info("HTTP 응답 (캐시): {} {}", cached.getCode(), url);
+                long start = System.nanoTime();
+                prepared.cachedResponse = formatCached(cached, options);
+                if (prepared.operation != null) {
+                    metrics.responseFormat().recordNanos(prepared.operation, System.nanoTime() - start);
+                }
+                return prepared;
+            }
+            if (cached != null && cached.hasValidators()) {
+                // 만료된 항목은 조건부 요청으로 재검증
+                if (cached.getEtag() != null) requestBuilder.header("If-None-Match", cached.getEtag());
+                if (cached.getLastModified() != null) requestBuilder.header("If-Modified-Since", cached.getLastModified());
+                prepared.cached = cached;
+            }
+        }
+
+        prepared.request = requestBuilder.build();
+        return prepared;
+    }
+
+    /**
+     * 받은 응답 처리 (재검증 결과 반영, 캐시 저장, 포맷팅)
+     */
+    private ApiResponse handleResponse(Response response, PreparedRequest prepared, CallOptions options) throws IOException {
+        logger.info("HTTP 응답: {} {}", response.code(), response.message());
+
+        long start = System.nanoTime();
+        try {
+            return formatUpstream(response, prepared, options);
+        } finally {
+            if (prepared.operation != null) {
+                metrics.responseFormat().recordNanos(prepared.operation, System.nanoTime() - start);
+                metrics.upstreamBytesIn().record(prepared.operation,
+                    prepared.received != null ? prepared.received.count : 0);
+            }
+        }
+    }
 
-            return formatResponse(response.code(), response.message(), responseBody);
+    private ApiResponse formatUpstream(Response response, PreparedRequest prepared, CallOptions options) throws IOException {
+        if (prepared.cacheKey != null) {
+            if (response.code() == 304 && prepared.cached != null) {
+                responseCache.recordHit();
+                return formatCached(responseCache.revalidated(prepared.cacheKey, prepared.cached, response), options);
+            }
+            responseCache.recordMiss();
+            if (ResponseCache.isStorable(response) && response.body() != null) {
+                return formatAndStore(response, prepared, options);
+            }
+        }
+        return formatResponse(response, prepared, options);
+    }
+
+    /**
+     * 업스트림 응답 헤더 수신 시점 기록 (요청 전송부터, 디스패처 대기 포함)
+     */
+    private void recordUpstream(PreparedRequest prepared, long startNanos) {
+        if (prepared.operation == null) return;
+        metrics.upstreamHttp().recordNanos(prepared.operation, System.nanoTime() - startNanos);
+        metrics.upstreamBytesOut().record(prepared.operation, prepared.requestBytes);
+    }
+
+    /**
+     * 응답 바디 스트림 (Content-Encoding이 있으면 풀면서 읽음)
+     *
+     * 지표를 기록하면 받은 바이트 수(압축된 크기)를 셉니다.
+     */
+    private static InputStream bodyStream(Response response, PreparedRequest prepared) throws IOException {
+        InputStream raw = response.body().byteStream();
+        if (prepared.operation != null) {
+            prepared.received = new CountingInputStream(raw);
+            raw = prepared.received;
+        }
+        return ContentCodings.decode(response.header("Content-Encoding"), raw);
+    }
+
+    /**
+     * 풀어서 읽을 바디의 길이 (압축된 응답이면 Content-Length가 풀린 크기가 아니므로 -1)
+     */
+    private static long bodyLength(Response response) {
+        return response.header("Content-Encoding") != null ? -1 : response.body().contentLength();
+    }
+
+    /**
+     * 전송 준비가 끝난 요청
+     */
+    private static final class PreparedRequest {
+        Request request;
+        String method;
+        String url;
+        String cacheKey;                 // 캐시 대상 GET이면 설정
+        ResponseCache.Entry cached;      // 재검증할 만료 항목
+        ApiResponse cachedResponse;      // 신선한 캐시 항목이 있으면 바로 반환할 결과
+        String operation;                // 지표 라벨 (없으면 기록하지 않음)
+        OperationGuard guard;            // operation별 재시도 횟수, 서킷 브레이커 (operation이 없으면 null)
+        long requestBytes;               // 요청 바디 크기
+        CountingInputStream received;    // 응답 바디 (읽은 바이트 수)
+    }
+
+    /**
+     * 응답을 포맷팅하면서 바디를 복사해 캐시에 저장
+     */
+    private ApiResponse formatAndStore(Response response, PreparedRequest prepared, CallOptions options) throws IOException {
+        ResponseBody body = response.body();
+        long captureLimit = options.isCaptureBody()
+                ? Math.max(responseCache.getMaxEntryBytes(), settings.getMaxDrainBytes())
+                : responseCache.getMaxEntryBytes();
+        CapturingInputStream capture = new CapturingInputStream(bodyStream(response, prepared), captureLimit);
+        MediaType contentType = body.contentType();
+        String formatted = responseFormatter.format(response.code(), response.message(), capture,
+                bodyLength(response), contentType != null ? contentType.charset() : null,
+                options.getProjection(), options.getFormat());
+
+        capture.drainForCapture();
+        byte[] captured = capture.capturedBody();
+        if (captured != null) {
+            responseCache.put(prepared.cacheKey, response, captured);  // 캐시 항목 한도를 넘으면 저장하지 않음
+        }
+        return new ApiResponse(response.code(), response.message(), formatted,
+                options.isCaptureBody() ? captured : null);
+    }
+
+    private ApiResponse formatCached(ResponseCache.Entry entry, CallOptions options) throws IOException {
+        MediaType contentType = entry.getContentType() != null ? MediaType.parse(entry.getContentType()) : null;
+        String formatted = responseFormatter.format(entry.getCode(), entry.getMessage() + " (캐시됨)",
+                new ByteArrayInputStream(entry.getBody()), entry.getBody().length,
+                contentType != null ? contentType.charset() : null, options.getProjection(), options.getFormat());
+        return new ApiResponse(entry.getCode(), entry.getMessage(), formatted,
+                options.isCaptureBody() ? entry.getBody() : null);
+    }
+
+    private void acquireHostPermit() throws IOException {
+        if (hostPermits == null) return;
+        try {
+            hostPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("요청 대기 중 중단됨");
         }
     }
 
@@ -124,35 +667,76 @@ public class HttpApiClient {
     }
 
     /**
-     * 응답 포맷팅
+     * 응답 포맷팅 (바디를 스트리밍으로 읽어 크기 제한 내에서 정렬 출력)
+     *
+     * captureBody 옵션이면 원본 바디도 maxDrainBytes까지 복사해 함께 반환합니다.
      */
-    private String formatResponse(int statusCode, String statusMessage, String body) {
-        StringBuilder result = new StringBuilder();
-        result.append("=== HTTP 응답 ===\n");
-        result.append("상태: ").append(statusCode).append(" ").append(statusMessage).append("\n\n");
+    private ApiResponse formatResponse(Response response, PreparedRequest prepared, CallOptions options) throws IOException {
+        ResponseBody body = response.body();
+        JsonProjection projection = options.getProjection();
+        if (body == null) {
+            String formatted = responseFormatter.format(response.code(), response.message(), null, -1, null, projection,
+                    options.getFormat());
+            return new ApiResponse(response.code(), response.message(), formatted);
+        }
 
-        if (body != null && !body.isBlank()) {
-            // JSON 포맷팅 시도
-            try {
-                JsonNode jsonNode = objectMapper.readTree(body);
-                String prettyJson = objectMapper.writeValueAsString(jsonNode);
-                result.append("응답 데이터:\n").append(prettyJson);
-            } catch (Exception e) {
-                // JSON이 아니면 그대로 출력
-                result.append("응답 데이터:\n").append(body);
-            }
-        } else {
-            result.append("(응답 바디 없음)");
+        MediaType contentType = body.contentType();
+        InputStream stream = bodyStream(response, prepared);
+        CapturingInputStream capture = options.isCaptureBody()
+                ? new CapturingInputStream(stream, settings.getMaxDrainBytes())
+                : null;
+        String formatted = responseFormatter.format(response.code(), response.message(),
+                capture != null ? capture : stream,
+                bodyLength(response), contentType != null ? contentType.charset() : null,
+                projection, options.getFormat());
+
+        byte[] captured = null;
+        if (capture != null) {
+            capture.drainForCapture();
+            captured = capture.capturedBody();
         }
+        return new ApiResponse(response.code(), response.message(), formatted, captured);
+    }
+
+    /**
+     * 연결 풀 사용 통계
+     */
+    public ConnectionStats getConnectionStats() {
+        return connectionStats;
+    }
+
+    /**
+     * 응답 캐시 (설정하지 않았으면 null)
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * GET 요청 병합 통계 (병합을 끄면 null)
+     */
+    public SingleFlight<String, ApiResponse> getInFlightGets() {
+        return inFlightGets;
+    }
+
+    /**
+     * API별 업스트림 요청 제한 (설정하지 않았으면 null)
+     */
+    public UpstreamLimiter getLimiter() {
+        return limiter;
+    }
 
-        return result.toString();
+    public HttpClientSettings getSettings() {
+        return settings;
     }
 
     /**
-     * 클라이언트 종료
+     * 클라이언트 종료 (진행 중인 요청 취소, 공유 풀 반납)
      */
     public void close() {
-        client.dispatcher().executorService().shutdown();
-        client.connectionPool().evictAll();
+        if (!closed.compareAndSet(false, true)) return;
+        client.dispatcher().cancelAll();
+        HttpClientFactory.shared().release(settings);
+        logger.debug("HTTP 클라이언트 종료: {} ({})", baseUrl, connectionStats);
     }
 }
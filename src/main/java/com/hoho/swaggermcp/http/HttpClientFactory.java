@@ -0,0 +1,133 @@
+package com.hoho.swaggermcp.http;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 공유 OkHttpClient 팩토리
+ *
+ * 모든 API 클라이언트가 하나의 루트 OkHttpClient에서 newBuilder()로 파생되므로
+ * 디스패처 스레드 풀 등 무거운 자원을 공유합니다. 연결 풀은 풀 설정(유휴 연결 수, keep-alive)이
+ * 같은 API끼리 공유하고, 사용하는 클라이언트가 모두 release되면 비웁니다.
+ */
+public final class HttpClientFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpClientFactory.class);
+    private static final HttpClientFactory SHARED = new HttpClientFactory();
+
+    private final OkHttpClient root = new OkHttpClient();
+    private final Map<String, PoolEntry> pools = new HashMap<>();
+    private boolean shutdown;
+
+    private HttpClientFactory() {
+    }
+
+    public static HttpClientFactory shared() {
+        return SHARED;
+    }
+
+    /**
+     * 설정에 맞는 클라이언트 생성
+     *
+     * 사용이 끝나면 release(settings)를 호출해야 합니다.
+     */
+    public synchronized ManagedClient create(HttpClientSettings settings) {
+        if (shutdown) {
+            throw new IllegalStateException("HTTP 클라이언트 팩토리가 종료되었습니다");
+        }
+
+        PoolEntry entry = pools.computeIfAbsent(settings.poolKey(), key -> new PoolEntry(
+            new ConnectionPool(settings.getMaxIdleConnections(), settings.getKeepAliveSeconds(), TimeUnit.SECONDS)));
+        entry.references++;
+
+        // 디스패처는 호스트당 제한이 API마다 다르므로 따로 두고 실행 스레드 풀만 공유
+        Dispatcher dispatcher = new Dispatcher(root.dispatcher().executorService());
+        if (settings.getMaxRequestsPerHost() > 0) {
+            dispatcher.setMaxRequestsPerHost(settings.getMaxRequestsPerHost());
+        }
+
+        ConnectionStats stats = new ConnectionStats(entry.pool);
+        OkHttpClient.Builder builder = root.newBuilder()
+            .connectionPool(entry.pool)
+            .dispatcher(dispatcher)
+            .eventListener(stats)
+            .connectTimeout(settings.getConnectTimeoutSeconds(), TimeUnit.SECONDS)
+            .readTimeout(settings.getReadTimeoutSeconds(), TimeUnit.SECONDS)
+            .writeTimeout(settings.getWriteTimeoutSeconds(), TimeUnit.SECONDS)
+            .callTimeout(settings.getCallTimeoutSeconds(), TimeUnit.SECONDS);
+
+        if (settings.isH2cPriorKnowledge()) {
+            builder.protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+        } else if (!settings.isHttp2()) {
+            builder.protocols(List.of(Protocol.HTTP_1_1));
+        }
+
+        return new ManagedClient(builder.build(), stats);
+    }
+
+    /**
+     * 클라이언트 반납 (같은 풀을 쓰는 클라이언트가 없으면 풀 비우기)
+     */
+    public synchronized void release(HttpClientSettings settings) {
+        PoolEntry entry = pools.get(settings.poolKey());
+        if (entry == null) return;
+        if (--entry.references <= 0) {
+            entry.pool.evictAll();
+            pools.remove(settings.poolKey());
+        }
+    }
+
+    /**
+     * 전체 종료 (디스패처 스레드 풀 종료, 모든 연결 풀 비우기)
+     */
+    public synchronized void shutdown() {
+        if (shutdown) return;
+        shutdown = true;
+        root.dispatcher().executorService().shutdown();
+        for (PoolEntry entry : pools.values()) {
+            entry.pool.evictAll();
+        }
+        pools.clear();
+        root.connectionPool().evictAll();
+        logger.info("HTTP 클라이언트 종료");
+    }
+
+    private static final class PoolEntry {
+        final ConnectionPool pool;
+        int references;
+
+        PoolEntry(ConnectionPool pool) {
+            this.pool = pool;
+        }
+    }
+
+    /**
+     * 팩토리가 만든 클라이언트와 연결 통계
+     */
+    public static final class ManagedClient {
+        private final OkHttpClient client;
+        private final ConnectionStats stats;
+
+        ManagedClient(OkHttpClient client, ConnectionStats stats) {
+            this.client = client;
+            this.stats = stats;
+        }
+
+        public OkHttpClient getClient() {
+            return client;
+        }
+
+        public ConnectionStats getStats() {
+            return stats;
+        }
+    }
+}
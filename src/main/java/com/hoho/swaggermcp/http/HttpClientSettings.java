@@ -0,0 +1,524 @@
+package com.hoho.swaggermcp.http;
+
+import java.util.Locale;
+
+/**
+ * HTTP 클라이언트 설정
+ *
+ * API별로 다른 값을 쓸 수 있도록 기본 설정을 copy()한 뒤 apply()로 덮어씁니다.
+ * 시간 값은 초 단위이며 0이면 제한 없음입니다.
+ */
+public class HttpClientSettings {
+
+    public static final long DEFAULT_MAX_RESPONSE_BYTES = 1024 * 1024;
+    public static final long DEFAULT_MAX_DRAIN_BYTES = 64L * 1024 * 1024;
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+    public static final int DEFAULT_KEEP_ALIVE_SECONDS = 300;
+    public static final int DEFAULT_TIMEOUT_SECONDS = 30;
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 16;
+    public static final long DEFAULT_CACHE_MAX_BYTES = 16L * 1024 * 1024;
+    public static final int DEFAULT_QUEUE_SIZE = 64;
+    public static final int DEFAULT_QUEUE_TIMEOUT_MILLIS = 10_000;
+    public static final int DEFAULT_RETRIES = 0;
+    public static final int DEFAULT_RETRY_BACKOFF_MILLIS = 200;
+    public static final int DEFAULT_RETRY_MAX_BACKOFF_MILLIS = 5_000;
+    public static final int DEFAULT_BREAKER_FAILURES = 0;
+    public static final int DEFAULT_BREAKER_OPEN_SECONDS = 30;
+    public static final int DEFAULT_GZIP_REQUEST_MIN_BYTES = 1024;
+
+    // 출력할 응답의 최대 바이트 수 (넘으면 잘라서 안내 문구 표시)
+    private long maxResponseBytes = DEFAULT_MAX_RESPONSE_BYTES;
+
+    // 잘린 뒤 생략된 양을 세기 위해 더 읽을 최대 바이트 수
+    private long maxDrainBytes = DEFAULT_MAX_DRAIN_BYTES;
+
+    // 연결 풀: 유지할 유휴 연결 수와 유휴 연결 유지 시간
+    private int maxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+    private int keepAliveSeconds = DEFAULT_KEEP_ALIVE_SECONDS;
+
+    private int connectTimeoutSeconds = DEFAULT_TIMEOUT_SECONDS;
+    private int readTimeoutSeconds = DEFAULT_TIMEOUT_SECONDS;
+    private int writeTimeoutSeconds = DEFAULT_TIMEOUT_SECONDS;
+    private int callTimeoutSeconds = 0;
+
+    // HTTP/2 사용 (TLS ALPN), h2c는 평문 HTTP/2 prior knowledge (내부 서비스용)
+    private boolean http2 = true;
+    private boolean h2cPriorKnowledge;
+
+    // 호스트당 동시 요청 수
+    private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+
+    // GET 응답 캐시: 최대 항목 수 (0이면 사용 안 함), 전체 최대 바이트, Cache-Control이 없는 응답의 TTL
+    private int cacheEntries;
+    private long cacheMaxBytes = DEFAULT_CACHE_MAX_BYTES;
+    private int cacheTtlSeconds;
+
+    // 동시에 들어온 같은 GET 요청을 하나로 병합
+    private boolean coalesce = true;
+
+    // API별 업스트림 요청 제한 (UpstreamLimiter): 초당 요청 수(0이면 제한 없음)와 한 번에 몰아 보낼 수 있는 수
+    private double rateLimit;
+    private int rateBurst;
+
+    // API별 동시 실행 한도 (0이면 제한 없음): 과부하 신호에 따라 minConcurrency ~ maxConcurrency 사이에서 조정
+    private int maxConcurrency;
+    private int minConcurrency = 1;
+
+    // 제한에 걸린 요청의 대기열 크기와 최대 대기 시간 (밀리초, 0이면 기다리지 않고 바로 거절)
+    private int queueSize = DEFAULT_QUEUE_SIZE;
+    private int queueTimeoutMillis = DEFAULT_QUEUE_TIMEOUT_MILLIS;
+
+    // 일시적 오류(502/503/504/429, 연결 오류) 재시도: 최대 횟수(기본 0, 사용 안 함), POST도 재시도할지,
+    // 지수 백오프 기준/최대 시간 (밀리초, Retry-After가 최대 시간보다 길면 재시도하지 않음)
+    private int retries = DEFAULT_RETRIES;
+    private boolean retryPost;
+    private int retryBackoffMillis = DEFAULT_RETRY_BACKOFF_MILLIS;
+    private int retryMaxBackoffMillis = DEFAULT_RETRY_MAX_BACKOFF_MILLIS;
+
+    // operation별 서킷 브레이커: 연속 실패 몇 번에 열지(기본 0, 사용 안 함), 열린 뒤 다시 시험할 때까지의 시간
+    private int breakerFailures = DEFAULT_BREAKER_FAILURES;
+    private int breakerOpenSeconds = DEFAULT_BREAKER_OPEN_SECONDS;
+
+    // 응답 압축 협상: 보낼 Accept-Encoding 값 (null이면 OkHttp 기본 동작, gzip만 요청하고 자동 해제)
+    private String acceptEncoding;
+
+    // 요청 바디 gzip 압축 (Content-Encoding: gzip을 받는 서버용): 사용 여부와 압축할 최소 바이트 수
+    private boolean gzipRequests;
+    private int gzipRequestMinBytes = DEFAULT_GZIP_REQUEST_MIN_BYTES;
+
+    public HttpClientSettings() {
+    }
+
+    /**
+     * 설정 복사본 (API별 설정의 시작점)
+     */
+    public HttpClientSettings copy() {
+        HttpClientSettings copy = new HttpClientSettings();
+        copy.maxResponseBytes = maxResponseBytes;
+        copy.maxDrainBytes = maxDrainBytes;
+        copy.maxIdleConnections = maxIdleConnections;
+        copy.keepAliveSeconds = keepAliveSeconds;
+        copy.connectTimeoutSeconds = connectTimeoutSeconds;
+        copy.readTimeoutSeconds = readTimeoutSeconds;
+        copy.writeTimeoutSeconds = writeTimeoutSeconds;
+        copy.callTimeoutSeconds = callTimeoutSeconds;
+        copy.http2 = http2;
+        copy.h2cPriorKnowledge = h2cPriorKnowledge;
+        copy.maxRequestsPerHost = maxRequestsPerHost;
+        copy.cacheEntries = cacheEntries;
+        copy.cacheMaxBytes = cacheMaxBytes;
+        copy.cacheTtlSeconds = cacheTtlSeconds;
+        copy.coalesce = coalesce;
+        copy.rateLimit = rateLimit;
+        copy.rateBurst = rateBurst;
+        copy.maxConcurrency = maxConcurrency;
+        copy.minConcurrency = minConcurrency;
+        copy.queueSize = queueSize;
+        copy.queueTimeoutMillis = queueTimeoutMillis;
+        copy.retries = retries;
+        copy.retryPost = retryPost;
+        copy.retryBackoffMillis = retryBackoffMillis;
+        copy.retryMaxBackoffMillis = retryMaxBackoffMillis;
+        copy.breakerFailures = breakerFailures;
+        copy.breakerOpenSeconds = breakerOpenSeconds;
+        copy.acceptEncoding = acceptEncoding;
+        copy.gzipRequests = gzipRequests;
+        copy.gzipRequestMinBytes = gzipRequestMinBytes;
+        return copy;
+    }
+
+    /**
+     * 키=값 형식 설정 적용 (커맨드라인 --http 옵션)
+     *
+     * @throws IllegalArgumentException 알 수 없는 키이거나 값이 잘못된 경우
+     */
+    public void apply(String key, String value) {
+        String v = value.trim();
+        switch (key.trim().toLowerCase(Locale.ROOT)) {
+            case "maxidle":
+            case "poolsize":
+                maxIdleConnections = parseNonNegative(key, v);
+                break;
+            case "keepalive":
+                keepAliveSeconds = parseNonNegative(key, v);
+                break;
+            case "connecttimeout":
+                connectTimeoutSeconds = parseNonNegative(key, v);
+                break;
+            case "readtimeout":
+                readTimeoutSeconds = parseNonNegative(key, v);
+                break;
+            case "writetimeout":
+                writeTimeoutSeconds = parseNonNegative(key, v);
+                break;
+            case "calltimeout":
+                callTimeoutSeconds = parseNonNegative(key, v);
+                break;
+            case "http2":
+                http2 = parseBoolean(key, v);
+                break;
+            case "h2c":
+                h2cPriorKnowledge = parseBoolean(key, v);
+                break;
+            case "maxrequestsperhost":
+                maxRequestsPerHost = parseNonNegative(key, v);
+                break;
+            case "maxresponsebytes":
+                maxResponseBytes = parseNonNegative(key, v);
+                break;
+            case "cacheentries":
+                cacheEntries = parseNonNegative(key, v);
+                break;
+            case "cachemaxbytes":
+                cacheMaxBytes = parseNonNegative(key, v);
+                break;
+            case "cachettl":
+                cacheTtlSeconds = parseNonNegative(key, v);
+                break;
+            case "coalesce":
+                coalesce = parseBoolean(key, v);
+                break;
+            case "ratelimit":
+                rateLimit = parseRate(key, v);
+                break;
+            case "rateburst":
+                rateBurst = parseNonNegative(key, v);
+                break;
+            case "maxconcurrency":
+                maxConcurrency = parseNonNegative(key, v);
+                break;
+            case "minconcurrency":
+                minConcurrency = parseNonNegative(key, v);
+                break;
+            case "queuesize":
+                queueSize = parseNonNegative(key, v);
+                break;
+            case "queuetimeoutms":
+                queueTimeoutMillis = parseNonNegative(key, v);
+                break;
+            case "retries":
+                retries = parseNonNegative(key, v);
+                break;
+            case "retrypost":
+                retryPost = parseBoolean(key, v);
+                break;
+            case "retrybackoffms":
+                retryBackoffMillis = parseNonNegative(key, v);
+                break;
+            case "retrymaxbackoffms":
+                retryMaxBackoffMillis = parseNonNegative(key, v);
+                break;
+            case "breakerfailures":
+                breakerFailures = parseNonNegative(key, v);
+                break;
+            case "breakeropen":
+                breakerOpenSeconds = parseNonNegative(key, v);
+                break;
+            case "acceptencoding":
+                acceptEncoding = ContentCodings.parseAcceptEncoding(key, v);
+                break;
+            case "gziprequests":
+                gzipRequests = parseBoolean(key, v);
+                break;
+            case "gziprequestminbytes":
+                gzipRequestMinBytes = parseNonNegative(key, v);
+                break;
+            default:
+                throw new IllegalArgumentException("알 수 없는 HTTP 설정: " + key);
+        }
+    }
+
+    private static int parseNonNegative(String key, String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed >= 0) return parsed;
+        } catch (NumberFormatException e) {
+            // 아래에서 처리
+        }
+        throw new IllegalArgumentException("잘못된 값: " + key + "=" + value);
+    }
+
+    private static double parseRate(String key, String value) {
+        try {
+            double parsed = Double.parseDouble(value);
+            if (parsed >= 0 && Double.isFinite(parsed)) return parsed;
+        } catch (NumberFormatException e) {
+            // 아래에서 처리
+        }
+        throw new IllegalArgumentException("잘못된 값: " + key + "=" + value);
+    }
+
+    private static boolean parseBoolean(String key, String value) {
+        if ("true".equalsIgnoreCase(value)) return true;
+        if ("false".equalsIgnoreCase(value)) return false;
+        throw new IllegalArgumentException("잘못된 값: " + key + "=" + value);
+    }
+
+    /**
+     * 같은 연결 풀을 공유할 수 있는지 판단하기 위한 키
+     */
+    String poolKey() {
+        return maxIdleConnections + "/" + keepAliveSeconds;
+    }
+
+    public long getMaxResponseBytes() {
+        return maxResponseBytes;
+    }
+
+    public void setMaxResponseBytes(long maxResponseBytes) {
+        this.maxResponseBytes = maxResponseBytes;
+    }
+
+    public long getMaxDrainBytes() {
+        return maxDrainBytes;
+    }
+
+    public void setMaxDrainBytes(long maxDrainBytes) {
+        this.maxDrainBytes = maxDrainBytes;
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public void setMaxIdleConnections(int maxIdleConnections) {
+        this.maxIdleConnections = maxIdleConnections;
+    }
+
+    public int getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    public void setKeepAliveSeconds(int keepAliveSeconds) {
+        this.keepAliveSeconds = keepAliveSeconds;
+    }
+
+    public int getConnectTimeoutSeconds() {
+        return connectTimeoutSeconds;
+    }
+
+    public void setConnectTimeoutSeconds(int connectTimeoutSeconds) {
+        this.connectTimeoutSeconds = connectTimeoutSeconds;
+    }
+
+    public int getReadTimeoutSeconds() {
+        return readTimeoutSeconds;
+    }
+
+    public void setReadTimeoutSeconds(int readTimeoutSeconds) {
+        this.readTimeoutSeconds = readTimeoutSeconds;
+    }
+
+    public int getWriteTimeoutSeconds() {
+        return writeTimeoutSeconds;
+    }
+
+    public void setWriteTimeoutSeconds(int writeTimeoutSeconds) {
+        this.writeTimeoutSeconds = writeTimeoutSeconds;
+    }
+
+    public int getCallTimeoutSeconds() {
+        return callTimeoutSeconds;
+    }
+
+    public void setCallTimeoutSeconds(int callTimeoutSeconds) {
+        this.callTimeoutSeconds = callTimeoutSeconds;
+    }
+
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    public void setHttp2(boolean http2) {
+        this.http2 = http2;
+    }
+
+    public boolean isH2cPriorKnowledge() {
+        return h2cPriorKnowledge;
+    }
+
+    public void setH2cPriorKnowledge(boolean h2cPriorKnowledge) {
+        this.h2cPriorKnowledge = h2cPriorKnowledge;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    public int getCacheEntries() {
+        return cacheEntries;
+    }
+
+    public void setCacheEntries(int cacheEntries) {
+        this.cacheEntries = cacheEntries;
+    }
+
+    public long getCacheMaxBytes() {
+        return cacheMaxBytes;
+    }
+
+    public void setCacheMaxBytes(long cacheMaxBytes) {
+        this.cacheMaxBytes = cacheMaxBytes;
+    }
+
+    public int getCacheTtlSeconds() {
+        return cacheTtlSeconds;
+    }
+
+    public void setCacheTtlSeconds(int cacheTtlSeconds) {
+        this.cacheTtlSeconds = cacheTtlSeconds;
+    }
+
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    public void setCoalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    public double getRateLimit() {
+        return rateLimit;
+    }
+
+    public void setRateLimit(double rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
+    public int getRateBurst() {
+        return rateBurst;
+    }
+
+    public void setRateBurst(int rateBurst) {
+        this.rateBurst = rateBurst;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getMinConcurrency() {
+        return minConcurrency;
+    }
+
+    public void setMinConcurrency(int minConcurrency) {
+        this.minConcurrency = minConcurrency;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public int getQueueTimeoutMillis() {
+        return queueTimeoutMillis;
+    }
+
+    public void setQueueTimeoutMillis(int queueTimeoutMillis) {
+        this.queueTimeoutMillis = queueTimeoutMillis;
+    }
+
+    public int getRetries() {
+        return retries;
+    }
+
+    public void setRetries(int retries) {
+        this.retries = retries;
+    }
+
+    public boolean isRetryPost() {
+        return retryPost;
+    }
+
+    public void setRetryPost(boolean retryPost) {
+        this.retryPost = retryPost;
+    }
+
+    public int getRetryBackoffMillis() {
+        return retryBackoffMillis;
+    }
+
+    public void setRetryBackoffMillis(int retryBackoffMillis) {
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    public int getRetryMaxBackoffMillis() {
+        return retryMaxBackoffMillis;
+    }
+
+    public void setRetryMaxBackoffMillis(int retryMaxBackoffMillis) {
+        this.retryMaxBackoffMillis = retryMaxBackoffMillis;
+    }
+
+    public int getBreakerFailures() {
+        return breakerFailures;
+    }
+
+    public void setBreakerFailures(int breakerFailures) {
+        this.breakerFailures = breakerFailures;
+    }
+
+    public int getBreakerOpenSeconds() {
+        return breakerOpenSeconds;
+    }
+
+    public void setBreakerOpenSeconds(int breakerOpenSeconds) {
+        this.breakerOpenSeconds = breakerOpenSeconds;
+    }
+
+    /**
+     * 요청에 보낼 Accept-Encoding 값 (null이면 OkHttp가 gzip을 요청하고 자동으로 해제)
+     */
+    public String getAcceptEncoding() {
+        return acceptEncoding;
+    }
+
+    public void setAcceptEncoding(String acceptEncoding) {
+        this.acceptEncoding = acceptEncoding;
+    }
+
+    public boolean isGzipRequests() {
+        return gzipRequests;
+    }
+
+    public void setGzipRequests(boolean gzipRequests) {
+        this.gzipRequests = gzipRequests;
+    }
+
+    public int getGzipRequestMinBytes() {
+        return gzipRequestMinBytes;
+    }
+
+    public void setGzipRequestMinBytes(int gzipRequestMinBytes) {
+        this.gzipRequestMinBytes = gzipRequestMinBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("pool=%d, keepAlive=%ds, timeouts(connect/read/write/call)=%d/%d/%d/%ds, " +
+                "protocol=%s, maxRequestsPerHost=%d, cache=%s, rateLimit=%s, concurrency=%s, " +
+                "retries=%s, breaker=%s, acceptEncoding=%s, gzipRequests=%s",
+            maxIdleConnections, keepAliveSeconds,
+            connectTimeoutSeconds, readTimeoutSeconds, writeTimeoutSeconds, callTimeoutSeconds,
+            h2cPriorKnowledge ? "h2c" : http2 ? "h2,http/1.1" : "http/1.1",
+            maxRequestsPerHost,
+            cacheEntries > 0 ? cacheEntries + " entries/" + cacheMaxBytes / 1024 + "KB/ttl " + cacheTtlSeconds + "s" : "off",
+            rateLimit > 0 ? rateLimit + "/s" + (rateBurst > 0 ? " burst " + rateBurst : "") : "off",
+            maxConcurrency > 0 ? minConcurrency + ".." + maxConcurrency : "off",
+            retries > 0 ? retries + (retryPost ? " (incl. POST)" : "") : "off",
+            breakerFailures > 0 ? breakerFailures + " failures/" + breakerOpenSeconds + "s" : "off",
+            acceptEncoding != null ? acceptEncoding : "gzip (transparent)",
+            gzipRequests ? ">= " + gzipRequestMinBytes + " bytes" : "off");
+    }
+}
@@ -0,0 +1,224 @@
+package com.hoho.swaggermcp.http;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 응답 JSON 투영(projection) 설정
+ *
+ * call_api 응답에서 필요한 부분만 남기기 위한 옵션입니다. ResponseFormatter가 스트리밍 중에 적용하므로
+ * 선택되지 않은 하위 트리는 메모리에 올리지 않고 건너뜁니다.
+ *
+ * - select: 남길 경로 목록. JSON Pointer(/data/0/name) 또는 JSONPath 형식($.data[*].name) 지원, '*'는 모든 필드/요소
+ * - offset/limit: 가장 바깥 배열(루트 배열 또는 다른 배열 안에 있지 않은 배열)의 요소 범위
+ * - maxDepth: 이 깊이보다 깊은 객체/배열은 "{…}" / "[…]"로 대체 (루트가 깊이 1)
+ */
+public class JsonProjection {
+
+    public static final JsonProjection NONE = new JsonProjection(null, 0, -1, -1);
+
+    // 경로 매칭 상태: 상위 16비트는 경로 번호, 하위 16비트는 다음에 매칭할 세그먼트 위치
+    static final int[] MATCH_ALL = new int[0];
+
+    private final Segment[][] paths;   // null이면 전체 선택
+    private final int offset;
+    private final int limit;           // 음수이면 제한 없음
+    private final int maxDepth;        // 음수이면 제한 없음
+    private final String key;
+
+    public JsonProjection(List<String> select, int offset, int limit, int maxDepth) {
+        if (select == null || select.isEmpty()) {
+            this.paths = null;
+        } else {
+            List<Segment[]> parsed = new ArrayList<>();
+            for (String path : select) {
+                Segment[] segments = parsePath(path);
+                if (segments.length == 0) {
+                    // 루트 선택이면 전체 선택과 같음
+                    parsed = null;
+                    break;
+                }
+                parsed.add(segments);
+            }
+            this.paths = parsed != null ? parsed.toArray(new Segment[0][]) : null;
+        }
+        this.offset = Math.max(0, offset);
+        this.limit = limit;
+        this.maxDepth = maxDepth;
+        this.key = (paths == null ? "*" : String.join(",", select)) + "|" + this.offset + "|" + limit + "|" + maxDepth;
+    }
+
+    /**
+     * 같은 투영인지 비교하기 위한 키 (요청 병합 키에 사용)
+     */
+    public String key() {
+        return key;
+    }
+
+    public boolean isIdentity() {
+        return paths == null && offset == 0 && limit < 0 && maxDepth < 0;
+    }
+
+    public boolean hasSelection() {
+        return paths != null;
+    }
+
+    public boolean hasSlice() {
+        return offset > 0 || limit >= 0;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * 배열 요소 인덱스가 offset/limit 범위 안인지
+     */
+    boolean inSlice(int index) {
+        return index >= offset && (limit < 0 || index - offset < limit);
+    }
+
+    /**
+     * 루트 값의 매칭 상태
+     */
+    int[] rootStates() {
+        if (paths == null) return MATCH_ALL;
+        int[] states = new int[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            states[i] = i << 16;
+        }
+        return states;
+    }
+
+    /**
+     * 자식 값으로 내려갈 때의 매칭 상태
+     *
+     * @param states 부모의 매칭 상태 (MATCH_ALL이면 하위 전체 선택)
+     * @param fieldName 객체 필드 이름 (배열 요소이면 null)
+     * @param index 배열 요소 인덱스 (객체 필드이면 -1)
+     * @return 자식의 매칭 상태, 일치하는 경로가 없으면 null
+     */
+    int[] advance(int[] states, String fieldName, int index) {
+        if (states == MATCH_ALL) return MATCH_ALL;
+
+        int[] next = null;
+        int count = 0;
+        for (int state : states) {
+            int pathIndex = state >>> 16;
+            int position = state & 0xFFFF;
+            Segment[] path = paths[pathIndex];
+            if (!path[position].matches(fieldName, index)) continue;
+
+            if (position + 1 == path.length) {
+                return MATCH_ALL;
+            }
+            if (next == null) next = new int[states.length];
+            next[count++] = (pathIndex << 16) | (position + 1);
+        }
+        return next == null ? null : Arrays.copyOf(next, count);
+    }
+
+    /**
+     * 경로 파싱 (JSON Pointer 또는 JSONPath 형식)
+     */
+    static Segment[] parsePath(String path) {
+        String trimmed = path.trim();
+        if (trimmed.isEmpty() || trimmed.equals("$") || trimmed.equals("/")) {
+            return new Segment[0];
+        }
+        if (trimmed.startsWith("/")) {
+            return parsePointer(trimmed);
+        }
+        return parseJsonPath(trimmed);
+    }
+
+    private static Segment[] parsePointer(String pointer) {
+        String[] tokens = pointer.substring(1).split("/", -1);
+        Segment[] segments = new Segment[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            String token = tokens[i].replace("~1", "/").replace("~0", "~");
+            segments[i] = token.equals("*") ? Segment.WILDCARD : Segment.of(token);
+        }
+        return segments;
+    }
+
+    private static Segment[] parseJsonPath(String path) {
+        List<Segment> segments = new ArrayList<>();
+        int i = path.startsWith("$") ? 1 : 0;
+        int length = path.length();
+
+        while (i < length) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                if (i + 1 < length && path.charAt(i + 1) == '.') {
+                    throw new IllegalArgumentException("재귀 탐색(..)은 지원하지 않습니다: " + path);
+                }
+                i++;
+                continue;
+            }
+            if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("닫는 ']'가 없습니다: " + path);
+                }
+                String inner = path.substring(i + 1, end).trim();
+                if (inner.equals("*")) {
+                    segments.add(Segment.WILDCARD);
+                } else if (inner.length() >= 2 && (inner.charAt(0) == '\'' || inner.charAt(0) == '"')) {
+                    segments.add(Segment.of(inner.substring(1, inner.length() - 1)));
+                } else if (!inner.isEmpty() && inner.chars().allMatch(Character::isDigit)) {
+                    segments.add(Segment.of(inner));
+                } else {
+                    throw new IllegalArgumentException("지원하지 않는 경로 형식: [" + inner + "] in " + path);
+                }
+                i = end + 1;
+                continue;
+            }
+
+            int end = i;
+            while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') end++;
+            String name = path.substring(i, end);
+            segments.add(name.equals("*") ? Segment.WILDCARD : Segment.of(name));
+            i = end;
+        }
+        return segments.toArray(new Segment[0]);
+    }
+
+    /**
+     * 경로 세그먼트 (필드 이름, 배열 인덱스 또는 와일드카드)
+     */
+    static final class Segment {
+        static final Segment WILDCARD = new Segment(null, -1);
+
+        private final String name;
+        private final int index;
+
+        private Segment(String name, int index) {
+            this.name = name;
+            this.index = index;
+        }
+
+        static Segment of(String token) {
+            int index = -1;
+            if (!token.isEmpty() && token.length() < 10 && token.chars().allMatch(Character::isDigit)) {
+                index = Integer.parseInt(token);
+            }
+            return new Segment(token, index);
+        }
+
+        boolean matches(String fieldName, int elementIndex) {
+            if (name == null) return true;
+            if (fieldName != null) return name.equals(fieldName);
+            return index >= 0 && index == elementIndex;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.hoho.swaggermcp.http;
+
+import java.util.Locale;
+
+/**
+ * Tool 결과 출력 형식
+ *
+ * - MARKDOWN: 사람이 읽기 좋은 표/목록과 들여쓴 JSON (기존 출력)
+ * - COMPACT: 항목당 한 줄의 구분자(|) 표와 공백 없는 JSON (모델 컨텍스트를 가장 적게 씀)
+ * - JSON: 공백 없는 JSON 문서 (프로그램에서 다시 읽을 때)
+ */
+public enum OutputFormat {
+    COMPACT, MARKDOWN, JSON;
+
+    /**
+     * 인자 값 해석 (대소문자 무시, 비어 있으면 defaultFormat)
+     *
+     * @throws IllegalArgumentException 알 수 없는 형식
+     */
+    public static OutputFormat parse(String value, OutputFormat defaultFormat) {
+        if (value == null || value.isBlank()) return defaultFormat;
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "compact":
+                return COMPACT;
+            case "markdown":
+            case "md":
+                return MARKDOWN;
+            case "json":
+                return JSON;
+            default:
+                throw new IllegalArgumentException("must be compact, markdown or json: " + value);
+        }
+    }
+
+    public String id() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,243 @@
+package com.hoho.swaggermcp.http;
+
+import okhttp3.CacheControl;
+import okhttp3.Response;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API별 GET 응답 캐시 (메모리, LRU)
+ *
+ * 키는 메서드 + 최종 URL + 요청 헤더이고, 값은 응답 바디 원본 바이트입니다.
+ * 원본을 저장하므로 같은 응답에 호출마다 다른 select/limit을 적용할 수 있습니다.
+ *
+ * 신선도는 Cache-Control(max-age, no-cache, no-store)과 Age로 계산하고, 지정이 없으면 기본 TTL을 씁니다.
+ * 만료된 항목에 ETag/Last-Modified가 있으면 조건부 요청으로 재검증하고 304이면 저장된 바디를 재사용합니다.
+ * 전체 바이트 수와 항목 수가 제한을 넘으면 가장 오래 사용하지 않은 항목부터 제거합니다.
+ */
+public class ResponseCache {
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final long defaultTtlNanos;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private long hits;
+    private long misses;
+    private long revalidations;
+    private long evictions;
+
+    public ResponseCache(int maxEntries, long maxBytes, long defaultTtlSeconds) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.max(1, maxBytes / 4);
+        this.defaultTtlNanos = TimeUnit.SECONDS.toNanos(Math.max(0, defaultTtlSeconds));
+    }
+
+    /**
+     * 캐시 키 생성 (헤더 이름은 소문자로, 이름순 정렬)
+     */
+    public static String key(String method, String url, Map<String, String> headers) {
+        StringBuilder sb = new StringBuilder(method).append(' ').append(url);
+        if (headers != null && !headers.isEmpty()) {
+            Map<String, String> sorted = new TreeMap<>();
+            headers.forEach((name, value) -> sorted.put(name.toLowerCase(Locale.ROOT), value));
+            sorted.forEach((name, value) -> sb.append('\n').append(name).append(':').append(value));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 캐시된 항목 조회 (만료된 항목도 재검증용으로 반환)
+     */
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * 한 응답에 저장할 수 있는 최대 바이트 수
+     */
+    public long getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public synchronized void recordHit() {
+        hits++;
+    }
+
+    public synchronized void recordMiss() {
+        misses++;
+    }
+
+    /**
+     * 저장할 수 있는 응답인지 (200이고 no-store가 아님)
+     */
+    public static boolean isStorable(Response response) {
+        if (response.code() != 200) return false;
+        return !response.cacheControl().noStore();
+    }
+
+    /**
+     * 응답 저장 (신선도 정보도 검증자도 없으면 저장하지 않음)
+     */
+    public synchronized void put(String key, Response response, byte[] body) {
+        if (body.length > maxEntryBytes) return;
+
+        long ttlNanos = freshnessNanos(response);
+        String etag = response.header("ETag");
+        String lastModified = response.header("Last-Modified");
+        if (ttlNanos <= 0 && etag == null && lastModified == null) return;
+
+        String contentType = response.header("Content-Type");
+        Entry entry = new Entry(response.code(), response.message(), body, contentType, etag, lastModified,
+            System.nanoTime() + ttlNanos);
+
+        Entry previous = entries.put(key, entry);
+        if (previous != null) totalBytes -= previous.body.length;
+        totalBytes += body.length;
+        evictIfNeeded();
+    }
+
+    /**
+     * 304 응답으로 재검증된 항목 갱신 (바디는 그대로, 신선도와 검증자만 갱신)
+     */
+    public synchronized Entry revalidated(String key, Entry entry, Response notModified) {
+        revalidations++;
+        String etag = notModified.header("ETag");
+        String lastModified = notModified.header("Last-Modified");
+        Entry refreshed = new Entry(entry.code, entry.message, entry.body, entry.contentType,
+            etag != null ? etag : entry.etag,
+            lastModified != null ? lastModified : entry.lastModified,
+            System.nanoTime() + freshnessNanos(notModified));
+        if (entries.containsKey(key)) {
+            entries.put(key, refreshed);
+        }
+        return refreshed;
+    }
+
+    private long freshnessNanos(Response response) {
+        CacheControl cacheControl = response.cacheControl();
+        if (cacheControl.noCache()) return 0;
+        if (cacheControl.maxAgeSeconds() >= 0) {
+            long age = parseAge(response.header("Age"));
+            return TimeUnit.SECONDS.toNanos(Math.max(0, cacheControl.maxAgeSeconds() - age));
+        }
+        return defaultTtlNanos;
+    }
+
+    private static long parseAge(String age) {
+        if (age == null) return 0;
+        try {
+            return Long.parseLong(age.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.body.length;
+            evictions++;
+        }
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getRevalidations() {
+        return revalidations;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * 저장된 응답 바디 전체 바이트 수
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("적중 %d (재검증 %d) / 미스 %d, 제거 %d, 항목 %d/%d, %dKB/%dKB",
+            hits, revalidations, misses, evictions, entries.size(), maxEntries, totalBytes / 1024, maxBytes / 1024);
+    }
+
+    /**
+     * 캐시 항목
+     */
+    public static final class Entry {
+        private final int code;
+        private final String message;
+        private final byte[] body;
+        private final String contentType;
+        private final String etag;
+        private final String lastModified;
+        private final long expiresAtNanos;
+
+        Entry(int code, String message, byte[] body, String contentType,
+              String etag, String lastModified, long expiresAtNanos) {
+            this.code = code;
+            this.message = message;
+            this.body = body;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        public boolean isFresh() {
+            return System.nanoTime() - expiresAtNanos < 0;
+        }
+
+        public boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+
+        public int getCode() {
+            return code;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -0,0 +1,576 @@
+package com.hoho.swaggermcp.http;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * HTTP 응답 포맷터 (스트리밍)
+ *
+ * 응답 바디를 한 번에 메모리에 올리지 않고 JsonParser로 읽으면서 JsonGenerator로 바로 정렬 출력합니다.
+ * JsonNode 트리를 만들지 않으므로 큰 응답도 출력 텍스트 외의 복사본이 생기지 않습니다.
+ *
+ * 출력이 maxResponseBytes를 넘으면 가장 바깥 배열의 다음 요소 경계에서 출력을 멈추고 열린 JSON 구조를 닫습니다.
+ * (열린 배열이 없으면 객체 필드 경계, 한 요소가 너무 커서 제한의 2배를 넘으면 가장 가까운 경계에서 자릅니다)
+ * 이후 바디는 출력 없이 계속 읽어서 (최대 maxDrainBytes까지) 생략된 바이트 수와
+ * 잘린 배열의 생략된 요소 수를 세어 안내 문구로 붙입니다.
+ *
+ * JsonProjection이 주어지면 선택/슬라이스/깊이 제한도 같은 스트리밍 과정에서 적용합니다.
+ */
+public class ResponseFormatter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final JsonStringEncoder ENCODER = JsonStringEncoder.getInstance();
+    private static final String NO_MATCH = "(선택한 경로와 일치하는 값이 없습니다)";
+
+    // 스레드별 결과 버퍼 (큰 응답 뒤에는 버리고 새로 만듦)
+    private static final int INITIAL_BUFFER_CHARS = 8 * 1024;
+    private static final int MAX_RETAINED_BUFFER_CHARS = 256 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER =
+        ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_CHARS));
+
+    private final long maxResponseBytes;
+    private final long maxDrainBytes;
+
+    public ResponseFormatter(HttpClientSettings settings) {
+        this(settings.getMaxResponseBytes(), settings.getMaxDrainBytes());
+    }
+
+    public ResponseFormatter(long maxResponseBytes, long maxDrainBytes) {
+        this.maxResponseBytes = maxResponseBytes;
+        this.maxDrainBytes = maxDrainBytes;
+    }
+
+    /**
+     * 응답 포맷팅
+     *
+     * @param body 응답 바디 스트림 (null이면 바디 없음)
+     * @param contentLength Content-Length (모르면 -1)
+     * @param charset 텍스트 응답 문자셋 (null이면 UTF-8)
+     */
+    public String format(int statusCode, String statusMessage, InputStream body,
+                         long contentLength, Charset charset) throws IOException {
+        return format(statusCode, statusMessage, body, contentLength, charset, JsonProjection.NONE);
+    }
+
+    /**
+     * 응답 포맷팅 (JSON 응답이면 투영 적용)
+     */
+    public String format(int statusCode, String statusMessage, InputStream body,
+                         long contentLength, Charset charset, JsonProjection projection) throws IOException {
+        return format(statusCode, statusMessage, body, contentLength, charset, projection, OutputFormat.MARKDOWN);
+    }
+
+    /**
+     * 응답 포맷팅 (출력 형식 지정)
+     *
+     * - MARKDOWN: 상태 줄과 들여쓴 JSON, 안내 문구
+     * - COMPACT: "HTTP 200 OK" 한 줄과 공백 없는 JSON, 안내 문구
+     * - JSON: {"status":200,"statusText":"OK","body":...,"notes":[...]} (텍스트 바디는 문자열)
+     * 결과는 스레드별로 재사용하는 버퍼에 만든 뒤 문자열로 복사합니다.
+     */
+    public String format(int statusCode, String statusMessage, InputStream body, long contentLength,
+                         Charset charset, JsonProjection projection, OutputFormat outputFormat) throws IOException {
+        StringBuilder result = BUFFER.get();
+        result.setLength(0);
+        try {
+            formatInto(result, statusCode, statusMessage, body, contentLength, charset, projection, outputFormat);
+            return result.toString();
+        } finally {
+            if (result.capacity() > MAX_RETAINED_BUFFER_CHARS) {
+                BUFFER.set(new StringBuilder(INITIAL_BUFFER_CHARS));
+            }
+        }
+    }
+
+    private void formatInto(StringBuilder result, int statusCode, String statusMessage, InputStream body,
+                            long contentLength, Charset charset, JsonProjection projection,
+                            OutputFormat outputFormat) throws IOException {
+        boolean json = outputFormat == OutputFormat.JSON;
+        if (json) {
+            result.append("{\"status\":").append(statusCode).append(",\"statusText\":\"");
+            ENCODER.quoteAsString(statusMessage != null ? statusMessage : "", result);
+            result.append("\",\"body\":");
+        } else if (outputFormat == OutputFormat.COMPACT) {
+            result.append("HTTP ").append(statusCode).append(' ').append(statusMessage).append('\n');
+        } else {
+            result.append("=== HTTP 응답 ===\n");
+            result.append("상태: ").append(statusCode).append(" ").append(statusMessage).append("\n\n");
+        }
+
+        BufferedInputStream in = body != null ? new BufferedInputStream(body) : null;
+        int first = in != null ? peekFirstNonWhitespace(in) : -1;
+        List<String> notes = new ArrayList<>(2);
+        if (first < 0) {
+            result.append(json ? "null" : "(응답 바디 없음)");
+        } else if (first == '{' || first == '[') {
+            if (outputFormat == OutputFormat.MARKDOWN) result.append("응답 데이터:\n");
+            int bodyStart = result.length();
+            boolean parseFailed = formatJson(in, contentLength, projection, result,
+                outputFormat == OutputFormat.MARKDOWN, notes);
+            if (result.length() == bodyStart) {
+                if (json) result.append("null");
+                if (!parseFailed) {
+                    if (json) notes.add(0, NO_MATCH); else result.append(NO_MATCH);
+                }
+            }
+        } else {
+            // JSON이 아니면 그대로 출력
+            if (outputFormat == OutputFormat.MARKDOWN) result.append("응답 데이터:\n");
+            Charset textCharset = charset != null ? charset : StandardCharsets.UTF_8;
+            if (json) {
+                StringBuilder text = new StringBuilder();
+                formatText(in, contentLength, textCharset, text, notes);
+                result.append('"');
+                ENCODER.quoteAsString(text, result);
+                result.append('"');
+            } else {
+                formatText(in, contentLength, textCharset, result, notes);
+            }
+            if (!projection.isIdentity()) {
+                notes.add("(JSON 응답이 아니어서 select/offset/limit/maxDepth를 적용하지 않았습니다)");
+            }
+        }
+
+        if (json) {
+            if (!notes.isEmpty()) {
+                result.append(",\"notes\":[");
+                for (int i = 0; i < notes.size(); i++) {
+                    if (i > 0) result.append(',');
+                    result.append('"');
+                    ENCODER.quoteAsString(notes.get(i), result);
+                    result.append('"');
+                }
+                result.append(']');
+            }
+            result.append('}');
+        } else {
+            String separator = outputFormat == OutputFormat.COMPACT ? "\n" : "\n\n";
+            for (String note : notes) {
+                result.append(separator).append(note);
+            }
+        }
+    }
+
+    /**
+     * JSON 바디를 스트리밍으로 정렬 출력
+     *
+     * 객체/배열 시작은 바로 쓰지 않고, 그 안에서 선택된 값이 처음 나올 때 상위부터 차례로 씁니다.
+     * 그래서 선택된 값이 없는 하위 트리는 출력되지 않고 parser.skipChildren()으로 건너뜁니다.
+     * 슬라이스/잘림/파싱 오류 안내 문구는 notes에 모읍니다.
+     *
+     * @param pretty 들여쓰기 여부 (false면 공백 없는 JSON)
+     * @return JSON 파싱 오류로 중단했으면 true
+     */
+    private boolean formatJson(InputStream in, long contentLength, JsonProjection projection,
+                               StringBuilder out, boolean pretty, List<String> notes) throws IOException {
+        int outputStart = out.length();
+        int maxDepth = projection.getMaxDepth();
+        Truncation truncation = null;
+        List<String> sliceNotes = new ArrayList<>();
+        String parseError = null;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(in);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(new StringBuilderWriter(out))) {
+            if (pretty) generator.setPrettyPrinter(new DefaultPrettyPrinter());
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+
+            Level[] levels = new Level[16];
+            int depth = 0;
+            int writtenDepth = 0;     // 출력에 시작이 쓰인 깊이 (항상 1..writtenDepth가 쓰여 있음)
+            int openArrays = 0;
+            int outermostArray = 0;   // 가장 바깥에 열린 배열의 깊이 (0이면 없음)
+            String pendingField = null;
+            int[] pendingStates = null;
+            JsonToken token;
+
+            try {
+                while ((token = parser.nextToken()) != null) {
+                    if (truncation == null && depth > 0 && isTruncationPoint(token, depth, levels[depth].array,
+                            outermostArray, out.length() - outputStart + generator.getOutputBuffered())) {
+                        truncation = new Truncation(parser, token, depth, levels);
+                        closeWritten(generator, writtenDepth, levels);
+                        writtenDepth = 0;
+                    }
+
+                    if (truncation != null) {
+                        // 잘린 뒤에는 출력 없이 생략된 양만 집계
+                        truncation.count(token, depth, levels);
+                        if (parser.currentLocation().getByteOffset() - truncation.offset > maxDrainBytes) {
+                            truncation.drainIncomplete = true;
+                            break;
+                        }
+                        if (token.isStructStart()) {
+                            levels = push(levels, ++depth, token == JsonToken.START_ARRAY);
+                        } else if (token.isStructEnd()) {
+                            depth--;
+                        }
+                        continue;
+                    }
+
+                    if (token == JsonToken.FIELD_NAME) {
+                        pendingField = parser.currentName();
+                        pendingStates = projection.advance(levels[depth].states, pendingField, -1);
+                        if (pendingStates == null) {
+                            parser.nextToken();
+                            parser.skipChildren();
+                        }
+                        continue;
+                    }
+
+                    if (token.isStructEnd()) {
+                        Level level = levels[depth];
+                        if (writtenDepth == depth) {
+                            if (level.array) generator.writeEndArray(); else generator.writeEndObject();
+                            writtenDepth--;
+                        }
+                        if (level.sliced) {
+                            sliceNotes.add(describeSlice(level, projection));
+                        }
+                        if (level.array && --openArrays == 0) outermostArray = 0;
+                        depth--;
+                        continue;
+                    }
+
+                    // 값 토큰: 부모 기준으로 선택 여부 결정
+                    int[] states;
+                    String field = null;
+                    if (depth == 0) {
+                        states = projection.rootStates();
+                    } else if (levels[depth].array) {
+                        Level parent = levels[depth];
+                        int index = parent.nextIndex++;
+                        if (parent.sliced && !projection.inSlice(index)) {
+                            parser.skipChildren();
+                            continue;
+                        }
+                        states = projection.advance(parent.states, null, index);
+                    } else {
+                        states = pendingStates;
+                        field = pendingField;
+                    }
+                    if (states == null) {
+                        parser.skipChildren();
+                        continue;
+                    }
+
+                    if (!token.isStructStart()) {
+                        if (states != JsonProjection.MATCH_ALL) continue;  // 경로가 더 남았는데 스칼라 값
+                        writtenDepth = writeAncestors(generator, writtenDepth, depth, levels);
+                        if (field != null) generator.writeFieldName(field);
+                        generator.copyCurrentEvent(parser);
+                        continue;
+                    }
+
+                    boolean array = token == JsonToken.START_ARRAY;
+                    if (maxDepth >= 0 && depth + 1 > maxDepth) {
+                        writtenDepth = writeAncestors(generator, writtenDepth, depth, levels);
+                        if (field != null) generator.writeFieldName(field);
+                        generator.writeString(array ? "[…]" : "{…}");
+                        parser.skipChildren();
+                        continue;
+                    }
+
+                    levels = push(levels, ++depth, array);
+                    Level level = levels[depth];
+                    level.states = states;
+                    level.key = field;
+                    if (array) {
+                        if (openArrays++ == 0) {
+                            outermostArray = depth;
+                            if (projection.hasSlice()) {
+                                level.sliced = true;
+                                level.label = pointerOf(parser.getParsingContext());
+                            }
+                        }
+                    }
+                    if (states == JsonProjection.MATCH_ALL) {
+                        writtenDepth = writeAncestors(generator, writtenDepth, depth, levels);
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                parseError = e.getOriginalMessage();
+                if (truncation == null) {
+                    closeWritten(generator, writtenDepth, levels);
+                }
+            }
+
+            if (truncation != null) {
+                truncation.endOffset = parser.currentLocation().getByteOffset();
+            }
+            generator.flush();
+        }
+
+        notes.addAll(sliceNotes);
+        if (truncation != null) {
+            notes.add(truncation.describe(maxResponseBytes, contentLength));
+        }
+        if (parseError != null) {
+            notes.add("(JSON 파싱 중단: " + parseError + ")");
+        }
+        return parseError != null;
+    }
+
+    /**
+     * 여기서 잘라야 하는지 판단
+     *
+     * 가장 바깥 배열의 요소 시작에서 자르는 것을 우선합니다. (요소 일부만 빠진 결과를 피하기 위해)
+     * 열린 배열이 없으면 객체 필드 이름에서, 제한의 2배를 넘으면 어느 경계에서든 자릅니다.
+     */
+    private boolean isTruncationPoint(JsonToken token, int depth, boolean containerIsArray,
+                                      int outermostArray, long outputSize) {
+        if (outputSize <= maxResponseBytes) return false;
+        boolean boundary = containerIsArray ? token != JsonToken.END_ARRAY : token == JsonToken.FIELD_NAME;
+        if (!boundary) return false;
+        if (outputSize > maxResponseBytes * 2) return true;
+        return outermostArray == 0 || depth == outermostArray;
+    }
+
+    private static Level[] push(Level[] levels, int depth, boolean array) {
+        if (depth == levels.length) {
+            levels = Arrays.copyOf(levels, depth * 2);
+        }
+        Level level = levels[depth];
+        if (level == null) {
+            level = new Level();
+            levels[depth] = level;
+        }
+        level.reset(array);
+        return levels;
+    }
+
+    /**
+     * 아직 쓰지 않은 상위 객체/배열 시작을 차례로 출력
+     *
+     * @return 새 writtenDepth
+     */
+    private static int writeAncestors(JsonGenerator generator, int writtenDepth, int depth,
+                                      Level[] levels) throws IOException {
+        for (int l = writtenDepth + 1; l <= depth; l++) {
+            Level level = levels[l];
+            if (level.key != null) generator.writeFieldName(level.key);
+            if (level.array) generator.writeStartArray(); else generator.writeStartObject();
+        }
+        return Math.max(writtenDepth, depth);
+    }
+
+    private static void closeWritten(JsonGenerator generator, int writtenDepth, Level[] levels) throws IOException {
+        for (int l = writtenDepth; l > 0; l--) {
+            if (levels[l].array) generator.writeEndArray(); else generator.writeEndObject();
+        }
+    }
+
+    private static String describeSlice(Level level, JsonProjection projection) {
+        int total = level.nextIndex;
+        int from = projection.getOffset();
+        int to = projection.getLimit() < 0 ? total : (int) Math.min(total, (long) from + projection.getLimit());
+        StringBuilder sb = new StringBuilder("(배열 ").append(level.label).append(": 전체 ").append(total).append("개 중 ");
+        if (from >= total) {
+            sb.append("offset ").append(from).append("이 범위를 벗어남)");
+        } else {
+            sb.append(from).append("~").append(to - 1).append("번째 표시");
+            if (to < total) sb.append(", 다음 페이지는 offset=").append(to);
+            sb.append(")");
+        }
+        return sb.toString();
+    }
+
+    private static String pointerOf(JsonStreamContext arrayContext) {
+        JsonStreamContext parent = arrayContext.getParent();
+        String pointer = parent != null ? parent.pathAsPointer().toString() : "";
+        return pointer.isEmpty() ? "/" : pointer;
+    }
+
+    /**
+     * 텍스트 바디 출력 (최대 maxResponseBytes, 잘림 안내는 notes에 추가)
+     */
+    private void formatText(InputStream in, long contentLength, Charset charset, StringBuilder out,
+                            List<String> notes) throws IOException {
+        BoundedInputStream bounded = new BoundedInputStream(in, maxResponseBytes);
+        Reader reader = new InputStreamReader(bounded, charset);
+        char[] buffer = new char[8192];
+        int read;
+        while ((read = reader.read(buffer)) >= 0) {
+            out.append(buffer, 0, read);
+        }
+
+        long skipped = bounded.limitReached() ? skipRemaining(in) : 0;
+        if (skipped > 0) {
+            boolean incomplete = skipped >= maxDrainBytes;
+            long omitted = incomplete && contentLength > 0 ? contentLength - maxResponseBytes : skipped;
+            notes.add("(응답이 잘렸습니다: 앞 " + maxResponseBytes + "바이트만 표시, " + omitted
+                + (incomplete && contentLength <= 0 ? "바이트 이상 생략)" : "바이트 생략)"));
+        }
+    }
+
+    private long skipRemaining(InputStream in) throws IOException {
+        long skipped = 0;
+        byte[] buffer = new byte[8192];
+        int read;
+        while (skipped < maxDrainBytes && (read = in.read(buffer)) >= 0) {
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    private static int peekFirstNonWhitespace(BufferedInputStream in) throws IOException {
+        while (true) {
+            in.mark(1);
+            int b = in.read();
+            if (b < 0) return -1;
+            if (!Character.isWhitespace(b)) {
+                in.reset();
+                return b;
+            }
+        }
+    }
+
+    /**
+     * 잘린 위치와 생략된 배열 요소 수
+     */
+    private static class Truncation {
+        final long offset;
+        final int[] trackedDepths;      // 잘릴 때 열려 있던 배열의 깊이
+        final String[] labels;          // 배열 위치 (JSON Pointer)
+        final long[] omittedElements;
+        final boolean[] closed;
+        long endOffset;
+        boolean drainIncomplete;
+
+        Truncation(JsonParser parser, JsonToken token, int depth, Level[] levels) {
+            this.offset = parser.currentTokenLocation().getByteOffset();
+
+            // 현재 토큰이 속한 컨테이너 컨텍스트 (START_* 토큰이면 새 자식 컨텍스트의 부모)
+            JsonStreamContext container = parser.getParsingContext();
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                container = container.getParent();
+            }
+
+            List<Integer> depths = new ArrayList<>();
+            List<String> pointers = new ArrayList<>();
+            JsonStreamContext ctx = container;
+            for (int level = depth; level > 0 && ctx != null; level--, ctx = ctx.getParent()) {
+                if (levels[level].array) {
+                    depths.add(0, level);
+                    pointers.add(0, pointerOf(ctx));
+                }
+            }
+
+            this.trackedDepths = depths.stream().mapToInt(Integer::intValue).toArray();
+            this.labels = pointers.toArray(new String[0]);
+            this.omittedElements = new long[trackedDepths.length];
+            this.closed = new boolean[trackedDepths.length];
+        }
+
+        /**
+         * 잘린 이후 토큰으로 생략된 요소 수 집계 (depth는 토큰 처리 전 깊이)
+         */
+        void count(JsonToken token, int depth, Level[] levels) {
+            int index = indexOf(depth);
+            if (index < 0 || closed[index]) return;
+
+            if (token == JsonToken.END_ARRAY) {
+                closed[index] = true;
+            } else if (levels[depth].array && token != JsonToken.END_OBJECT) {
+                omittedElements[index]++;
+            }
+        }
+
+        private int indexOf(int depth) {
+            for (int i = 0; i < trackedDepths.length; i++) {
+                if (trackedDepths[i] == depth) return i;
+            }
+            return -1;
+        }
+
+        /**
+         * 안내 문구 (끝까지 읽지 못했으면 Content-Length 기준, 그것도 없으면 "이상"으로 표시)
+         */
+        String describe(long maxResponseBytes, long contentLength) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("(응답이 잘렸습니다: 출력 제한 ").append(maxResponseBytes).append("바이트, 응답 바디 ");
+            if (!drainIncomplete) {
+                sb.append(endOffset - offset).append("바이트 생략");
+            } else if (contentLength > offset) {
+                sb.append(contentLength - offset).append("바이트 생략");
+            } else {
+                sb.append(endOffset - offset).append("바이트 이상 생략");
+            }
+            for (int i = 0; i < trackedDepths.length; i++) {
+                sb.append(", 배열 ").append(labels[i]).append(" 요소 ").append(omittedElements[i])
+                    .append(drainIncomplete ? "개 이상 생략" : "개 생략");
+            }
+            return sb.append(")").toString();
+        }
+    }
+
+    /**
+     * 파싱 중인 객체/배열 한 단계의 상태 (깊이별로 재사용)
+     */
+    private static final class Level {
+        boolean array;
+        int[] states;        // 투영 경로 매칭 상태
+        String key;          // 부모 객체에서의 필드 이름 (부모가 배열이면 null)
+        int nextIndex;       // 배열이면 다음 요소 인덱스
+        boolean sliced;      // offset/limit을 적용하는 배열인지
+        String label;        // sliced 배열의 위치 (JSON Pointer)
+
+        void reset(boolean array) {
+            this.array = array;
+            this.states = JsonProjection.MATCH_ALL;
+            this.key = null;
+            this.nextIndex = 0;
+            this.sliced = false;
+            this.label = null;
+        }
+    }
+
+    /**
+     * 지정한 바이트 수까지만 읽는 입력 스트림
+     */
+    private static class BoundedInputStream extends InputStream {
+        private final InputStream in;
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long limit) {
+            this.in = in;
+            this.remaining = limit;
+        }
+
+        boolean limitReached() {
+            return remaining <= 0;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) return -1;
+            int b = in.read();
+            if (b >= 0) remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            if (remaining <= 0) return -1;
+            int read = in.read(buffer, off, (int) Math.min(len, remaining));
+            if (read > 0) remaining -= read;
+            return read;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.hoho.swaggermcp.http;
+
+import okhttp3.Response;
+
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 일시적 오류 재시도 판단과 대기 시간 계산
+ *
+ * 멱등 메서드(GET, PUT, DELETE, HEAD, OPTIONS)만 재시도하고, POST는 retryPost를 켰을 때만 재시도합니다.
+ * 재시도 대상:
+ * - 429, 502, 503, 504 응답
+ * - 연결 단계 오류 (연결 거부/리셋, 재사용한 연결이 끊김 등)
+ * 제한 시간 초과(읽기/호출 timeout), 호스트 이름 해석 실패, TLS 오류, 취소는 다시 보내도 같은 결과이므로 재시도하지 않습니다.
+ *
+ * 대기 시간은 지수 백오프(retryBackoffMs * 2^attempt, 최대 retryMaxBackoffMs)의 절반에 무작위 값을 더한
+ * equal jitter이며, Retry-After 헤더가 있으면 그 값을 따릅니다. Retry-After가 최대 대기 시간보다 길면 재시도하지 않습니다.
+ */
+final class RetryPolicy {
+
+    private final int maxRetries;
+    private final boolean retryPost;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+
+    RetryPolicy(HttpClientSettings settings) {
+        this.maxRetries = settings.getRetries();
+        this.retryPost = settings.isRetryPost();
+        this.backoffMillis = settings.getRetryBackoffMillis();
+        this.maxBackoffMillis = Math.max(settings.getRetryBackoffMillis(), settings.getRetryMaxBackoffMillis());
+    }
+
+    int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * 응답을 받은 뒤 재시도할지 판단
+     *
+     * @param attempt 방금 끝난 시도 번호 (첫 요청이 0)
+     * @return 다음 시도까지 기다릴 시간 (밀리초), 재시도하지 않으면 -1
+     */
+    long delayAfterResponse(String method, int attempt, Response response) {
+        if (!canRetry(method, attempt) || !isRetryableStatus(response.code())) return -1;
+        long retryAfter = retryAfterMillis(response.header("Retry-After"));
+        if (retryAfter > maxBackoffMillis) return -1;
+        return retryAfter >= 0 ? retryAfter : backoff(attempt);
+    }
+
+    /**
+     * 전송 오류 뒤 재시도할지 판단
+     *
+     * @return 다음 시도까지 기다릴 시간 (밀리초), 재시도하지 않으면 -1
+     */
+    long delayAfterError(String method, int attempt, IOException error) {
+        if (!canRetry(method, attempt) || !isRetryableError(error)) return -1;
+        return backoff(attempt);
+    }
+
+    private boolean canRetry(String method, int attempt) {
+        if (attempt >= maxRetries) return false;
+        switch (method.toUpperCase(Locale.ROOT)) {
+            case "GET":
+            case "PUT":
+            case "DELETE":
+            case "HEAD":
+            case "OPTIONS":
+                return true;
+            case "POST":
+                return retryPost;
+            default:
+                return false;
+        }
+    }
+
+    static boolean isRetryableStatus(int code) {
+        return code == 429 || code == 502 || code == 503 || code == 504;
+    }
+
+    private static boolean isRetryableError(IOException error) {
+        if (error instanceof InterruptedIOException) return false;  // SocketTimeoutException, 호출 제한 시간, 중단
+        if (error instanceof UnknownHostException || error instanceof SSLException) return false;
+        if (error instanceof CircuitOpenException) return false;
+        return !"Canceled".equals(error.getMessage());
+    }
+
+    private long backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, backoffMillis << Math.min(attempt, 20));
+        long half = ceiling / 2;
+        return half + ThreadLocalRandom.current().nextLong(ceiling - half + 1);
+    }
+
+    /**
+     * Retry-After 값 (초 또는 HTTP 날짜)을 밀리초로 변환 (없거나 잘못된 값이면 -1)
+     */
+    static long retryAfterMillis(String header) {
+        if (header == null || header.isBlank()) return -1;
+        String value = header.trim();
+        try {
+            long seconds = Long.parseLong(value);
+            return seconds >= 0 ? seconds * 1000 : -1;
+        } catch (NumberFormatException e) {
+            // HTTP 날짜 형식
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis());
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+}
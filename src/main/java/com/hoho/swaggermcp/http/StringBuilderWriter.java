@@ -0,0 +1,44 @@
+package com.hoho.swaggermcp.http;
+
+import java.io.Writer;
+
+/**
+ * StringBuilder에 바로 쓰는 Writer (StringWriter의 동기화 버퍼 복사 없이)
+ *
+ * JsonGenerator 출력을 결과 버퍼에 바로 이어 붙일 때 사용합니다.
+ */
+public class StringBuilderWriter extends Writer {
+
+    private final StringBuilder sb;
+
+    public StringBuilderWriter(StringBuilder sb) {
+        this.sb = sb;
+    }
+
+    @Override
+    public void write(int c) {
+        sb.append((char) c);
+    }
+
+    @Override
+    public void write(char[] chars, int off, int len) {
+        sb.append(chars, off, len);
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+        sb.append(str, off, off + len);
+    }
+
+    @Override
+    public Writer append(CharSequence csq) {
+        sb.append(csq);
+        return this;
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() {}
+}
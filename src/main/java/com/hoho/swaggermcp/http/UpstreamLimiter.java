@@ -0,0 +1,231 @@
+package com.hoho.swaggermcp.http;
+
+import com.hoho.swaggermcp.concurrent.AdaptiveLimiter;
+import com.hoho.swaggermcp.concurrent.LimitExceededException;
+import com.hoho.swaggermcp.concurrent.TokenBucket;
+import com.hoho.swaggermcp.metrics.ServerMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * API별 업스트림 요청 제한 (요청률 + 적응형 동시 실행 수)
+ *
+ * 요청을 보내기 전에 토큰 버킷(rateLimit, rateBurst)에서 토큰을 받고, 이어서 AdaptiveLimiter(maxConcurrency)에서
+ * 실행 자리를 받습니다. 두 단계의 대기를 합쳐 queueTimeoutMs를 넘으면 기다리지 않고 LimitExceededException으로
+ * 실패하므로, 에이전트가 반복 호출을 쏟아내도 업스트림에는 설정한 속도 이상으로 나가지 않습니다.
+ * 응답이 429/503/504이거나 전송 오류가 나면 동시 실행 한도를 줄이고, 정상 응답이 이어지면 다시 늘립니다.
+ *
+ * 캐시에서 바로 답한 요청과 병합된 GET의 후속 호출자는 제한을 거치지 않습니다. (업스트림으로 나가지 않음)
+ * API 인스턴스마다 하나를 만들어 base URL이 바뀌어 HTTP 클라이언트를 새로 만들 때도 그대로 넘깁니다.
+ */
+public class UpstreamLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamLimiter.class);
+
+    private final String api;
+    private final TokenBucket rate;               // 요청률 제한이 없으면 null
+    private final AdaptiveLimiter concurrency;    // 동시 실행 제한이 없으면 null
+    private final long queueTimeoutNanos;
+    private final LongAdder rateRejected = new LongAdder();
+    private final ServerMetrics metrics = ServerMetrics.shared();
+
+    UpstreamLimiter(String api, TokenBucket rate, AdaptiveLimiter concurrency, long queueTimeoutNanos) {
+        this.api = api;
+        this.rate = rate;
+        this.concurrency = concurrency;
+        this.queueTimeoutNanos = queueTimeoutNanos;
+        registerMetrics();
+    }
+
+    /**
+     * 설정에 맞는 제한 생성 (요청률과 동시 실행 제한이 모두 꺼져 있으면 null)
+     */
+    public static UpstreamLimiter create(String api, HttpClientSettings settings) {
+        TokenBucket rate = settings.getRateLimit() > 0
+            ? new TokenBucket(settings.getRateLimit(),
+                settings.getRateBurst() > 0 ? settings.getRateBurst() : (int) Math.ceil(settings.getRateLimit()))
+            : null;
+        AdaptiveLimiter concurrency = settings.getMaxConcurrency() > 0
+            ? new AdaptiveLimiter(settings.getMinConcurrency(), settings.getMaxConcurrency(), settings.getQueueSize())
+            : null;
+        if (rate == null && concurrency == null) return null;
+
+        UpstreamLimiter limiter = new UpstreamLimiter(api, rate, concurrency,
+            TimeUnit.MILLISECONDS.toNanos(settings.getQueueTimeoutMillis()));
+        logger.info("업스트림 요청 제한 ({}): {}", api, limiter);
+        return limiter;
+    }
+
+    private void registerMetrics() {
+        if (rate != null) {
+            metrics.gauge("upstream_rate_limit", "API별 요청률 제한 (초당 요청 수)", "api", api,
+                rate::getPermitsPerSecond);
+            metrics.counter("upstream_rate_limited_total", "요청률 제한으로 거절한 업스트림 요청 수", "api", api,
+                rateRejected::sum);
+        }
+        if (concurrency != null) {
+            metrics.gauge("upstream_concurrency_limit", "API별 현재 동시 실행 한도 (AIMD로 조정)", "api", api,
+                concurrency::getLimit);
+            metrics.gauge("upstream_in_flight", "API별 진행 중인 업스트림 요청 수", "api", api,
+                concurrency::getInFlight);
+            metrics.gauge("upstream_queued", "API별 동시 실행 자리를 기다리는 요청 수", "api", api,
+                concurrency::getQueued);
+            metrics.counter("upstream_concurrency_rejected_total", "동시 실행 제한으로 거절한 업스트림 요청 수", "api", api,
+                concurrency::getRejected);
+            metrics.counter("upstream_concurrency_backoffs_total", "과부하 신호로 동시 실행 한도를 줄인 횟수", "api", api,
+                concurrency::getBackoffs);
+        }
+    }
+
+    /**
+     * 요청 허가 받기 (스레드를 막지 않음)
+     *
+     * 반환된 future를 취소하면 요청률 대기나 대기열에서 빠집니다.
+     * 제한을 넘으면 LimitExceededException으로 실패합니다.
+     */
+    public CompletableFuture<Permit> acquireAsync() {
+        long start = System.nanoTime();
+        long rateWait = 0;
+        if (rate != null) {
+            rateWait = rate.reserve(queueTimeoutNanos);
+            if (rateWait < 0) {
+                rateRejected.increment();
+                return CompletableFuture.failedFuture(rejected("request rate limit exceeded (" + rate + ")"));
+            }
+        }
+
+        CompletableFuture<Permit> result = new CompletableFuture<>();
+        long remaining = queueTimeoutNanos - rateWait;
+        if (rateWait == 0) {
+            admit(result, start, remaining);
+        } else {
+            CompletableFuture.delayedExecutor(rateWait, TimeUnit.NANOSECONDS)
+                .execute(() -> admit(result, start, remaining));
+        }
+        return result;
+    }
+
+    /**
+     * 요청 허가 받기 (동기 호출용, 허가를 받을 때까지 현재 스레드에서 기다림)
+     */
+    public Permit acquire() throws IOException {
+        CompletableFuture<Permit> future = acquireAsync();
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            future.thenAccept(permit -> permit.release(0, null));  // 취소 직전에 받은 허가 반납
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("요청 대기 중 중단됨");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    private void admit(CompletableFuture<Permit> result, long start, long remainingNanos) {
+        if (result.isDone()) return;  // 요청률 대기 중에 취소됨
+        if (concurrency == null) {
+            grant(result, null, start);
+            return;
+        }
+
+        CompletableFuture<AdaptiveLimiter.Permit> slot = concurrency.acquire(remainingNanos);
+        result.whenComplete((permit, error) -> {
+            if (result.isCancelled()) slot.cancel(false);
+        });
+        slot.whenComplete((acquired, error) -> {
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                result.completeExceptionally(cause instanceof LimitExceededException
+                    ? rejected(cause.getMessage())
+                    : cause);
+                return;
+            }
+            grant(result, acquired, start);
+        });
+    }
+
+    private void grant(CompletableFuture<Permit> result, AdaptiveLimiter.Permit slot, long start) {
+        if (!result.complete(new Permit(slot))) {
+            if (slot != null) slot.release(AdaptiveLimiter.Outcome.IGNORED);
+            return;
+        }
+        metrics.upstreamLimitWait().recordNanos(api, System.nanoTime() - start);
+    }
+
+    private LimitExceededException rejected(String reason) {
+        logger.warn("업스트림 요청 제한 ({}): {}", api, reason);
+        return new LimitExceededException("Upstream limit for API '" + api + "': " + reason
+            + ". Slow down or retry later.");
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * 응답 결과를 동시 실행 한도 조정 신호로 변환
+     *
+     * 429, 503, 504 응답과 전송 오류(연결 실패, 시간 초과)는 과부하 신호로 봅니다.
+     * 취소 등 결과가 없는 경우(상태 코드 0, 오류 없음)는 한도를 바꾸지 않습니다.
+     */
+    static AdaptiveLimiter.Outcome outcome(int statusCode, Throwable error) {
+        if (error != null) {
+            return unwrap(error) instanceof IOException ? AdaptiveLimiter.Outcome.DROPPED : AdaptiveLimiter.Outcome.IGNORED;
+        }
+        if (statusCode == 0) return AdaptiveLimiter.Outcome.IGNORED;
+        return statusCode == 429 || statusCode == 503 || statusCode == 504
+            ? AdaptiveLimiter.Outcome.DROPPED
+            : AdaptiveLimiter.Outcome.SUCCESS;
+    }
+
+    public String getApi() {
+        return api;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (rate != null) {
+            sb.append("rate ").append(rate).append(", rejected ").append(rateRejected.sum());
+        }
+        if (concurrency != null) {
+            if (sb.length() > 0) sb.append("; ");
+            sb.append("concurrency ").append(concurrency);
+        }
+        sb.append("; queue timeout ").append(TimeUnit.NANOSECONDS.toMillis(queueTimeoutNanos)).append("ms");
+        return sb.toString();
+    }
+
+    /**
+     * 받은 요청 허가 (요청이 끝나면 결과와 함께 반납)
+     */
+    public static final class Permit {
+
+        private final AdaptiveLimiter.Permit slot;  // 동시 실행 제한이 없으면 null
+
+        private Permit(AdaptiveLimiter.Permit slot) {
+            this.slot = slot;
+        }
+
+        /**
+         * 허가 반납 (여러 번 호출해도 한 번만 반영)
+         *
+         * @param statusCode 받은 응답의 상태 코드 (응답이 없으면 0)
+         * @param error 전송 오류 (없으면 null, 둘 다 없으면 한도를 바꾸지 않음)
+         */
+        public void release(int statusCode, Throwable error) {
+            if (slot != null) slot.release(outcome(statusCode, error));
+        }
+    }
+}
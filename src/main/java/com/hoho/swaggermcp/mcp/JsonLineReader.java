@@ -0,0 +1,128 @@
+package com.hoho.swaggermcp.mcp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 줄 단위 JSON 메시지 리더 (stdio 전송용)
+ *
+ * 입력 스트림을 바이트 그대로 읽어 줄을 나눕니다. 문자열로 디코딩하지 않고 ObjectReader가 바이트 구간을 바로 파싱하며,
+ * 줄이 읽기 버퍼 안에 통째로 있으면 복사하지 않고 버퍼 구간을 그대로 가리킵니다.
+ * 버퍼 경계에 걸친 줄만 별도 배열에 이어 붙입니다. (배열은 재사용)
+ *
+ * array()/offset()/length()가 가리키는 구간은 다음 next() 호출 전까지만 유효합니다.
+ */
+final class JsonLineReader {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+
+    // 버퍼 경계에 걸친 줄을 모으는 배열 (필요할 때 늘림)
+    private byte[] spill = new byte[8 * 1024];
+
+    private byte[] array;
+    private int offset;
+    private int length;
+
+    JsonLineReader(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    JsonLineReader(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * 다음 줄 읽기 (줄 끝의 \n, \r\n 제외)
+     *
+     * @return 입력이 끝나 더 읽을 줄이 없으면 false
+     */
+    boolean next() throws IOException {
+        int spilled = 0;
+        while (true) {
+            if (position == limit) {
+                int read = in.read(buffer, 0, buffer.length);
+                if (read <= 0) {
+                    position = limit = 0;
+                    if (spilled == 0) return false;
+                    return setLine(spill, 0, spilled);  // 마지막 줄에 줄바꿈이 없는 경우
+                }
+                position = 0;
+                limit = read;
+            }
+
+            int start = position;
+            int end = indexOfNewline(start);
+            if (end >= 0) {
+                position = end + 1;
+                if (spilled == 0) {
+                    return setLine(buffer, start, end - start);
+                }
+                spilled = appendSpill(spilled, start, end - start);
+                return setLine(spill, 0, spilled);
+            }
+
+            spilled = appendSpill(spilled, start, limit - start);
+            position = limit;
+        }
+    }
+
+    private int indexOfNewline(int from) {
+        for (int i = from; i < limit; i++) {
+            if (buffer[i] == '\n') return i;
+        }
+        return -1;
+    }
+
+    private int appendSpill(int spilled, int from, int count) {
+        if (spilled + count > spill.length) {
+            byte[] grown = new byte[Math.max(spill.length * 2, spilled + count)];
+            System.arraycopy(spill, 0, grown, 0, spilled);
+            spill = grown;
+        }
+        System.arraycopy(buffer, from, spill, spilled, count);
+        return spilled + count;
+    }
+
+    private boolean setLine(byte[] source, int from, int count) {
+        if (count > 0 && source[from + count - 1] == '\r') count--;
+        array = source;
+        offset = from;
+        length = count;
+        return true;
+    }
+
+    /**
+     * 공백만 있는 줄인지
+     */
+    boolean isBlank() {
+        for (int i = offset; i < offset + length; i++) {
+            byte b = array[i];
+            if (b != ' ' && b != '\t' && b != '\r') return false;
+        }
+        return true;
+    }
+
+    byte[] array() {
+        return array;
+    }
+
+    int offset() {
+        return offset;
+    }
+
+    int length() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return new String(array, offset, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,89 @@
+package com.hoho.swaggermcp.mcp;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * 줄 단위 JSON 메시지 라이터 (stdio 전송용)
+ *
+ * 응답을 문자열로 만들지 않고 재사용하는 JsonGenerator로 출력 스트림에 바로 씁니다.
+ * 메시지마다 줄바꿈을 붙이고 flush하며, 여러 스레드에서 호출해도 메시지가 섞이지 않습니다.
+ * 메시지별로 기록한 바이트 수를 돌려줍니다. (응답 크기 지표용)
+ */
+final class JsonLineWriter {
+
+    private final CountingOutputStream out;
+    private final JsonGenerator generator;
+    private final ObjectWriter responseWriter;
+
+    JsonLineWriter(OutputStream out, ObjectMapper objectMapper) {
+        this.out = new CountingOutputStream(out);
+        try {
+            this.generator = objectMapper.getFactory().createGenerator(this.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);  // 메시지 구분은 줄바꿈으로 직접
+        this.responseWriter = objectMapper.writerFor(JsonRpcResponse.class);
+    }
+
+    /**
+     * JSON-RPC 응답 한 줄 기록
+     *
+     * @return 기록한 바이트 수 (줄바꿈 포함)
+     */
+    synchronized long write(JsonRpcResponse response) throws IOException {
+        long before = out.count;
+        responseWriter.writeValue(generator, response);
+        endLine();
+        return out.count - before;
+    }
+
+    /**
+     * 이미 직렬화된 메시지(예: 서버 알림) 한 줄 기록
+     *
+     * @return 기록한 바이트 수 (줄바꿈 포함)
+     */
+    synchronized long writeRaw(String json) throws IOException {
+        long before = out.count;
+        generator.writeRaw(json);
+        endLine();
+        return out.count - before;
+    }
+
+    private void endLine() throws IOException {
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+
+    /**
+     * 지나간 바이트 수를 세는 출력 스트림 (JsonGenerator가 flush할 때 한꺼번에 들어옴)
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
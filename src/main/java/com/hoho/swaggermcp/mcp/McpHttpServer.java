@@ -0,0 +1,420 @@
+package com.hoho.swaggermcp.mcp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hoho.swaggermcp.concurrent.ThreadPools;
+import com.hoho.swaggermcp.metrics.MetricsHttpHandler;
+import com.hoho.swaggermcp.metrics.ServerMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MCP Streamable HTTP 전송 서버
+ *
+ * JDK 내장 HttpServer로 /mcp 엔드포인트 하나를 제공합니다.
+ * - POST: JSON-RPC 메시지(또는 배열) 처리. 응답은 JSON, Accept가 text/event-stream만이면 SSE로 반환
+ * - GET: 서버 알림(예: notifications/tools/list_changed)용 SSE 스트림 (세션당 하나, 주기적으로 keepalive 주석 전송)
+ * - DELETE: 세션 종료 (진행 중인 Tool 호출 취소)
+ *
+ * initialize 요청마다 세션을 만들고 Mcp-Session-Id 헤더로 돌려주며, 이후 요청은 이 헤더로 세션을 찾습니다.
+ * ToolProvider(파싱된 스펙, HTTP 연결 풀, 응답 캐시)는 모든 세션이 공유합니다.
+ * 동시에 처리 중인 요청 수는 전체 세션 합계로 maxInFlight까지이며, 취소 알림은 한도와 관계없이 바로 처리합니다.
+ *
+ * GET /metrics는 ServerMetrics를 Prometheus 텍스트 형식으로 반환합니다. 요청 파싱 시간과 POST 바디/응답 크기는 "http" 라벨로 기록합니다.
+ */
+public class McpHttpServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpHttpServer.class);
+
+    public static final String DEFAULT_HOST = "127.0.0.1";
+    public static final int DEFAULT_PORT = 3000;
+    public static final String ENDPOINT = "/mcp";
+
+    private static final String TRANSPORT = "http";
+    private static final String SESSION_HEADER = "Mcp-Session-Id";
+    private static final int MAX_BODY_BYTES = 4 * 1024 * 1024;
+    private static final long KEEPALIVE_SECONDS = 25;
+    private static final long SESSION_IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(30);
+
+    // SSE 스트림 종료 신호
+    private static final String END_OF_STREAM = new String("<eos>");
+
+    private final ToolProvider toolProvider;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ToolListCache toolListCache;
+    private final String host;
+    private final int port;
+    private final Semaphore inFlight;
+    private final ServerMetrics metrics = ServerMetrics.shared();
+
+    private final Map<String, McpSession> sessions = new ConcurrentHashMap<>();
+    // 세션 id -> 열려 있는 GET SSE 스트림의 송신 큐
+    private final Map<String, BlockingQueue<String>> streams = new ConcurrentHashMap<>();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private ScheduledExecutorService janitor;
+
+    public McpHttpServer(ToolProvider toolProvider, String host, int port, int maxInFlight) {
+        this.toolProvider = toolProvider;
+        this.host = host;
+        this.port = port;
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+        this.toolListCache = new ToolListCache(toolProvider, objectMapper);
+        toolProvider.setToolListChangedListener(this::broadcastToolListChanged);
+    }
+
+    /**
+     * 서버 시작 (stop이 호출될 때까지 대기)
+     */
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        executor = ThreadPools.newElasticPool("mcp-http");
+        server.setExecutor(executor);
+        server.createContext(ENDPOINT, this::handle);
+        server.createContext(MetricsHttpHandler.ENDPOINT, new MetricsHttpHandler(metrics));
+        server.start();
+
+        janitor = Executors.newSingleThreadScheduledExecutor(ThreadPools.daemonThreadFactory("mcp-session-janitor"));
+        janitor.scheduleWithFixedDelay(this::expireIdleSessions, 1, 1, TimeUnit.MINUTES);
+
+        logger.info("SwaggerMCP HTTP 서버 시작: http://{}:{}{} (최대 동시 처리: {}, 지표: {})",
+            host, server.getAddress().getPort(), ENDPOINT, inFlight.availablePermits(), MetricsHttpHandler.ENDPOINT);
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 서버 종료 (모든 세션의 진행 중인 호출 취소)
+     */
+    public synchronized void stop() {
+        if (server == null || stopped.getCount() == 0) return;
+        janitor.shutdownNow();
+        for (String sessionId : new ArrayList<>(sessions.keySet())) {
+            closeSession(sessionId);
+        }
+        server.stop(1);
+        executor.shutdownNow();
+        stopped.countDown();
+        logger.info("SwaggerMCP HTTP 서버 종료");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!isAllowedOrigin(exchange)) {
+                sendError(exchange, 403, "Forbidden: origin not allowed");
+                return;
+            }
+            switch (exchange.getRequestMethod()) {
+                case "POST":
+                    handlePost(exchange);
+                    break;
+                case "GET":
+                    handleGet(exchange);
+                    break;
+                case "DELETE":
+                    handleDelete(exchange);
+                    break;
+                default:
+                    exchange.getResponseHeaders().set("Allow", "GET, POST, DELETE");
+                    sendError(exchange, 405, "Method not allowed");
+            }
+        } catch (Exception e) {
+            logger.error("HTTP 요청 처리 오류", e);
+            exchange.close();
+        }
+    }
+
+    /**
+     * POST: JSON-RPC 메시지 처리
+     */
+    private void handlePost(HttpExchange exchange) throws IOException, InterruptedException {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readNBytes(MAX_BODY_BYTES + 1);
+        }
+        if (body.length > MAX_BODY_BYTES) {
+            sendError(exchange, 413, "Request body too large");
+            return;
+        }
+
+        metrics.jsonRpcBytesIn().record(TRANSPORT, body.length);
+
+        JsonNode root;
+        List<JsonRpcRequest> messages = new ArrayList<>();
+        long parseStart = System.nanoTime();
+        try {
+            root = objectMapper.readTree(body);
+            if (root == null || !(root.isObject() || root.isArray())) {
+                throw new IllegalArgumentException("JSON-RPC 메시지는 객체 또는 배열이어야 합니다");
+            }
+            for (JsonNode node : root.isArray() ? root : List.of(root)) {
+                messages.add(objectMapper.treeToValue(node, JsonRpcRequest.class));
+            }
+        } catch (Exception e) {
+            logger.error("JSON 파싱 오류", e);
+            sendJson(exchange, 400, JsonRpcResponse.error(null, JsonRpcError.PARSE_ERROR, "JSON 파싱 오류: " + e.getMessage()));
+            return;
+        } finally {
+            metrics.jsonRpcParse().recordNanos(TRANSPORT, System.nanoTime() - parseStart);
+        }
+
+        McpSession session;
+        boolean initialize = messages.stream().anyMatch(m -> "initialize".equals(m.getMethod()));
+        if (initialize) {
+            session = new McpSession(UUID.randomUUID().toString(), toolProvider, objectMapper, toolListCache);
+            sessions.put(session.getId(), session);
+            exchange.getResponseHeaders().set(SESSION_HEADER, session.getId());
+            logger.info("세션 생성: {} (세션 {}개)", session.getId(), sessions.size());
+        } else {
+            session = findSession(exchange);
+            if (session == null) return;
+        }
+
+        // 클라이언트가 보낸 응답(method 없음)과 취소 알림은 바로 처리, 나머지는 동시 처리 한도 안에서 처리
+        List<JsonRpcRequest> requests = new ArrayList<>();
+        for (JsonRpcRequest message : messages) {
+            if (message.getMethod() == null) continue;
+            if (McpSession.CANCELLED_NOTIFICATION.equals(message.getMethod())) {
+                session.handleCancelled(message.getParams());
+            } else {
+                requests.add(message);
+            }
+        }
+        if (requests.isEmpty()) {
+            sendStatus(exchange, 202);
+            return;
+        }
+
+        inFlight.acquire();
+        List<CompletableFuture<JsonRpcResponse>> pending = new ArrayList<>(requests.size());
+        try {
+            for (JsonRpcRequest request : requests) {
+                pending.add(session.dispatchSafely(request));
+            }
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+
+        // 응답은 완료 시점에 콜백 스레드에서 기록하므로 Tool 호출을 기다리는 동안 HTTP 스레드를 점유하지 않음
+        boolean batch = root.isArray();
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+            inFlight.release();
+            try {
+                List<JsonRpcResponse> responses = new ArrayList<>();
+                for (CompletableFuture<JsonRpcResponse> future : pending) {
+                    JsonRpcResponse response = future.isCompletedExceptionally() ? null : future.join();
+                    if (response != null) responses.add(response);
+                }
+                if (responses.isEmpty()) {
+                    sendStatus(exchange, 202);
+                } else if (acceptsOnlyEventStream(exchange)) {
+                    metrics.jsonRpcBytesOut().record(TRANSPORT, sendEvents(exchange, responses));
+                } else {
+                    metrics.jsonRpcBytesOut().record(TRANSPORT, sendJson(exchange, 200, batch ? responses : responses.get(0)));
+                }
+            } catch (Exception e) {
+                logger.error("HTTP 응답 기록 오류", e);
+                exchange.close();
+            }
+        });
+    }
+
+    /**
+     * GET: 서버 알림용 SSE 스트림 (연결이 끊기거나 세션이 끝날 때까지 유지)
+     */
+    private void handleGet(HttpExchange exchange) throws IOException {
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        if (accept == null || !accept.contains("text/event-stream")) {
+            sendError(exchange, 405, "GET requires Accept: text/event-stream");
+            return;
+        }
+        McpSession session = findSession(exchange);
+        if (session == null) return;
+
+        BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+        BlockingQueue<String> previous = streams.put(session.getId(), queue);
+        if (previous != null) previous.add(END_OF_STREAM);
+        session.setNotificationSink(queue::add);
+
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        logger.info("SSE 스트림 연결: 세션 {}", session.getId());
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(": connected\n\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            while (true) {
+                String message = queue.poll(KEEPALIVE_SECONDS, TimeUnit.SECONDS);
+                if (message == END_OF_STREAM) break;
+                String event = message == null ? ": keepalive\n\n" : "event: message\ndata: " + message + "\n\n";
+                out.write(event.getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                session.touch();
+            }
+        } catch (IOException e) {
+            logger.debug("SSE 스트림 끊김: 세션 {}", session.getId());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (streams.remove(session.getId(), queue)) {
+                session.setNotificationSink(null);
+            }
+            logger.info("SSE 스트림 종료: 세션 {}", session.getId());
+        }
+    }
+
+    /**
+     * DELETE: 세션 종료
+     */
+    private void handleDelete(HttpExchange exchange) throws IOException {
+        McpSession session = findSession(exchange);
+        if (session == null) return;
+        closeSession(session.getId());
+        sendStatus(exchange, 204);
+    }
+
+    /**
+     * Mcp-Session-Id 헤더로 세션 조회 (없으면 400, 모르는 세션이면 404 응답 후 null)
+     */
+    private McpSession findSession(HttpExchange exchange) throws IOException {
+        String sessionId = exchange.getRequestHeaders().getFirst(SESSION_HEADER);
+        if (sessionId == null || sessionId.isBlank()) {
+            sendError(exchange, 400, "Bad Request: missing " + SESSION_HEADER + " header");
+            return null;
+        }
+        McpSession session = sessions.get(sessionId);
+        if (session == null) {
+            sendError(exchange, 404, "Session not found");
+            return null;
+        }
+        session.touch();
+        return session;
+    }
+
+    private void closeSession(String sessionId) {
+        McpSession session = sessions.remove(sessionId);
+        if (session == null) return;
+        session.setNotificationSink(null);
+        session.cancelAll();
+        BlockingQueue<String> stream = streams.remove(sessionId);
+        if (stream != null) stream.add(END_OF_STREAM);
+        logger.info("세션 종료: {} (세션 {}개)", sessionId, sessions.size());
+    }
+
+    /**
+     * 모든 세션에 Tool 목록 변경 알림 (GET SSE 스트림이 열린 세션만 받음)
+     */
+    private void broadcastToolListChanged() {
+        logger.info("Tool 목록 변경 알림: 세션 {}개", sessions.size());
+        for (McpSession session : sessions.values()) {
+            session.sendNotification(McpSession.TOOLS_LIST_CHANGED_NOTIFICATION, null);
+        }
+    }
+
+    /**
+     * 오래 사용하지 않은 세션 정리 (진행 중인 호출이 있으면 유지)
+     */
+    private void expireIdleSessions() {
+        for (McpSession session : sessions.values()) {
+            if (session.getInFlightCount() == 0 && session.idleNanos() > SESSION_IDLE_TIMEOUT_NANOS) {
+                logger.info("유휴 세션 만료: {}", session.getId());
+                closeSession(session.getId());
+            }
+        }
+    }
+
+    /**
+     * DNS 리바인딩 방지: 루프백에 바인딩했으면 로컬 Origin만 허용 (Origin이 없으면 브라우저 요청이 아님)
+     */
+    private boolean isAllowedOrigin(HttpExchange exchange) {
+        String origin = exchange.getRequestHeaders().getFirst("Origin");
+        if (origin == null || !isLoopback(host)) return true;
+        try {
+            String originHost = URI.create(origin).getHost();
+            return originHost != null && (originHost.equals("localhost") || isLoopback(originHost));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean isLoopback(String address) {
+        try {
+            return InetAddress.getByName(address).isLoopbackAddress();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean acceptsOnlyEventStream(HttpExchange exchange) {
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        return accept != null && accept.contains("text/event-stream") && !accept.contains("application/json");
+    }
+
+    /**
+     * @return 보낸 바디 바이트 수
+     */
+    private int sendJson(HttpExchange exchange, int status, Object payload) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(payload);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+        return bytes.length;
+    }
+
+    private int sendEvents(HttpExchange exchange, List<JsonRpcResponse> responses) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (JsonRpcResponse response : responses) {
+            sb.append("event: message\ndata: ").append(objectMapper.writeValueAsString(response)).append("\n\n");
+        }
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+        return bytes.length;
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        sendJson(exchange, status, JsonRpcResponse.error(null, JsonRpcError.INVALID_REQUEST, message));
+    }
+
+    private static void sendStatus(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+}
@@ -141,6 +141,7 @@ public class McpModels {
         private String type;
         private String description;
         private List<String> enumValues;
+        private PropertySchema items;  // type이 array일 때 요소 스키마
 
         public PropertySchema() {}
 
@@ -155,6 +156,8 @@ public class McpModels {
         public void setDescription(String description) { this.description = description; }
         public List<String> getEnumValues() { return enumValues; }
         public void setEnumValues(List<String> enumValues) { this.enumValues = enumValues; }
+        public PropertySchema getItems() { return items; }
+        public void setItems(PropertySchema items) { this.items = items; }
     }
 
     @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -1,13 +1,19 @@
 package com.hoho.swaggermcp.mcp;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.hoho.swaggermcp.concurrent.ThreadPools;
+import com.hoho.swaggermcp.metrics.ServerMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * MCP 서버 핵심 클래스
@@ -18,143 +24,223 @@ import java.io.PrintWriter;
  * 1. Claude Code가 stdin으로 JSON-RPC 요청 전송
  * 2. McpServer가 요청을 파싱하고 처리
  * 3. stdout으로 JSON-RPC 응답 반환
+ *
+ * 동시 처리 모드 (maxInFlight > 1):
+ * - 리더 스레드가 stdin을 읽어 요청을 작업자 풀에 넘김 (Java 21+ 가상 스레드, 17은 고정 크기 풀)
+ * - 단일 라이터 스레드가 완료된 응답을 stdout에 순서대로 기록
+ * - 응답은 완료 순서대로 나가며, 클라이언트는 JSON-RPC id로 요청과 매칭
+ * - 동시에 처리 중인 요청 수는 maxInFlight로 제한 (초과 시 리더가 대기)
+ * - tools/call은 ToolProvider.callToolAsync로 호출하므로 외부 API 응답을 기다리는 동안 작업자 스레드를 점유하지 않음
+ *
+ * 취소: notifications/cancelled를 받으면 해당 id의 진행 중인 tools/call future를 취소하고 응답은 보내지 않습니다.
+ * 리더 스레드가 바로 처리하므로 동시 처리 한도가 찬 상태에서도 취소할 수 있습니다.
+ *
+ * 프레이밍: stdin을 바이트 그대로 줄 단위로 나눠 재사용하는 ObjectReader로 파싱하고(JsonLineReader),
+ * 응답은 문자열을 거치지 않고 JsonGenerator로 버퍼링된 stdout에 바로 씁니다.(JsonLineWriter)
+ *
+ * 스펙이 갱신되어 Tool 목록이 바뀌면 notifications/tools/list_changed를 보냅니다.
+ *
+ * 요청 파싱 시간과 요청/응답 메시지 크기는 ServerMetrics에 "stdio" 라벨로 기록합니다.
+ *
+ * 프로토콜 처리는 McpSession이 담당하며, stdio는 클라이언트가 하나이므로 세션도 하나입니다.
+ * HTTP 전송은 McpHttpServer를 참고하세요.
  */
 public class McpServer {
 
     private static final Logger logger = LoggerFactory.getLogger(McpServer.class);
 
-    private final ToolProvider toolProvider;
-    private final ObjectMapper objectMapper;
-    private final BufferedReader reader;
-    private final PrintWriter writer;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
+    // 라이터 스레드 종료 신호
+    private static final Object END_OF_STREAM = new Object();
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final String TRANSPORT = "stdio";
+
+    private final McpSession session;
+    private final ObjectReader requestReader;
+    private final JsonLineReader reader;
+    private final JsonLineWriter writer;
+    private final int maxInFlight;
+    private final ServerMetrics metrics = ServerMetrics.shared();
 
     public McpServer(ToolProvider toolProvider) {
-        this.toolProvider = toolProvider;
-        this.objectMapper = new ObjectMapper();
-        this.reader = new BufferedReader(new InputStreamReader(System.in));
-        this.writer = new PrintWriter(System.out, true);
+        this(toolProvider, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * @param maxInFlight 동시에 처리할 최대 요청 수 (1 이하이면 순차 처리)
+     */
+    public McpServer(ToolProvider toolProvider, int maxInFlight) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        this.requestReader = objectMapper.readerFor(JsonRpcRequest.class);
+        this.session = new McpSession("stdio", toolProvider, objectMapper);
+        toolProvider.setToolListChangedListener(
+            () -> session.sendNotification(McpSession.TOOLS_LIST_CHANGED_NOTIFICATION, null));
+        this.reader = new JsonLineReader(System.in);
+        this.writer = new JsonLineWriter(new BufferedOutputStream(System.out, OUTPUT_BUFFER_SIZE), objectMapper);
+        this.maxInFlight = maxInFlight;
     }
 
     /**
      * MCP 서버 메인 루프 시작
      */
     public void start() {
-        logger.info("SwaggerMCP 서버 시작...");
-
-        String line;
-        try {
-            while ((line = reader.readLine()) != null) {
-                if (line.isBlank()) continue;
+        logger.info("SwaggerMCP 서버 시작... (최대 동시 처리: {})", maxInFlight);
 
-                logger.debug("수신: {}", line);
-                JsonRpcResponse response = processRequest(line);
-
-                if (response != null) {
-                    String responseJson = objectMapper.writeValueAsString(response);
-                    logger.debug("송신: {}", responseJson);
-                    writer.println(responseJson);
-                    writer.flush();
-                    System.out.flush();
-                }
-            }
-        } catch (Exception e) {
-            logger.error("서버 실행 중 오류 발생", e);
+        if (maxInFlight <= 1) {
+            runSerial();
+        } else {
+            runConcurrent();
         }
 
         logger.info("SwaggerMCP 서버 종료");
     }
 
     /**
-     * JSON-RPC 요청 처리
+     * 순차 처리 루프: 한 요청이 끝나야 다음 줄을 읽음
      */
-    private JsonRpcResponse processRequest(String line) {
-        JsonRpcRequest request;
+    private void runSerial() {
+        session.setNotificationSink(this::write);
         try {
-            request = objectMapper.readValue(line, JsonRpcRequest.class);
-        } catch (Exception e) {
-            logger.error("JSON 파싱 오류", e);
-            return JsonRpcResponse.error(null, JsonRpcError.PARSE_ERROR, "JSON 파싱 오류: " + e.getMessage());
-        }
-
-        logger.info("메서드 호출: {}", request.getMethod());
-
-        try {
-            Object result = handleMethod(request);
+            while (reader.next()) {
+                if (reader.isBlank()) continue;
+
+                JsonRpcResponse response;
+                try {
+                    response = session.dispatchSafely(readRequest()).join();
+                } catch (IOException e) {
+                    response = parseError(e);
+                }
 
-            if (result == null) {
-                return null;  // 알림 메시지는 응답 없음
+                if (response != null) {
+                    write(response);
+                }
             }
-
-            return JsonRpcResponse.success(request.getId(), result);
         } catch (Exception e) {
-            logger.error("메서드 처리 중 오류: {}", request.getMethod(), e);
-            return JsonRpcResponse.error(request.getId(), JsonRpcError.INTERNAL_ERROR, e.getMessage());
+            logger.error("서버 실행 중 오류 발생", e);
         }
     }
 
     /**
-     * 메서드별 처리
+     * 동시 처리 루프: 리더(현재 스레드) -> 작업자 풀 -> 단일 라이터 스레드
      */
-    private Object handleMethod(JsonRpcRequest request) throws Exception {
-        String method = request.getMethod();
-
-        switch (method) {
-            case "initialize":
-                return handleInitialize();
+    private void runConcurrent() {
+        BlockingQueue<Object> outbound = new LinkedBlockingQueue<>();
+        Thread writerThread = new Thread(() -> writeLoop(outbound), "mcp-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        session.setNotificationSink(outbound::add);
 
-            case "initialized":
-            case "notifications/initialized":
-                // 알림이므로 응답 없음
-                logger.debug("알림 수신: {}", method);
-                return null;
+        ExecutorService workers = ThreadPools.newWorkerPool("mcp-worker", maxInFlight);
+        Semaphore inFlight = new Semaphore(maxInFlight);
 
-            case "tools/list":
-                return handleListTools();
-
-            case "tools/call":
-                return handleCallTool(request.getParams());
+        try {
+            while (reader.next()) {
+                if (reader.isBlank()) continue;
+
+                JsonRpcRequest request;
+                try {
+                    request = readRequest();
+                } catch (IOException e) {
+                    outbound.add(parseError(e));
+                    continue;
+                }
 
-            case "ping":
-                return "pong";
+                // 취소 알림은 동시 처리 한도와 관계없이 바로 처리
+                if (McpSession.CANCELLED_NOTIFICATION.equals(request.getMethod())) {
+                    session.handleCancelled(request.getParams());
+                    continue;
+                }
 
-            default:
-                // 알 수 없는 메서드도 알림일 수 있으므로 id가 없으면 무시
-                if (request.getId() == null) {
-                    logger.debug("알 수 없는 알림 무시: {}", method);
-                    return null;
+                inFlight.acquire();
+                try {
+                    workers.execute(() -> {
+                        // 비동기 Tool은 완료될 때 응답을 기록하고 처리 한도를 반납 (실패하면 INTERNAL_ERROR 응답)
+                        session.dispatchSafely(request).whenComplete((response, error) -> {
+                            try {
+                                if (response != null) {
+                                    outbound.add(response);
+                                }
+                            } finally {
+                                inFlight.release();
+                            }
+                        });
+                    });
+                } catch (RuntimeException e) {
+                    inFlight.release();
+                    throw e;
                 }
-                logger.warn("알 수 없는 메서드: {}", method);
-                throw new IllegalArgumentException("Unknown method: " + method);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("요청 수신 중단");
+        } catch (Exception e) {
+            logger.error("서버 실행 중 오류 발생", e);
+        }
+
+        // stdin 종료: 처리 중인 요청(비동기 Tool 포함)을 마저 끝내고 응답을 모두 기록한 뒤 종료
+        workers.shutdown();
+        try {
+            if (!inFlight.tryAcquire(maxInFlight, 60, TimeUnit.SECONDS)) {
+                logger.warn("처리 중인 요청이 시간 내에 끝나지 않음");
+                session.cancelAll();
+                workers.shutdownNow();
+            }
+            outbound.add(END_OF_STREAM);
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
     /**
-     * initialize 메서드 처리
+     * 현재 줄을 JSON-RPC 요청으로 파싱 (줄 버퍼에서 바로 읽음)
      */
-    private McpModels.InitializeResult handleInitialize() {
-        logger.info("클라이언트 초기화 요청");
-        return new McpModels.InitializeResult();
+    private JsonRpcRequest readRequest() throws IOException {
+        if (logger.isDebugEnabled()) {
+            logger.debug("수신: {}", reader);
+        }
+        long start = System.nanoTime();
+        try {
+            return requestReader.readValue(reader.array(), reader.offset(), reader.length());
+        } finally {
+            metrics.jsonRpcParse().recordNanos(TRANSPORT, System.nanoTime() - start);
+            metrics.jsonRpcBytesIn().record(TRANSPORT, reader.length());
+        }
     }
 
-    /**
-     * tools/list 메서드 처리
-     */
-    private McpModels.ListToolsResult handleListTools() {
-        logger.info("도구 목록 요청");
-        return new McpModels.ListToolsResult(toolProvider.getTools());
+    private static JsonRpcResponse parseError(IOException e) {
+        logger.error("JSON 파싱 오류", e);
+        return JsonRpcResponse.error(null, JsonRpcError.PARSE_ERROR, "JSON 파싱 오류: " + e.getMessage());
     }
 
     /**
-     * tools/call 메서드 처리
+     * 라이터 스레드: 완료된 응답(또는 직렬화된 알림)을 하나씩 stdout에 기록
      */
-    private McpModels.CallToolResult handleCallTool(JsonNode params) throws Exception {
-        if (params == null) {
-            throw new IllegalArgumentException("params가 필요합니다");
+    private void writeLoop(BlockingQueue<Object> outbound) {
+        try {
+            while (true) {
+                Object message = outbound.take();
+                if (message == END_OF_STREAM) break;
+                write(message);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+    }
 
-        McpModels.CallToolParams callParams = objectMapper.treeToValue(params, McpModels.CallToolParams.class);
-        logger.info("도구 호출: {}", callParams.getName());
-
-        return toolProvider.callTool(callParams.getName(), callParams.getArguments());
+    private void write(Object message) {
+        try {
+            long bytes;
+            if (message instanceof JsonRpcResponse) {
+                bytes = writer.write((JsonRpcResponse) message);
+            } else {
+                bytes = writer.writeRaw((String) message);
+            }
+            metrics.jsonRpcBytesOut().record(TRANSPORT, bytes);
+            logger.debug("송신: {}", message instanceof JsonRpcResponse ? "응답 id=" + ((JsonRpcResponse) message).getId() : message);
+        } catch (IOException e) {
+            logger.error("응답 기록 오류", e);
+        }
     }
 }
@@ -0,0 +1,273 @@
+package com.hoho.swaggermcp.mcp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.hoho.swaggermcp.metrics.ServerMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * MCP 세션 (클라이언트 하나의 프로토콜 상태)
+ *
+ * JSON-RPC 메서드 처리와 진행 중인 tools/call 추적을 담당하며 전송 방식(stdio, HTTP)과는 무관합니다.
+ * ToolProvider(파싱된 스펙, HTTP 연결 풀)는 모든 세션이 공유하고, 요청 id와 취소 상태는 세션별로 따로 둡니다.
+ * tools/call 처리 시간은 Tool 이름별로 ServerMetrics에 기록합니다. (취소된 호출 제외)
+ */
+public class McpSession {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpSession.class);
+
+    public static final String CANCELLED_NOTIFICATION = "notifications/cancelled";
+    public static final String TOOLS_LIST_CHANGED_NOTIFICATION = "notifications/tools/list_changed";
+
+    private final String id;
+    private final ToolProvider toolProvider;
+    private final ObjectMapper objectMapper;
+    private final ToolListCache toolListCache;
+    private final ObjectReader callParamsReader;
+    private final ServerMetrics metrics = ServerMetrics.shared();
+
+    // 진행 중인 tools/call (요청 id -> 결과 future), 취소 알림 처리용
+    private final ConcurrentHashMap<JsonNode, CompletableFuture<McpModels.CallToolResult>> inFlightCalls =
+        new ConcurrentHashMap<>();
+
+    // 서버가 먼저 보내는 알림을 전달할 곳 (stdio는 stdout, HTTP는 GET SSE 스트림, 없으면 버림)
+    private volatile Consumer<String> notificationSink;
+    private volatile long lastAccessNanos = System.nanoTime();
+    private volatile String clientName;
+
+    public McpSession(String id, ToolProvider toolProvider, ObjectMapper objectMapper) {
+        this(id, toolProvider, objectMapper, new ToolListCache(toolProvider, objectMapper));
+    }
+
+    McpSession(String id, ToolProvider toolProvider, ObjectMapper objectMapper, ToolListCache toolListCache) {
+        this.id = id;
+        this.toolProvider = toolProvider;
+        this.objectMapper = objectMapper;
+        this.toolListCache = toolListCache;
+        this.callParamsReader = objectMapper.readerFor(McpModels.CallToolParams.class);
+    }
+
+    /**
+     * 파싱된 요청 처리 (tools/call은 비동기, 나머지는 바로 처리)
+     */
+    public CompletableFuture<JsonRpcResponse> dispatch(JsonRpcRequest request) {
+        touch();
+        logger.info("메서드 호출: {}", request.getMethod());
+
+        if ("tools/call".equals(request.getMethod())) {
+            return handleCallTool(request);
+        }
+
+        try {
+            Object result = handleMethod(request);
+
+            if (result == null) {
+                return CompletableFuture.completedFuture(null);  // 알림 메시지는 응답 없음
+            }
+
+            return CompletableFuture.completedFuture(JsonRpcResponse.success(request.getId(), result));
+        } catch (Exception e) {
+            logger.error("메서드 처리 중 오류: {}", request.getMethod(), e);
+            return CompletableFuture.completedFuture(
+                JsonRpcResponse.error(request.getId(), JsonRpcError.INTERNAL_ERROR, e.getMessage()));
+        }
+    }
+
+    /**
+     * 요청 처리 (실패하지 않는 버전, 전송 루프에서 사용)
+     *
+     * dispatch나 완료 콜백에서 예외/Error가 나도 실패한 future 대신 요청 id로 INTERNAL_ERROR 응답을 돌려주므로
+     * 클라이언트가 응답을 무한히 기다리거나 읽기 루프가 끝나지 않습니다. (알림이면 응답 없이 null)
+     */
+    public CompletableFuture<JsonRpcResponse> dispatchSafely(JsonRpcRequest request) {
+        CompletableFuture<JsonRpcResponse> pending;
+        try {
+            pending = dispatch(request);
+        } catch (RuntimeException | Error e) {
+            pending = CompletableFuture.failedFuture(e);
+        }
+        return pending.exceptionally(error -> internalError(request, error));
+    }
+
+    private static JsonRpcResponse internalError(JsonRpcRequest request, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        logger.error("요청 처리 오류: {}", request.getMethod(), cause);
+        if (request.getId() == null) return null;
+        String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        return JsonRpcResponse.error(request.getId(), JsonRpcError.INTERNAL_ERROR, message);
+    }
+
+    /**
+     * 메서드별 처리
+     */
+    private Object handleMethod(JsonRpcRequest request) throws Exception {
+        String method = request.getMethod();
+
+        switch (method) {
+            case "initialize":
+                return handleInitialize(request.getParams());
+
+            case "initialized":
+            case "notifications/initialized":
+                // 알림이므로 응답 없음
+                logger.debug("알림 수신: {}", method);
+                toolProvider.onInitialized();
+                return null;
+
+            case "tools/list":
+                return handleListTools();
+
+            case "ping":
+                return "pong";
+
+            case CANCELLED_NOTIFICATION:
+                handleCancelled(request.getParams());
+                return null;
+
+            default:
+                // 알 수 없는 메서드도 알림일 수 있으므로 id가 없으면 무시
+                if (request.getId() == null) {
+                    logger.debug("알 수 없는 알림 무시: {}", method);
+                    return null;
+                }
+                logger.warn("알 수 없는 메서드: {}", method);
+                throw new IllegalArgumentException("Unknown method: " + method);
+        }
+    }
+
+    /**
+     * initialize 메서드 처리
+     */
+    private McpModels.InitializeResult handleInitialize(JsonNode params) {
+        JsonNode clientInfo = params != null ? params.get("clientInfo") : null;
+        clientName = clientInfo != null && clientInfo.hasNonNull("name") ? clientInfo.get("name").asText() : null;
+        logger.info("클라이언트 초기화 요청: 세션 {}{}", id, clientName != null ? " (" + clientName + ")" : "");
+        return new McpModels.InitializeResult();
+    }
+
+    /**
+     * tools/list 메서드 처리 (목록이 바뀌지 않았으면 직렬화해 둔 JSON 사용)
+     */
+    private RawValue handleListTools() throws Exception {
+        logger.info("도구 목록 요청");
+        return toolListCache.get();
+    }
+
+    /**
+     * tools/call 메서드 처리
+     *
+     * 완료될 때까지 요청 id로 future를 등록해 두어 notifications/cancelled로 취소할 수 있게 합니다.
+     * 취소된 요청에는 응답하지 않습니다.
+     */
+    private CompletableFuture<JsonRpcResponse> handleCallTool(JsonRpcRequest request) {
+        JsonNode requestId = request.getId();
+        long start = System.nanoTime();
+        String toolName;
+        CompletableFuture<McpModels.CallToolResult> call;
+        try {
+            if (request.getParams() == null) {
+                throw new IllegalArgumentException("params가 필요합니다");
+            }
+            McpModels.CallToolParams callParams = callParamsReader.readValue(request.getParams());
+            toolName = callParams.getName();
+            logger.info("도구 호출: {}", toolName);
+            call = toolProvider.callToolAsync(toolName, callParams.getArguments());
+        } catch (Exception e) {
+            logger.error("메서드 처리 중 오류: tools/call", e);
+            return CompletableFuture.completedFuture(
+                JsonRpcResponse.error(requestId, JsonRpcError.INTERNAL_ERROR, e.getMessage()));
+        }
+
+        if (requestId != null && !call.isDone()) {
+            inFlightCalls.put(requestId, call);
+        }
+        return call.handle((result, error) -> {
+            if (requestId != null) inFlightCalls.remove(requestId, call);
+            if (call.isCancelled()) {
+                return null;
+            }
+            metrics.toolDispatch().recordNanos(toolName, System.nanoTime() - start);
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                logger.error("메서드 처리 중 오류: tools/call", cause);
+                return JsonRpcResponse.error(requestId, JsonRpcError.INTERNAL_ERROR, cause.getMessage());
+            }
+            return JsonRpcResponse.success(requestId, result);
+        });
+    }
+
+    /**
+     * notifications/cancelled 처리: 진행 중인 tools/call 취소
+     */
+    public void handleCancelled(JsonNode params) {
+        JsonNode requestId = params != null ? params.get("requestId") : null;
+        if (requestId == null) return;
+
+        CompletableFuture<McpModels.CallToolResult> call = inFlightCalls.get(requestId);
+        String reason = params.hasNonNull("reason") ? params.get("reason").asText() : "-";
+        if (call != null && call.cancel(true)) {
+            logger.info("요청 취소: 세션 {} id={} (사유: {})", id, requestId, reason);
+        } else {
+            logger.debug("취소할 요청 없음 (이미 완료됨): id={}", requestId);
+        }
+    }
+
+    /**
+     * 진행 중인 모든 tools/call 취소 (세션 종료 시)
+     */
+    public void cancelAll() {
+        inFlightCalls.values().forEach(call -> call.cancel(true));
+    }
+
+    /**
+     * 서버 알림 전송 (알림을 받을 곳이 없으면 버림)
+     */
+    public void sendNotification(String method, JsonNode params) {
+        Consumer<String> sink = notificationSink;
+        if (sink == null) {
+            logger.debug("알림을 받을 스트림이 없어 버림: 세션 {} {}", id, method);
+            return;
+        }
+        ObjectNode message = objectMapper.createObjectNode();
+        message.put("jsonrpc", "2.0");
+        message.put("method", method);
+        if (params != null) message.set("params", params);
+        sink.accept(message.toString());
+    }
+
+    public void setNotificationSink(Consumer<String> notificationSink) {
+        this.notificationSink = notificationSink;
+    }
+
+    public void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+
+    /**
+     * 마지막 요청 이후 지난 시간 (나노초)
+     */
+    public long idleNanos() {
+        return System.nanoTime() - lastAccessNanos;
+    }
+
+    public int getInFlightCount() {
+        return inFlightCalls.size();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+}
@@ -0,0 +1,51 @@
+package com.hoho.swaggermcp.mcp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import java.util.List;
+
+/**
+ * 직렬화된 tools/list 결과 캐시
+ *
+ * ToolProvider.getTools()가 같은 리스트 인스턴스를 돌려주는 동안은 처음 직렬화한 JSON을 그대로 응답에 넣습니다.
+ * (RawValue라 응답을 직렬화할 때 다시 변환하지 않음) 목록이 바뀌면 ToolProvider가 새 리스트를 돌려주므로 그때 다시 직렬화합니다.
+ * HTTP 전송에서는 모든 세션이 하나의 캐시를 공유합니다.
+ */
+final class ToolListCache {
+
+    private final ToolProvider toolProvider;
+    private final ObjectMapper objectMapper;
+    private volatile Entry entry;
+
+    ToolListCache(ToolProvider toolProvider, ObjectMapper objectMapper) {
+        this.toolProvider = toolProvider;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * tools/list 결과 (이미 직렬화된 JSON)
+     */
+    RawValue get() throws JsonProcessingException {
+        List<McpModels.Tool> tools = toolProvider.getTools();
+        Entry current = entry;
+        if (current != null && current.tools == tools) {
+            return current.json;
+        }
+
+        RawValue json = new RawValue(objectMapper.writeValueAsString(new McpModels.ListToolsResult(tools)));
+        entry = new Entry(tools, json);
+        return json;
+    }
+
+    private static final class Entry {
+        final List<McpModels.Tool> tools;
+        final RawValue json;
+
+        Entry(List<McpModels.Tool> tools, RawValue json) {
+            this.tools = tools;
+            this.json = json;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.hoho.swaggermcp.mcp;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Tool 제공자 인터페이스
@@ -13,6 +14,8 @@ public interface ToolProvider {
 
     /**
      * 사용 가능한 모든 Tool 목록 반환
+     *
+     * 목록이 바뀌지 않았으면 같은 리스트 인스턴스를 돌려주는 것이 좋습니다. 서버는 인스턴스가 같으면 직렬화한 JSON을 재사용합니다.
      */
     List<McpModels.Tool> getTools();
 
@@ -24,4 +27,33 @@ public interface ToolProvider {
      * @return 호출 결과
      */
     McpModels.CallToolResult callTool(String name, JsonNode arguments);
+
+    /**
+     * Tool 비동기 호출
+     *
+     * McpServer는 이 메서드로 Tool을 호출하고, 클라이언트가 notifications/cancelled를 보내면
+     * 반환된 future를 취소합니다. 기본 구현은 callTool을 바로 실행합니다. (취소할 수 없음)
+     */
+    default CompletableFuture<McpModels.CallToolResult> callToolAsync(String name, JsonNode arguments) {
+        return CompletableFuture.completedFuture(callTool(name, arguments));
+    }
+
+    /**
+     * 클라이언트 초기화 완료 알림 (notifications/initialized) 수신 시 호출
+     *
+     * 핸드셰이크 이후에 해도 되는 준비 작업(예: 백그라운드 워밍업)을 시작할 수 있습니다.
+     */
+    default void onInitialized() {}
+
+    /**
+     * Tool 목록(또는 Tool이 다루는 API)이 바뀌었을 때 호출할 리스너 등록
+     *
+     * 서버는 리스너에서 notifications/tools/list_changed를 보냅니다. 기본 구현은 목록이 바뀌지 않으므로 무시합니다.
+     */
+    default void setToolListChangedListener(Runnable listener) {}
+
+    /**
+     * 서버 종료 시 호출 (HTTP 연결 등 자원 정리)
+     */
+    default void close() {}
 }
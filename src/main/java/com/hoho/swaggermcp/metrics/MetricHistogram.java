@@ -0,0 +1,55 @@
+package com.hoho.swaggermcp.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 값 분포 하나 (HdrHistogram Recorder 기반)
+ *
+ * 기록은 잠금 없이(wait-free) 처리되고, 조회할 때만 구간 히스토그램을 누적 히스토그램에 합칩니다.
+ * 유효 숫자 2자리(상대 오차 1% 이하)로 기록하며, 히스토그램은 기록된 값 범위에 맞춰 필요할 때만 커집니다.
+ */
+public class MetricHistogram {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final LongAdder sum = new LongAdder();
+
+    // 조회 쪽 상태 (snapshot/reset에서만 접근)
+    private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+    private Histogram interval;
+
+    /**
+     * 값 기록 (음수는 0으로 기록)
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        recorder.recordValue(clamped);
+        sum.add(clamped);
+    }
+
+    /**
+     * 지금까지 기록된 값 전체의 분포 (복사본)
+     */
+    public synchronized Histogram snapshot() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        return total.copy();
+    }
+
+    /**
+     * 기록된 값의 합계 (Prometheus _sum용, 히스토그램 평균보다 정확)
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public synchronized void reset() {
+        recorder.reset();
+        total.reset();
+        sum.reset();
+    }
+}
@@ -0,0 +1,349 @@
+package com.hoho.swaggermcp.metrics;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * 서버 지표 모음 (프로세스 전체에서 공유)
+ *
+ * 단계별로 라벨(전송 방식, Tool 이름, "API/operationId")마다 분포를 하나씩 둡니다.
+ * - jsonrpc_parse: JSON-RPC 요청 파싱 시간
+ * - tool_dispatch: tools/call 처리 시간 (요청 해석부터 결과 생성까지)
+ * - upstream_http: 업스트림 요청 전송부터 응답 헤더 수신까지 (디스패처 대기 포함)
+ * - response_format: 응답 바디를 읽으며 포맷팅한 시간 (바디 수신 시간 포함)
+ * - upstream/jsonrpc 요청·응답 바이트 수
+ * - upstream_limit_wait: 요청률/동시 실행 제한 때문에 업스트림 요청 전에 기다린 시간
+ * 시간은 마이크로초, 크기는 바이트로 기록합니다.
+ *
+ * 분포 외에 현재 값을 읽어 오는 게이지/카운터(예: API별 동시 실행 한도, 대기 수, 거절 수)도 등록할 수 있습니다.
+ * 값은 출력할 때마다 supplier에서 읽으며 reset()의 영향을 받지 않습니다.
+ */
+public final class ServerMetrics {
+
+    /** 라벨 수 상한 (넘으면 OVERFLOW_LABEL로 합산) */
+    static final int MAX_LABELS = 512;
+    static final String OVERFLOW_LABEL = "(other)";
+
+    private static final String PROMETHEUS_PREFIX = "swaggermcp_";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private static final ServerMetrics SHARED = new ServerMetrics();
+
+    public enum Unit { SECONDS, BYTES }
+
+    private final Family jsonRpcParse = new Family("jsonrpc_parse_seconds", "transport", Unit.SECONDS,
+        "JSON-RPC parse", "JSON-RPC 요청 파싱 시간");
+    private final Family toolDispatch = new Family("tool_dispatch_seconds", "tool", Unit.SECONDS,
+        "Tool dispatch (tools/call)", "tools/call 처리 시간");
+    private final Family upstreamHttp = new Family("upstream_http_seconds", "operation", Unit.SECONDS,
+        "Upstream HTTP (until response headers)", "업스트림 요청 전송부터 응답 헤더 수신까지 걸린 시간");
+    private final Family responseFormat = new Family("response_format_seconds", "operation", Unit.SECONDS,
+        "Response formatting (includes body read)", "응답 바디 수신 및 포맷팅 시간");
+    private final Family upstreamBytesIn = new Family("upstream_response_bytes", "operation", Unit.BYTES,
+        "Upstream response body", "업스트림 응답 바디 크기");
+    private final Family upstreamBytesOut = new Family("upstream_request_bytes", "operation", Unit.BYTES,
+        "Upstream request body", "업스트림 요청 바디 크기");
+    private final Family jsonRpcBytesIn = new Family("jsonrpc_request_bytes", "transport", Unit.BYTES,
+        "JSON-RPC request", "JSON-RPC 요청 메시지 크기");
+    private final Family jsonRpcBytesOut = new Family("jsonrpc_response_bytes", "transport", Unit.BYTES,
+        "JSON-RPC response", "JSON-RPC 응답 메시지 크기");
+    private final Family upstreamLimitWait = new Family("upstream_limit_wait_seconds", "api", Unit.SECONDS,
+        "Upstream limiter wait (rate + concurrency queue)", "요청률/동시 실행 제한으로 업스트림 요청 전에 기다린 시간");
+
+    private final List<Family> families = List.of(
+        jsonRpcParse, toolDispatch, upstreamHttp, responseFormat,
+        upstreamBytesIn, upstreamBytesOut, jsonRpcBytesIn, jsonRpcBytesOut, upstreamLimitWait);
+
+    // 이름{라벨} -> 게이지 (출력 시 이름순으로 묶음)
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+
+    private volatile Instant since = Instant.now();
+
+    ServerMetrics() {}
+
+    public static ServerMetrics shared() {
+        return SHARED;
+    }
+
+    public Family jsonRpcParse() {
+        return jsonRpcParse;
+    }
+
+    public Family toolDispatch() {
+        return toolDispatch;
+    }
+
+    public Family upstreamHttp() {
+        return upstreamHttp;
+    }
+
+    public Family responseFormat() {
+        return responseFormat;
+    }
+
+    public Family upstreamBytesIn() {
+        return upstreamBytesIn;
+    }
+
+    public Family upstreamBytesOut() {
+        return upstreamBytesOut;
+    }
+
+    public Family jsonRpcBytesIn() {
+        return jsonRpcBytesIn;
+    }
+
+    public Family jsonRpcBytesOut() {
+        return jsonRpcBytesOut;
+    }
+
+    public Family upstreamLimitWait() {
+        return upstreamLimitWait;
+    }
+
+    /**
+     * 게이지 등록 (같은 이름과 라벨로 다시 등록하면 교체)
+     *
+     * @param name Prometheus 이름 (접두사 제외)
+     * @param value 출력할 때마다 읽을 현재 값
+     */
+    public void gauge(String name, String help, String labelName, String label, DoubleSupplier value) {
+        register(new Gauge(name, help, "gauge", labelName, label, value));
+    }
+
+    /**
+     * 누적 카운터 등록 (값은 줄어들지 않아야 함, 이름은 _total로 끝나도록)
+     */
+    public void counter(String name, String help, String labelName, String label, DoubleSupplier value) {
+        register(new Gauge(name, help, "counter", labelName, label, value));
+    }
+
+    private void register(Gauge gauge) {
+        gauges.put(gauge.name + '{' + gauge.label, gauge);
+    }
+
+    /**
+     * 모든 분포 초기화
+     */
+    public void reset() {
+        for (Family family : families) {
+            family.reset();
+        }
+        since = Instant.now();
+    }
+
+    /**
+     * server_metrics Tool 출력 (Markdown 표)
+     *
+     * @param filter 라벨에 이 문자열이 들어간 항목만 (대소문자 무시, null이면 전체)
+     */
+    public String renderMarkdown(String filter) {
+        String needle = filter != null && !filter.isBlank() ? filter.toLowerCase(Locale.ROOT) : null;
+        Duration window = Duration.between(since, Instant.now());
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("# Server Metrics\n\n");
+        sb.append("Window: ").append(formatDuration(window)).append(" (since ").append(since).append(")\n");
+        if (needle != null) {
+            sb.append("Filter: ").append(filter).append("\n");
+        }
+
+        boolean any = false;
+        for (Family family : families) {
+            Map<String, Histogram> snapshots = family.snapshots(needle);
+            if (snapshots.isEmpty()) continue;
+            any = true;
+
+            sb.append("\n## ").append(family.title).append("\n\n");
+            sb.append("| ").append(family.labelName).append(" | count | p50 | p90 | p99 | max | mean |\n");
+            sb.append("|---|---:|---:|---:|---:|---:|---:|\n");
+            for (Map.Entry<String, Histogram> entry : snapshots.entrySet()) {
+                Histogram h = entry.getValue();
+                sb.append("| ").append(entry.getKey())
+                    .append(" | ").append(h.getTotalCount())
+                    .append(" | ").append(family.format(h.getValueAtPercentile(50)))
+                    .append(" | ").append(family.format(h.getValueAtPercentile(90)))
+                    .append(" | ").append(family.format(h.getValueAtPercentile(99)))
+                    .append(" | ").append(family.format(h.getMaxValue()))
+                    .append(" | ").append(family.format(Math.round(h.getMean())))
+                    .append(" |\n");
+            }
+        }
+
+        boolean gaugeHeader = false;
+        for (Gauge gauge : new TreeMap<>(gauges).values()) {
+            if (needle != null && !gauge.label.toLowerCase(Locale.ROOT).contains(needle)) continue;
+            if (!gaugeHeader) {
+                sb.append("\n## Gauges\n\n");
+                sb.append("| metric | label | value |\n");
+                sb.append("|---|---|---:|\n");
+                gaugeHeader = true;
+            }
+            sb.append("| ").append(gauge.name).append(" | ").append(gauge.labelName).append('=').append(gauge.label)
+                .append(" | ").append(gauge.read()).append(" |\n");
+        }
+
+        if (!any && !gaugeHeader) {
+            sb.append("\nNo samples recorded yet.");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Prometheus 텍스트 형식 (summary: quantile, _sum, _count)
+     */
+    public String renderPrometheus() {
+        StringBuilder sb = new StringBuilder();
+        for (Family family : families) {
+            String name = PROMETHEUS_PREFIX + family.name;
+            sb.append("# HELP ").append(name).append(' ').append(family.help).append('\n');
+            sb.append("# TYPE ").append(name).append(" summary\n");
+
+            for (Map.Entry<String, MetricHistogram> entry : new TreeMap<>(family.byLabel).entrySet()) {
+                String label = family.labelName + "=\"" + escapeLabel(entry.getKey()) + "\"";
+                Histogram h = entry.getValue().snapshot();
+                for (double quantile : QUANTILES) {
+                    sb.append(name).append('{').append(label).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(family.scale(h.getValueAtPercentile(quantile * 100))).append('\n');
+                }
+                sb.append(name).append("_sum{").append(label).append("} ")
+                    .append(family.scale(entry.getValue().getSum())).append('\n');
+                sb.append(name).append("_count{").append(label).append("} ").append(h.getTotalCount()).append('\n');
+            }
+        }
+
+        String current = null;
+        for (Gauge gauge : new TreeMap<>(gauges).values()) {
+            String name = PROMETHEUS_PREFIX + gauge.name;
+            if (!name.equals(current)) {
+                sb.append("# HELP ").append(name).append(' ').append(gauge.help).append('\n');
+                sb.append("# TYPE ").append(name).append(' ').append(gauge.type).append('\n');
+                current = name;
+            }
+            sb.append(name).append('{').append(gauge.labelName).append("=\"").append(escapeLabel(gauge.label))
+                .append("\"} ").append(gauge.read()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String formatDuration(Duration duration) {
+        long seconds = duration.getSeconds();
+        if (seconds < 60) return seconds + "s";
+        if (seconds < 3600) return (seconds / 60) + "m " + (seconds % 60) + "s";
+        return (seconds / 3600) + "h " + (seconds % 3600 / 60) + "m";
+    }
+
+    /**
+     * 같은 지표의 라벨별 분포
+     */
+    public static final class Family {
+
+        private final String name;
+        private final String labelName;
+        private final Unit unit;
+        private final String title;
+        private final String help;
+        private final Map<String, MetricHistogram> byLabel = new ConcurrentHashMap<>();
+
+        Family(String name, String labelName, Unit unit, String title, String help) {
+            this.name = name;
+            this.labelName = labelName;
+            this.unit = unit;
+            this.title = title;
+            this.help = help;
+        }
+
+        /**
+         * 경과 시간 기록 (System.nanoTime 차이)
+         */
+        public void recordNanos(String label, long nanos) {
+            histogram(label).record(nanos / 1_000);
+        }
+
+        /**
+         * 크기 기록 (바이트)
+         */
+        public void record(String label, long value) {
+            histogram(label).record(value);
+        }
+
+        private MetricHistogram histogram(String label) {
+            String key = label != null ? label : "-";
+            MetricHistogram histogram = byLabel.get(key);
+            if (histogram != null) return histogram;
+            if (byLabel.size() >= MAX_LABELS) key = OVERFLOW_LABEL;
+            return byLabel.computeIfAbsent(key, k -> new MetricHistogram());
+        }
+
+        private Map<String, Histogram> snapshots(String needle) {
+            Map<String, Histogram> snapshots = new TreeMap<>();
+            for (Map.Entry<String, MetricHistogram> entry : byLabel.entrySet()) {
+                if (needle != null && !entry.getKey().toLowerCase(Locale.ROOT).contains(needle)) continue;
+                Histogram h = entry.getValue().snapshot();
+                if (h.getTotalCount() > 0) snapshots.put(entry.getKey(), h);
+            }
+            return snapshots;
+        }
+
+        private void reset() {
+            byLabel.values().forEach(MetricHistogram::reset);
+        }
+
+        /**
+         * Prometheus 기본 단위로 변환 (초, 바이트)
+         */
+        private String scale(long value) {
+            return unit == Unit.SECONDS ? Double.toString(value / 1_000_000.0) : Long.toString(value);
+        }
+
+        private String format(long value) {
+            if (unit == Unit.SECONDS) {
+                return value < 1_000
+                    ? String.format("%.2f ms", value / 1_000.0)
+                    : String.format("%.1f ms", value / 1_000.0);
+            }
+            if (value < 1024) return value + " B";
+            if (value < 1024 * 1024) return String.format("%.1f KB", value / 1024.0);
+            return String.format("%.1f MB", value / (1024.0 * 1024));
+        }
+    }
+
+    /**
+     * 출력할 때 supplier에서 값을 읽는 게이지/카운터
+     */
+    private static final class Gauge {
+
+        private final String name;
+        private final String help;
+        private final String type;
+        private final String labelName;
+        private final String label;
+        private final DoubleSupplier value;
+
+        Gauge(String name, String help, String type, String labelName, String label, DoubleSupplier value) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.labelName = labelName;
+            this.label = label;
+            this.value = value;
+        }
+
+        private String read() {
+            double v = value.getAsDouble();
+            return v == Math.rint(v) && !Double.isInfinite(v) ? Long.toString((long) v) : Double.toString(v);
+        }
+    }
+}
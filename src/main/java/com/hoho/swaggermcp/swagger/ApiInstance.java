@@ -1,61 +1,232 @@
 package com.hoho.swaggermcp.swagger;
 
 import com.hoho.swaggermcp.http.HttpApiClient;
+import com.hoho.swaggermcp.http.HttpClientSettings;
+import com.hoho.swaggermcp.http.UpstreamLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * 단일 API 인스턴스를 나타내는 클래스
  *
  * 각 등록된 API별로 하나의 인스턴스가 생성됩니다.
+ *
+ * 지연 로드 모드에서는 이름과 URL만 가진 채로 등록되고, 처음 사용될 때 initialize()가 호출됩니다.
+ * 여러 스레드가 동시에 initialize()를 호출해도 스펙은 한 번만 로드되며 나머지는 그 결과를 기다립니다.
+ * 로드에 실패하면 다음 호출에서 다시 시도합니다.
+ *
+ * 엔드포인트와 조회 색인은 불변 스냅샷 하나에 담아 volatile 참조로 교체합니다. (copy-on-write)
+ * refresh()가 새 스펙으로 스냅샷을 통째로 바꾸는 동안에도 진행 중인 호출은 이전 스냅샷을 그대로 사용합니다.
+ * 스펙에서 만든 출력(카테고리/엔드포인트 목록 마크다운)도 스냅샷에 캐시하므로 스냅샷이 바뀌면 함께 버려집니다.
  */
 public class ApiInstance {
 
+    private static final Logger logger = LoggerFactory.getLogger(ApiInstance.class);
+
     private final String name;
     private final String specUrl;
     private final String authHeader;  // Authorization 헤더 값 (예: "Bearer xxx" 또는 "Basic xxx")
-    private final List<ApiEndpoint> endpoints = new ArrayList<>();
-    private final Map<String, List<ApiEndpoint>> endpointsByTag = new LinkedHashMap<>();
-    private HttpApiClient httpClient;
-    private String baseUrl;
-    private String apiTitle;
-    private String apiVersion;
+    private final SpecLoader specLoader;
+    private final HttpClientSettings httpSettings;
+    private final UpstreamLimiter limiter;  // 요청률/동시 실행 제한 (설정하지 않았으면 null, HTTP 클라이언트를 다시 만들어도 유지)
+    private final List<HttpApiClient> retiredClients = new ArrayList<>();
+    private volatile Snapshot snapshot;
+    private volatile HttpApiClient httpClient;
+
+    private final AtomicReference<CompletableFuture<Void>> initialization = new AtomicReference<>();
+    private volatile boolean loaded;
+    private volatile String loadError;
 
     public ApiInstance(String name, String specUrl) {
         this(name, specUrl, null);
     }
 
     public ApiInstance(String name, String specUrl, String authHeader) {
+        this(name, specUrl, authHeader, new SpecLoader());
+    }
+
+    public ApiInstance(String name, String specUrl, String authHeader, SpecLoader specLoader) {
+        this(name, specUrl, authHeader, specLoader, new HttpClientSettings());
+    }
+
+    public ApiInstance(String name, String specUrl, String authHeader, SpecLoader specLoader,
+                       HttpClientSettings httpSettings) {
         this.name = name;
         this.specUrl = specUrl;
         this.authHeader = authHeader;
+        this.specLoader = specLoader;
+        this.httpSettings = httpSettings;
+        this.limiter = UpstreamLimiter.create(name, httpSettings);
     }
 
     /**
-     * API 초기화: Swagger 스펙 파싱
+     * API 초기화: Swagger 스펙 파싱 (캐시가 설정되어 있으면 캐시 재검증)
+     *
+     * 이미 로드되었으면 바로 반환하고, 다른 스레드가 로드 중이면 그 결과를 기다립니다.
+     *
+     * @return 이 호출에서 실제로 스펙을 로드했으면 true
      */
-    public void initialize() {
-        SwaggerParser parser = new SwaggerParser(specUrl);
-        endpoints.addAll(parser.parse());
+    public boolean initialize() throws IOException {
+        if (loaded) return false;
 
-        apiTitle = parser.getApiTitle();
-        apiVersion = parser.getApiVersion();
-        baseUrl = parser.getBaseUrl();
+        CompletableFuture<Void> mine = new CompletableFuture<>();
+        CompletableFuture<Void> inProgress = initialization.compareAndExchange(null, mine);
+        if (inProgress != null) {
+            awaitInitialization(inProgress);
+            return false;
+        }
 
-        httpClient = new HttpApiClient(baseUrl);
+        try {
+            load();
+            loadError = null;
+            loaded = true;
+            mine.complete(null);
+            return true;
+        } catch (Throwable e) {
+            // Error(StackOverflowError 등)도 여기서 완료시켜야 기다리던 호출이 멈추지 않음
+            loadError = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            initialization.set(null);  // 다음 호출에서 재시도
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
 
-        // 태그별 그룹화
-        for (ApiEndpoint endpoint : endpoints) {
-            List<String> tags = endpoint.getTags();
-            if (tags == null || tags.isEmpty()) {
-                tags = Collections.singletonList("default");
-            }
-            for (String tag : tags) {
-                endpointsByTag.computeIfAbsent(tag, k -> new ArrayList<>()).add(endpoint);
+    private static void awaitInitialization(CompletableFuture<Void> inProgress) throws IOException {
+        try {
+            inProgress.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    private void load() throws IOException {
+        SpecModel model = specLoader.load(specUrl);
+        httpClient = new HttpApiClient(model.getBaseUrl(), httpSettings, limiter);
+        httpClient.registerMetrics(name);
+        snapshot = new Snapshot(model);
+        snapshot.logConflicts(name);
+    }
+
+    /**
+     * 스펙 재검증 후 바뀌었으면 스냅샷 교체 (로드되지 않았으면 아무것도 하지 않음)
+     *
+     * 조건부 요청으로 확인하므로 스펙이 그대로면 다시 파싱하지 않습니다.
+     * base URL이 바뀌면 새 HTTP 클라이언트를 만들고, 이전 클라이언트는 진행 중인 호출이 있을 수 있으므로 종료 시 반납합니다.
+     *
+     * @return 엔드포인트 변경 내역 (바뀐 것이 없으면 빈 diff)
+     */
+    public SpecDiff refresh() throws IOException {
+        Snapshot current = snapshot;
+        if (!loaded || current == null) return SpecDiff.EMPTY;
+
+        SpecModel model = specLoader.reload(specUrl, current.model);
+        if (model == null || model == current.model) return SpecDiff.EMPTY;
+
+        Snapshot next = new Snapshot(model);
+        boolean infoChanged = !Objects.equals(current.baseUrl, next.baseUrl)
+            || !Objects.equals(current.apiTitle, next.apiTitle)
+            || !Objects.equals(current.apiVersion, next.apiVersion);
+        SpecDiff diff = SpecDiff.between(current.endpoints, next.endpoints, infoChanged);
+
+        if (!Objects.equals(current.baseUrl, next.baseUrl)) {
+            synchronized (retiredClients) {
+                retiredClients.add(httpClient);
             }
+            httpClient = new HttpApiClient(next.baseUrl, httpSettings, limiter);
+            httpClient.registerMetrics(name);
+            logger.info("base URL 변경 ({}): {} -> {}", name, current.baseUrl, next.baseUrl);
+        }
+        snapshot = next;
+
+        if (diff.isEmpty()) {
+            logger.debug("스펙 내용 변경 없음: {}", name);
+            return diff;
+        }
+        next.logConflicts(name);
+        logger.info("스펙 갱신 ({}): {}", name, diff);
+        return diff;
+    }
+
+    private static String describe(List<ApiEndpoint> endpoints) {
+        StringBuilder sb = new StringBuilder();
+        for (ApiEndpoint endpoint : endpoints) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(endpoint.getOperationId()).append(" (")
+                .append(endpoint.getMethod()).append(' ').append(endpoint.getPath()).append(')');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * operationId로 엔드포인트 찾기
+     *
+     * 정확히 일치하는 항목을 먼저 찾고, 없으면 대소문자를 무시하고 찾습니다.
+     * 충돌이 있는 operationId는 후보가 여러 개 반환됩니다.
+     */
+    public List<ApiEndpoint> findByOperationId(String operationId) {
+        Snapshot current = snapshot;
+        List<ApiEndpoint> exact = current.endpointsByOperationId.get(operationId);
+        if (exact != null) return exact;
+
+        List<ApiEndpoint> folded = current.endpointsByFoldedOperationId.get(foldCase(operationId));
+        return folded != null ? folded : Collections.emptyList();
+    }
+
+    /**
+     * HTTP 메서드 + 경로 템플릿으로 엔드포인트 찾기 (예: GET, /pets/{petId})
+     */
+    public ApiEndpoint findByMethodAndPath(String method, String path) {
+        return snapshot.endpointsByMethodAndPath.get(methodPathKey(method, path));
+    }
+
+    private static String foldCase(String operationId) {
+        return operationId.toLowerCase(Locale.ROOT);
+    }
+
+    private static String methodPathKey(String method, String path) {
+        return method.toUpperCase(Locale.ROOT) + ' ' + path;
+    }
+
+    /**
+     * HTTP 클라이언트 반납 (로드되지 않았으면 아무것도 하지 않음)
+     */
+    public void close() {
+        HttpApiClient client = httpClient;
+        if (client != null) {
+            client.close();
+        }
+        synchronized (retiredClients) {
+            retiredClients.forEach(HttpApiClient::close);
+            retiredClients.clear();
         }
     }
 
+    /**
+     * 스펙 로드 완료 여부
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * 마지막 로드 실패 메시지 (실패한 적이 없거나 이후 성공했으면 null)
+     */
+    public String getLoadError() {
+        return loadError;
+    }
+
     public String getName() {
         return name;
     }
@@ -65,23 +236,41 @@ public class ApiInstance {
     }
 
     public String getBaseUrl() {
-        return baseUrl;
+        Snapshot current = snapshot;
+        return current != null ? current.baseUrl : null;
     }
 
     public String getApiTitle() {
-        return apiTitle;
+        Snapshot current = snapshot;
+        return current != null ? current.apiTitle : null;
     }
 
     public String getApiVersion() {
-        return apiVersion;
+        Snapshot current = snapshot;
+        return current != null ? current.apiVersion : null;
     }
 
     public List<ApiEndpoint> getEndpoints() {
-        return endpoints;
+        Snapshot current = snapshot;
+        return current != null ? current.endpoints : Collections.emptyList();
     }
 
     public Map<String, List<ApiEndpoint>> getEndpointsByTag() {
-        return endpointsByTag;
+        Snapshot current = snapshot;
+        return current != null ? current.endpointsByTag : Collections.emptyMap();
+    }
+
+    /**
+     * 로드 시 검출된 operationId 충돌 목록
+     */
+    public List<String> getOperationIdConflicts() {
+        Snapshot current = snapshot;
+        return current != null ? current.operationIdConflicts : Collections.emptyList();
+    }
+
+    public EndpointSearchIndex getSearchIndex() {
+        Snapshot current = snapshot;
+        return current != null ? current.searchIndex : null;
     }
 
     public HttpApiClient getHttpClient() {
@@ -92,11 +281,117 @@ public class ApiInstance {
         return authHeader;
     }
 
+    /**
+     * 현재 스냅샷에 캐시된 출력 (없으면 renderer로 만들어 저장)
+     *
+     * renderer는 이 인스턴스의 스펙 데이터만으로 결과를 만들어야 합니다. (호출마다 달라지는 값 제외)
+     */
+    public String rendered(String key, Supplier<String> renderer) {
+        Snapshot current = snapshot;
+        if (current == null) return renderer.get();
+        String cached = current.renderCache.get(key);
+        if (cached != null) return cached;
+
+        String rendered = renderer.get();
+        // 렌더링 중 스냅샷이 바뀌었으면 새 스냅샷에 섞이지 않도록 저장하지 않음
+        if (snapshot == current) {
+            current.renderCache.putIfAbsent(key, rendered);
+        }
+        return rendered;
+    }
+
     public int getEndpointCount() {
-        return endpoints.size();
+        return getEndpoints().size();
     }
 
     public int getCategoryCount() {
-        return endpointsByTag.size();
+        return getEndpointsByTag().size();
+    }
+
+    /**
+     * 한 번 로드한 스펙의 불변 스냅샷 (엔드포인트, 조회 색인, 검색 색인)
+     */
+    private static final class Snapshot {
+        final SpecModel model;
+        final String baseUrl;
+        final String apiTitle;
+        final String apiVersion;
+        final List<ApiEndpoint> endpoints;
+        final Map<String, List<ApiEndpoint>> endpointsByTag;
+        final Map<String, List<ApiEndpoint>> endpointsByOperationId;
+        final Map<String, List<ApiEndpoint>> endpointsByFoldedOperationId;
+        final Map<String, ApiEndpoint> endpointsByMethodAndPath;
+        final List<String> operationIdConflicts;
+        final EndpointSearchIndex searchIndex;
+        final Map<String, String> renderCache = new ConcurrentHashMap<>();
+
+        Snapshot(SpecModel model) {
+            this.model = model;
+            this.baseUrl = model.getBaseUrl();
+            this.apiTitle = model.getApiTitle();
+            this.apiVersion = model.getApiVersion();
+            this.endpoints = List.copyOf(model.getEndpoints());
+
+            // 태그별 그룹화
+            Map<String, List<ApiEndpoint>> byTag = new LinkedHashMap<>();
+            for (ApiEndpoint endpoint : endpoints) {
+                List<String> tags = endpoint.getTags();
+                if (tags == null || tags.isEmpty()) {
+                    tags = Collections.singletonList("default");
+                }
+                for (String tag : tags) {
+                    byTag.computeIfAbsent(tag, k -> new ArrayList<>()).add(endpoint);
+                }
+            }
+            this.endpointsByTag = Collections.unmodifiableMap(byTag);
+
+            // call_api용 조회 색인 (operationId, 대소문자 무시 operationId, 메서드+경로)
+            Map<String, List<ApiEndpoint>> byOperationId = new HashMap<>();
+            Map<String, List<ApiEndpoint>> byFoldedOperationId = new HashMap<>();
+            Map<String, ApiEndpoint> byMethodAndPath = new HashMap<>();
+            for (ApiEndpoint endpoint : endpoints) {
+                byOperationId.computeIfAbsent(endpoint.getOperationId(), k -> new ArrayList<>(1)).add(endpoint);
+                byFoldedOperationId.computeIfAbsent(foldCase(endpoint.getOperationId()), k -> new ArrayList<>(1)).add(endpoint);
+                byMethodAndPath.put(methodPathKey(endpoint.getMethod(), endpoint.getPath()), endpoint);
+            }
+            this.endpointsByOperationId = byOperationId;
+            this.endpointsByFoldedOperationId = byFoldedOperationId;
+            this.endpointsByMethodAndPath = byMethodAndPath;
+            this.operationIdConflicts = detectOperationIdConflicts(byOperationId, byFoldedOperationId);
+
+            // search_api용 역색인
+            this.searchIndex = EndpointSearchIndex.build(endpoints);
+        }
+
+        void logConflicts(String apiName) {
+            for (String conflict : operationIdConflicts) {
+                logger.warn("operationId 충돌 ({}): {}", apiName, conflict);
+            }
+        }
+    }
+
+    /**
+     * 중복/충돌 operationId 검출
+     *
+     * 스펙에 같은 operationId가 여러 번 있거나, 자동 생성된 operationId가 겹치거나
+     * (예: /a_b와 /a/b -> get_a_b), 대소문자만 다른 경우를 찾아 기록합니다.
+     * 이런 operationId는 call_api에서 첫 번째 엔드포인트로 대체하지 않고 모호하다고 알립니다.
+     */
+    private static List<String> detectOperationIdConflicts(Map<String, List<ApiEndpoint>> byOperationId,
+                                                           Map<String, List<ApiEndpoint>> byFoldedOperationId) {
+        List<String> conflicts = new ArrayList<>();
+        for (Map.Entry<String, List<ApiEndpoint>> entry : byOperationId.entrySet()) {
+            if (entry.getValue().size() > 1) {
+                conflicts.add(entry.getKey() + " -> " + describe(entry.getValue()));
+            }
+        }
+        for (List<ApiEndpoint> sameFolded : byFoldedOperationId.values()) {
+            long distinctIds = sameFolded.stream().map(ApiEndpoint::getOperationId).distinct().count();
+            if (distinctIds > 1) {
+                conflicts.add("대소문자만 다름: " + describe(sameFolded));
+            }
+        }
+        Collections.sort(conflicts);
+        return Collections.unmodifiableList(conflicts);
     }
 }
@@ -0,0 +1,372 @@
+package com.hoho.swaggermcp.swagger;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.hoho.swaggermcp.http.OutputFormat;
+import com.hoho.swaggermcp.http.StringBuilderWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 엔드포인트 목록/검색 결과 출력 (list_api_endpoints, search_api)
+ *
+ * 형식별로 스레드별로 재사용하는 StringBuilder에 바로 씁니다. (행마다 String.format을 쓰지 않음)
+ * - MARKDOWN: 제목, 목록, 파라미터 표
+ * - COMPACT: 머리글 한 줄 + 엔드포인트당 한 줄의 | 구분 표, 파라미터는 공백으로 시작하는 줄
+ * - JSON: 공백 없는 JSON (JsonGenerator로 바로 출력)
+ */
+final class EndpointFormatter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // 스레드별 결과 버퍼 (ResponseFormatter와 같은 방식, 큰 결과 뒤에는 버리고 새로 만듦)
+    private static final int INITIAL_BUFFER_CHARS = 8 * 1024;
+    private static final int MAX_RETAINED_BUFFER_CHARS = 256 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER =
+        ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_CHARS));
+
+    private EndpointFormatter() {}
+
+    /**
+     * 재사용 버퍼에 결과를 만든 뒤 문자열로 복사
+     */
+    private static String render(Consumer<StringBuilder> writer) {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        try {
+            writer.accept(sb);
+            return sb.toString();
+        } finally {
+            if (sb.capacity() > MAX_RETAINED_BUFFER_CHARS) {
+                BUFFER.set(new StringBuilder(INITIAL_BUFFER_CHARS));
+            }
+        }
+    }
+
+    /**
+     * 검색 결과 한 페이지
+     */
+    static final class SearchPage {
+        final String keyword;
+        final String scope;             // "in petstore" 또는 "across 3 APIs"
+        final String api;               // 단일 API 검색이면 API 이름, 전체 검색이면 null
+        final int totalMatches;
+        final List<ApiEndpoint> endpoints;
+        final List<String> apiNames;    // 전체 검색이면 엔드포인트별 API 이름, 아니면 null
+        final List<String> failures;    // 로드에 실패해 건너뛴 API
+
+        SearchPage(String keyword, String scope, String api, int totalMatches, List<ApiEndpoint> endpoints,
+                   List<String> apiNames, List<String> failures) {
+            this.keyword = keyword;
+            this.scope = scope;
+            this.api = api;
+            this.totalMatches = totalMatches;
+            this.endpoints = endpoints;
+            this.apiNames = apiNames;
+            this.failures = failures;
+        }
+    }
+
+    // ==================== list_api_endpoints ====================
+
+    static String endpoints(String api, String category, List<ApiEndpoint> endpoints, OutputFormat format) {
+        return render(sb -> writeEndpoints(sb, api, category, endpoints, format));
+    }
+
+    private static void writeEndpoints(StringBuilder sb, String api, String category, List<ApiEndpoint> endpoints,
+                                       OutputFormat format) {
+        switch (format) {
+            case COMPACT:
+                sb.append("endpoints ").append(category).append(" (").append(api).append("): ")
+                    .append(endpoints.size()).append('\n');
+                sb.append("operationId|method|path|summary|required|optional\n");
+                for (ApiEndpoint ep : endpoints) {
+                    cell(sb, ep.getOperationId()).append('|').append(ep.getMethod()).append('|');
+                    cell(sb, ep.getPath()).append('|');
+                    cell(sb, ep.getSummary()).append('|');
+                    appendParamNames(sb, ep, true, true);
+                    sb.append('|');
+                    appendParamNames(sb, ep, false, true);
+                    sb.append('\n');
+                }
+                return;
+            case JSON:
+                try (JsonGenerator json = JSON_FACTORY.createGenerator(new StringBuilderWriter(sb))) {
+                    json.writeStartObject();
+                    json.writeStringField("api", api);
+                    json.writeStringField("category", category);
+                    json.writeNumberField("total", endpoints.size());
+                    json.writeArrayFieldStart("endpoints");
+                    for (ApiEndpoint ep : endpoints) {
+                        json.writeStartObject();
+                        json.writeStringField("operationId", ep.getOperationId());
+                        json.writeStringField("method", ep.getMethod());
+                        json.writeStringField("path", ep.getPath());
+                        if (hasText(ep.getSummary())) json.writeStringField("summary", ep.getSummary());
+                        writeParamNames(json, "required", ep, true);
+                        writeParamNames(json, "optional", ep, false);
+                        json.writeEndObject();
+                    }
+                    json.writeEndArray();
+                    json.writeEndObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            default:
+                markdownEndpoints(sb, api, category, endpoints);
+        }
+    }
+
+    private static void markdownEndpoints(StringBuilder sb, String api, String category, List<ApiEndpoint> endpoints) {
+        sb.append("# Endpoints in '").append(category).append("' (").append(api).append(")\n\n");
+        sb.append("Total: ").append(endpoints.size()).append(" endpoints\n\n");
+
+        for (ApiEndpoint ep : endpoints) {
+            sb.append("## ").append(ep.getOperationId()).append("\n");
+            sb.append("- **Method:** ").append(ep.getMethod()).append("\n");
+            sb.append("- **Path:** ").append(ep.getPath()).append("\n");
+            if (hasText(ep.getSummary())) {
+                sb.append("- **Summary:** ").append(ep.getSummary()).append("\n");
+            }
+
+            // 파라미터 요약
+            if (ep.getParameters() != null && !ep.getParameters().isEmpty()) {
+                int mark = sb.length();
+                sb.append("- **Required params:** ");
+                if (appendParamNames(sb, ep, true, false) == 0) sb.setLength(mark); else sb.append("\n");
+                mark = sb.length();
+                sb.append("- **Optional params:** ");
+                if (appendParamNames(sb, ep, false, false) == 0) sb.setLength(mark); else sb.append("\n");
+            }
+            sb.append("\n");
+        }
+
+        sb.append("*Use `call_api` with operationId and parameters to call an endpoint.*\n");
+        sb.append("*Use `search_api` to get full parameter details for a specific endpoint.*");
+    }
+
+    // ==================== search_api ====================
+
+    static String searchResults(SearchPage page, OutputFormat format) {
+        return render(sb -> writeSearchResults(sb, page, format));
+    }
+
+    private static void writeSearchResults(StringBuilder sb, SearchPage page, OutputFormat format) {
+        switch (format) {
+            case COMPACT:
+                compactSearch(sb, page);
+                return;
+            case JSON:
+                try (JsonGenerator json = JSON_FACTORY.createGenerator(new StringBuilderWriter(sb))) {
+                    jsonSearch(json, page);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            default:
+                markdownSearch(sb, page);
+        }
+    }
+
+    private static void markdownSearch(StringBuilder sb, SearchPage page) {
+        sb.append("# Search Results for '").append(page.keyword).append("' ").append(page.scope).append("\n\n");
+        sb.append("Found ").append(page.totalMatches).append(" endpoints (showing top ")
+            .append(page.endpoints.size()).append(")\n\n");
+
+        for (int i = 0; i < page.endpoints.size(); i++) {
+            markdownDetails(sb, page.endpoints.get(i), page.apiNames != null ? page.apiNames.get(i) : null);
+            sb.append("\n---\n\n");
+        }
+        if (page.apiNames != null) {
+            sb.append("*Pass the API name as 'api' to call_api.*");
+        }
+        if (!page.failures.isEmpty()) {
+            sb.append("\n\n**Skipped APIs (load failed):**\n");
+            for (String failure : page.failures) {
+                sb.append("- ").append(failure).append("\n");
+            }
+        }
+    }
+
+    /**
+     * 엔드포인트 상세 (Markdown, 파라미터 표 포함)
+     */
+    static void markdownDetails(StringBuilder sb, ApiEndpoint ep, String apiName) {
+        sb.append("## ").append(ep.getOperationId()).append('\n');
+        if (apiName != null) {
+            sb.append("**API:** ").append(apiName).append('\n');
+        }
+        sb.append("**").append(ep.getMethod()).append("** `").append(ep.getPath()).append("`\n\n");
+
+        if (hasText(ep.getSummary())) {
+            sb.append(ep.getSummary()).append("\n\n");
+        }
+        if (hasText(ep.getDescription()) && !ep.getDescription().equals(ep.getSummary())) {
+            sb.append(ep.getDescription()).append("\n\n");
+        }
+        if (ep.getTags() != null && !ep.getTags().isEmpty()) {
+            sb.append("**Tags:** ").append(String.join(", ", ep.getTags())).append("\n\n");
+        }
+
+        if (ep.getParameters() != null && !ep.getParameters().isEmpty()) {
+            sb.append("**Parameters:**\n\n");
+            sb.append("| Name | Location | Type | Required | Description |\n");
+            sb.append("|------|----------|------|----------|-------------|\n");
+            for (ApiParameter param : ep.getParameters()) {
+                sb.append("| ").append(param.getName())
+                    .append(" | ").append(param.getLocation())
+                    .append(" | ").append(param.getType())
+                    .append(" | ").append(param.isRequired() ? "Yes" : "No")
+                    .append(" | ").append(param.getDescription() != null ? param.getDescription() : "")
+                    .append(" |\n");
+            }
+        } else {
+            sb.append("**Parameters:** None\n");
+        }
+    }
+
+    private static void compactSearch(StringBuilder sb, SearchPage page) {
+        sb.append("search '").append(page.keyword).append("' ").append(page.scope).append(": ")
+            .append(page.totalMatches).append(" matches, top ").append(page.endpoints.size()).append('\n');
+        sb.append(page.apiNames != null ? "api|" : "").append("operationId|method|path|tags|summary|description\n");
+        sb.append(" param|in|type|required|description\n");
+
+        for (int i = 0; i < page.endpoints.size(); i++) {
+            ApiEndpoint ep = page.endpoints.get(i);
+            if (page.apiNames != null) cell(sb, page.apiNames.get(i)).append('|');
+            cell(sb, ep.getOperationId()).append('|').append(ep.getMethod()).append('|');
+            cell(sb, ep.getPath()).append('|');
+            if (ep.getTags() != null) {
+                for (int t = 0; t < ep.getTags().size(); t++) {
+                    if (t > 0) sb.append(',');
+                    cell(sb, ep.getTags().get(t));
+                }
+            }
+            sb.append('|');
+            cell(sb, ep.getSummary()).append('|');
+            if (hasText(ep.getDescription()) && !ep.getDescription().equals(ep.getSummary())) {
+                cell(sb, ep.getDescription());
+            }
+            sb.append('\n');
+
+            if (ep.getParameters() != null) {
+                for (ApiParameter param : ep.getParameters()) {
+                    sb.append(' ');
+                    cell(sb, param.getName()).append('|').append(param.getLocation()).append('|');
+                    cell(sb, param.getType()).append('|').append(param.isRequired() ? 'y' : 'n').append('|');
+                    cell(sb, param.getDescription()).append('\n');
+                }
+            }
+        }
+        for (String failure : page.failures) {
+            sb.append("skipped: ");
+            cell(sb, failure).append('\n');
+        }
+    }
+
+    private static void jsonSearch(JsonGenerator json, SearchPage page) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("keyword", page.keyword);
+        if (page.api != null) json.writeStringField("api", page.api);
+        json.writeNumberField("totalMatches", page.totalMatches);
+        json.writeArrayFieldStart("endpoints");
+        for (int i = 0; i < page.endpoints.size(); i++) {
+            ApiEndpoint ep = page.endpoints.get(i);
+            json.writeStartObject();
+            if (page.apiNames != null) json.writeStringField("api", page.apiNames.get(i));
+            json.writeStringField("operationId", ep.getOperationId());
+            json.writeStringField("method", ep.getMethod());
+            json.writeStringField("path", ep.getPath());
+            if (hasText(ep.getSummary())) json.writeStringField("summary", ep.getSummary());
+            if (hasText(ep.getDescription()) && !ep.getDescription().equals(ep.getSummary())) {
+                json.writeStringField("description", ep.getDescription());
+            }
+            if (ep.getTags() != null && !ep.getTags().isEmpty()) {
+                json.writeArrayFieldStart("tags");
+                for (String tag : ep.getTags()) json.writeString(tag);
+                json.writeEndArray();
+            }
+            json.writeArrayFieldStart("parameters");
+            if (ep.getParameters() != null) {
+                for (ApiParameter param : ep.getParameters()) {
+                    json.writeStartObject();
+                    json.writeStringField("name", param.getName());
+                    json.writeStringField("in", param.getLocation());
+                    json.writeStringField("type", param.getType());
+                    json.writeBooleanField("required", param.isRequired());
+                    if (hasText(param.getDescription())) json.writeStringField("description", param.getDescription());
+                    json.writeEndObject();
+                }
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        if (!page.failures.isEmpty()) {
+            json.writeArrayFieldStart("skipped");
+            for (String failure : page.failures) json.writeString(failure);
+            json.writeEndArray();
+        }
+        json.writeEndObject();
+    }
+
+    // ==================== 공통 ====================
+
+    /**
+     * 필수 또는 선택 파라미터 이름 나열
+     *
+     * @param compact true면 ","로 잇고 | 를 이스케이프, false면 ", "로 그대로 이음 (Markdown)
+     * @return 나열한 이름 수
+     */
+    private static int appendParamNames(StringBuilder sb, ApiEndpoint ep, boolean required, boolean compact) {
+        if (ep.getParameters() == null) return 0;
+        int count = 0;
+        for (ApiParameter param : ep.getParameters()) {
+            if (param.isRequired() != required) continue;
+            if (count++ > 0) sb.append(compact ? "," : ", ");
+            if (compact) cell(sb, param.getName()); else sb.append(param.getName());
+        }
+        return count;
+    }
+
+    private static void writeParamNames(JsonGenerator json, String field, ApiEndpoint ep, boolean required)
+            throws IOException {
+        if (ep.getParameters() == null) return;
+        boolean started = false;
+        for (ApiParameter param : ep.getParameters()) {
+            if (param.isRequired() != required) continue;
+            if (!started) {
+                json.writeArrayFieldStart(field);
+                started = true;
+            }
+            json.writeString(param.getName());
+        }
+        if (started) json.writeEndArray();
+    }
+
+    /**
+     * 표 칸 값 (구분자 |는 \|로, 줄바꿈은 공백으로 바꿈)
+     */
+    private static StringBuilder cell(StringBuilder sb, String value) {
+        if (value == null) return sb;
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            if (c == '|') {
+                sb.append("\\|");
+            } else if (c == '\n' || c == '\r') {
+                sb.append(' ');
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
@@ -0,0 +1,408 @@
+package com.hoho.swaggermcp.swagger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * search_api용 역색인
+ *
+ * ApiInstance 초기화 시 한 번 만들어지며 이후에는 읽기 전용입니다.
+ *
+ * 색인 대상 (필드별 가중치):
+ * - operationId: camelCase 분리 토큰 + 전체 (3.0)
+ * - path 세그먼트: camelCase 분리 토큰 + 전체 (2.0)
+ * - tag (2.0), summary (1.5), description (1.0)
+ *
+ * 검색:
+ * - 검색어를 같은 방식으로 토큰화하고 모든 토큰이 일치하는 엔드포인트만 반환 (AND)
+ * - 각 토큰은 접두어로 일치 (예: "pet"은 "pets", "petid"와 일치, 완전 일치가 더 높은 점수)
+ * - BM25 점수로 정렬 (k1=1.2, b=0.75)
+ * - 토큰 일치 결과가 없으면 기존처럼 부분 문자열 검색 (미리 소문자로 만들어 둔 텍스트 사용)
+ */
+public class EndpointSearchIndex {
+
+    private static final float WEIGHT_OPERATION_ID = 3.0f;
+    private static final float WEIGHT_PATH = 2.0f;
+    private static final float WEIGHT_TAG = 2.0f;
+    private static final float WEIGHT_SUMMARY = 1.5f;
+    private static final float WEIGHT_DESCRIPTION = 1.0f;
+
+    // 접두어로만 일치한 토큰은 완전 일치보다 낮은 점수
+    private static final float PREFIX_MATCH_FACTOR = 0.6f;
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final List<ApiEndpoint> endpoints;
+    private final String[] terms;           // 정렬된 색인어
+    private final int[][] postingDocs;      // 색인어별 엔드포인트 번호 (오름차순)
+    private final float[][] postingWeights; // 색인어별 가중 빈도 (postingDocs와 같은 순서)
+    private final float[] idf;              // 색인어별 IDF
+    private final float[] lengthNorm;       // 엔드포인트별 k1 * (1 - b + b * len / avgLen)
+    private final String[] searchText;      // 부분 문자열 검색용 소문자 텍스트
+
+    private EndpointSearchIndex(List<ApiEndpoint> endpoints, String[] terms, int[][] postingDocs,
+                                float[][] postingWeights, float[] idf, float[] lengthNorm, String[] searchText) {
+        this.endpoints = endpoints;
+        this.terms = terms;
+        this.postingDocs = postingDocs;
+        this.postingWeights = postingWeights;
+        this.idf = idf;
+        this.lengthNorm = lengthNorm;
+        this.searchText = searchText;
+    }
+
+    /**
+     * 엔드포인트 목록으로 색인 생성
+     */
+    public static EndpointSearchIndex build(List<ApiEndpoint> endpoints) {
+        int docCount = endpoints.size();
+        Map<String, Map<Integer, Float>> postings = new HashMap<>();
+        float[] docLength = new float[docCount];
+        String[] searchText = new String[docCount];
+
+        for (int doc = 0; doc < docCount; doc++) {
+            ApiEndpoint ep = endpoints.get(doc);
+            Map<String, Float> docTerms = new HashMap<>();
+
+            addField(docTerms, ep.getOperationId(), WEIGHT_OPERATION_ID);
+            addField(docTerms, ep.getPath(), WEIGHT_PATH);
+            if (ep.getTags() != null) {
+                for (String tag : ep.getTags()) {
+                    addField(docTerms, tag, WEIGHT_TAG);
+                }
+            }
+            addField(docTerms, ep.getSummary(), WEIGHT_SUMMARY);
+            if (ep.getDescription() != null && !ep.getDescription().equals(ep.getSummary())) {
+                addField(docTerms, ep.getDescription(), WEIGHT_DESCRIPTION);
+            }
+
+            for (Map.Entry<String, Float> entry : docTerms.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(doc, entry.getValue());
+                docLength[doc] += entry.getValue();
+            }
+            searchText[doc] = buildSearchText(ep);
+        }
+
+        String[] terms = postings.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+
+        int[][] postingDocs = new int[terms.length][];
+        float[][] postingWeights = new float[terms.length][];
+        float[] idf = new float[terms.length];
+
+        for (int t = 0; t < terms.length; t++) {
+            Map<Integer, Float> termPostings = postings.get(terms[t]);
+            int[] docs = termPostings.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            float[] weights = new float[docs.length];
+            for (int i = 0; i < docs.length; i++) {
+                weights[i] = termPostings.get(docs[i]);
+            }
+            postingDocs[t] = docs;
+            postingWeights[t] = weights;
+            idf[t] = (float) Math.log(1 + (docCount - docs.length + 0.5) / (docs.length + 0.5));
+        }
+
+        float totalLength = 0;
+        for (float length : docLength) totalLength += length;
+        float avgLength = docCount > 0 && totalLength > 0 ? totalLength / docCount : 1;
+
+        float[] lengthNorm = new float[docCount];
+        for (int doc = 0; doc < docCount; doc++) {
+            lengthNorm[doc] = K1 * (1 - B + B * docLength[doc] / avgLength);
+        }
+
+        return new EndpointSearchIndex(Collections.unmodifiableList(new ArrayList<>(endpoints)),
+            terms, postingDocs, postingWeights, idf, lengthNorm, searchText);
+    }
+
+    /**
+     * 검색
+     *
+     * @param query 검색어 (공백/구분자로 나뉜 여러 단어는 모두 일치해야 함)
+     * @param limit 최대 결과 수
+     */
+    public SearchResult search(String query, int limit) {
+        if (query == null || query.isBlank() || limit <= 0 || endpoints.isEmpty()) {
+            return new SearchResult(Collections.emptyList(), 0);
+        }
+
+        String[] queryTerms = tokenize(query).toArray(new String[0]);
+        if (queryTerms.length > 0) {
+            SearchResult ranked = searchTerms(queryTerms, limit);
+            if (ranked.getTotalMatches() > 0) {
+                return ranked;
+            }
+        }
+        return searchSubstring(query.toLowerCase(Locale.ROOT), limit);
+    }
+
+    /**
+     * 색인어 검색 (AND + 접두어 일치 + BM25)
+     */
+    private SearchResult searchTerms(String[] queryTerms, int limit) {
+        int docCount = endpoints.size();
+        float[] scores = new float[docCount];
+        int[] matchedTerms = new int[docCount];
+
+        for (int q = 0; q < queryTerms.length; q++) {
+            String queryTerm = queryTerms[q];
+            int from = lowerBound(queryTerm);
+            int to = prefixUpperBound(queryTerm, from);
+            if (from == to) {
+                // 일치하는 색인어가 없는 토큰이 있으면 AND 결과는 비어 있음
+                return new SearchResult(Collections.emptyList(), 0);
+            }
+
+            for (int t = from; t < to; t++) {
+                float factor = terms[t].length() == queryTerm.length() ? 1.0f : PREFIX_MATCH_FACTOR;
+                int[] docs = postingDocs[t];
+                float[] weights = postingWeights[t];
+                for (int i = 0; i < docs.length; i++) {
+                    int doc = docs[i];
+                    // 이전 검색어 토큰을 모두 만족한 엔드포인트만 계속 후보로 유지
+                    if (matchedTerms[doc] < q) continue;
+                    float tf = weights[i];
+                    scores[doc] += factor * idf[t] * (tf * (K1 + 1)) / (tf + lengthNorm[doc]);
+                    matchedTerms[doc] = q + 1;
+                }
+            }
+        }
+
+        // 상위 limit개만 유지하는 최소 힙 (박싱 없이 엔드포인트 번호만 보관)
+        int[] heap = new int[Math.min(limit, docCount)];
+        int heapSize = 0;
+        int total = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (matchedTerms[doc] != queryTerms.length) continue;
+            total++;
+            if (heapSize < heap.length) {
+                heap[heapSize] = doc;
+                siftUp(heap, heapSize++, scores);
+            } else if (ranksHigher(doc, heap[0], scores)) {
+                heap[0] = doc;
+                siftDown(heap, heapSize, scores);
+            }
+        }
+
+        Hit[] hits = new Hit[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            int doc = heap[0];
+            hits[i] = new Hit(endpoints.get(doc), scores[doc]);
+            heap[0] = heap[i];
+            siftDown(heap, i, scores);
+        }
+        return new SearchResult(Arrays.asList(hits), total);
+    }
+
+    /**
+     * a가 b보다 상위 결과인지 (점수가 높거나, 같으면 스펙 순서가 앞선 쪽)
+     */
+    private static boolean ranksHigher(int a, int b, float[] scores) {
+        return scores[a] != scores[b] ? scores[a] > scores[b] : a < b;
+    }
+
+    private static void siftUp(int[] heap, int index, float[] scores) {
+        int doc = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksHigher(heap[parent], doc, scores)) break;
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = doc;
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        if (size == 0) return;
+        int doc = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) break;
+            if (child + 1 < size && ranksHigher(heap[child], heap[child + 1], scores)) {
+                child++;
+            }
+            if (!ranksHigher(doc, heap[child], scores)) break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = doc;
+    }
+
+    /**
+     * 부분 문자열 검색 (색인어로 찾을 수 없는 검색어용, 스펙 순서 유지)
+     */
+    private SearchResult searchSubstring(String lowerQuery, int limit) {
+        List<Hit> hits = new ArrayList<>();
+        int total = 0;
+        for (int doc = 0; doc < searchText.length; doc++) {
+            if (searchText[doc].contains(lowerQuery)) {
+                total++;
+                if (hits.size() < limit) {
+                    hits.add(new Hit(endpoints.get(doc), 0));
+                }
+            }
+        }
+        return new SearchResult(hits, total);
+    }
+
+    /**
+     * term 이상인 첫 색인어 위치
+     */
+    private int lowerBound(String term) {
+        int lo = 0;
+        int hi = terms.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (terms[mid].compareTo(term) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * from부터 prefix로 시작하는 색인어가 끝나는 위치
+     */
+    private int prefixUpperBound(String prefix, int from) {
+        int lo = from;
+        int hi = terms.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (terms[mid].startsWith(prefix)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static void addField(Map<String, Float> docTerms, String text, float weight) {
+        if (text == null || text.isEmpty()) return;
+        for (String term : tokenize(text)) {
+            docTerms.merge(term, weight, Float::sum);
+        }
+    }
+
+    private static String buildSearchText(ApiEndpoint ep) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(ep.getOperationId()).append('\n').append(ep.getPath());
+        if (ep.getSummary() != null) sb.append('\n').append(ep.getSummary());
+        if (ep.getDescription() != null) sb.append('\n').append(ep.getDescription());
+        if (ep.getTags() != null) {
+            for (String tag : ep.getTags()) {
+                sb.append('\n').append(tag);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 토큰화: 영숫자가 아닌 문자로 나누고, 각 단어를 camelCase 경계로 다시 나눔
+     *
+     * 예: "/pets/{petId}" -> [pets, petid, pet, id], "getHTTPStatus" -> [gethttpstatus, get, http, status]
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        int length = text.length();
+        int wordStart = -1;
+
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && wordStart < 0) {
+                wordStart = i;
+            } else if (!wordChar && wordStart >= 0) {
+                addWord(tokens, text, wordStart, i);
+                wordStart = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addWord(Set<String> tokens, String text, int start, int end) {
+        tokens.add(text.substring(start, end).toLowerCase(Locale.ROOT));
+
+        int partStart = start;
+        for (int i = start + 1; i < end; i++) {
+            if (isCamelBoundary(text, i, end)) {
+                tokens.add(text.substring(partStart, i).toLowerCase(Locale.ROOT));
+                partStart = i;
+            }
+        }
+        if (partStart > start) {
+            tokens.add(text.substring(partStart, end).toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * camelCase 경계 여부 (getPet, v1Users, HTTPStatus의 S 위치)
+     */
+    private static boolean isCamelBoundary(String text, int i, int end) {
+        char prev = text.charAt(i - 1);
+        char cur = text.charAt(i);
+        if (!Character.isUpperCase(cur)) return false;
+        if (Character.isLowerCase(prev) || Character.isDigit(prev)) return true;
+        return Character.isUpperCase(prev) && i + 1 < end && Character.isLowerCase(text.charAt(i + 1));
+    }
+
+    public int size() {
+        return endpoints.size();
+    }
+
+    public int getTermCount() {
+        return terms.length;
+    }
+
+    /**
+     * 검색 결과 한 건
+     */
+    public static class Hit {
+        private final ApiEndpoint endpoint;
+        private final float score;
+
+        public Hit(ApiEndpoint endpoint, float score) {
+            this.endpoint = endpoint;
+            this.score = score;
+        }
+
+        public ApiEndpoint getEndpoint() {
+            return endpoint;
+        }
+
+        public float getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * 검색 결과 (상위 결과 + 전체 일치 수)
+     */
+    public static class SearchResult {
+        private final List<Hit> hits;
+        private final int totalMatches;
+
+        public SearchResult(List<Hit> hits, int totalMatches) {
+            this.hits = hits;
+            this.totalMatches = totalMatches;
+        }
+
+        public List<Hit> getHits() {
+            return hits;
+        }
+
+        public int getTotalMatches() {
+            return totalMatches;
+        }
+    }
+}
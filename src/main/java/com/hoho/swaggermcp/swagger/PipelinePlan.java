@@ -0,0 +1,271 @@
+package com.hoho.swaggermcp.swagger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * call_api_pipeline 실행 계획
+ *
+ * 각 단계의 인자에서 ${steps[N].body.경로} / ${steps[N].status} 참조를 찾아 의존 관계를 만들고
+ * 위상 정렬로 실행 순서를 정합니다. 참조가 없는 단계끼리는 동시에 실행할 수 있습니다.
+ *
+ * 경로는 .필드 와 [인덱스]를 이어 씁니다. 예: ${steps[0].body.items[0].id}
+ * 값 전체가 참조 하나이면 참조한 JSON 값(숫자, 객체 등)을 그대로 넣고, 문자열 안의 참조는 텍스트로 치환합니다.
+ */
+final class PipelinePlan {
+
+    private static final Pattern REFERENCE = Pattern.compile("\\$\\{steps\\[(\\d+)]\\.(body|status)([^}]*)}");
+
+    private final List<JsonNode> steps;
+    private final List<Set<Integer>> dependencies;
+    private final boolean[] bodyReferenced;
+    private final boolean[] referenced;
+    private final int[] order;
+
+    private PipelinePlan(List<JsonNode> steps, List<Set<Integer>> dependencies,
+                         boolean[] bodyReferenced, boolean[] referenced, int[] order) {
+        this.steps = steps;
+        this.dependencies = dependencies;
+        this.bodyReferenced = bodyReferenced;
+        this.referenced = referenced;
+        this.order = order;
+    }
+
+    /**
+     * 단계 목록에서 실행 계획 생성
+     *
+     * @throws IllegalArgumentException 없는 단계 참조, 잘못된 경로, 순환 참조
+     */
+    static PipelinePlan parse(JsonNode stepsNode) {
+        int count = stepsNode.size();
+        List<JsonNode> steps = new ArrayList<>(count);
+        List<Set<Integer>> dependencies = new ArrayList<>(count);
+        boolean[] bodyReferenced = new boolean[count];
+        boolean[] referenced = new boolean[count];
+
+        for (int i = 0; i < count; i++) {
+            JsonNode step = stepsNode.get(i);
+            if (!step.isObject()) {
+                throw new IllegalArgumentException("steps[" + i + "] must be an object with call_api arguments");
+            }
+            steps.add(step);
+
+            Set<Integer> deps = new TreeSet<>();
+            collectReferences(step, i, count, deps, bodyReferenced);
+            if (deps.contains(i)) {
+                throw new IllegalArgumentException("steps[" + i + "] references itself");
+            }
+            for (int dep : deps) referenced[dep] = true;
+            dependencies.add(deps);
+        }
+
+        return new PipelinePlan(steps, dependencies, bodyReferenced, referenced, topologicalOrder(dependencies));
+    }
+
+    private static void collectReferences(JsonNode node, int stepIndex, int count,
+                                          Set<Integer> deps, boolean[] bodyReferenced) {
+        if (node.isTextual()) {
+            Matcher matcher = REFERENCE.matcher(node.asText());
+            while (matcher.find()) {
+                int target = Integer.parseInt(matcher.group(1));
+                if (target >= count) {
+                    throw new IllegalArgumentException("steps[" + stepIndex + "] references steps[" + target
+                        + "], but there are only " + count + " steps");
+                }
+                parsePath(matcher.group(3), matcher.group());
+                deps.add(target);
+                if (matcher.group(2).equals("body")) bodyReferenced[target] = true;
+            }
+        } else if (node.isContainerNode()) {
+            for (JsonNode child : node) {
+                collectReferences(child, stepIndex, count, deps, bodyReferenced);
+            }
+        }
+    }
+
+    /**
+     * Kahn 알고리즘으로 실행 순서 결정 (남는 단계가 있으면 순환)
+     */
+    private static int[] topologicalOrder(List<Set<Integer>> dependencies) {
+        int count = dependencies.size();
+        int[] remaining = new int[count];
+        List<List<Integer>> dependents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) dependents.add(new ArrayList<>());
+        for (int i = 0; i < count; i++) {
+            remaining[i] = dependencies.get(i).size();
+            for (int dep : dependencies.get(i)) dependents.get(dep).add(i);
+        }
+
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < count; i++) {
+            if (remaining[i] == 0) ready.add(i);
+        }
+
+        int[] order = new int[count];
+        int size = 0;
+        while (!ready.isEmpty()) {
+            int step = ready.poll();
+            order[size++] = step;
+            for (int dependent : dependents.get(step)) {
+                if (--remaining[dependent] == 0) ready.add(dependent);
+            }
+        }
+
+        if (size < count) {
+            List<Integer> cycle = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                if (remaining[i] > 0) cycle.add(i);
+            }
+            throw new IllegalArgumentException("Circular references between steps " + cycle);
+        }
+        return order;
+    }
+
+    /**
+     * 참조 경로 파싱 (.필드, [인덱스])
+     */
+    private static List<Object> parsePath(String path, String reference) {
+        List<Object> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                int end = i + 1;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') end++;
+                if (end == i + 1) {
+                    throw new IllegalArgumentException("Empty field name in " + reference);
+                }
+                tokens.add(path.substring(i + 1, end));
+                i = end;
+            } else if (c == '[') {
+                int end = path.indexOf(']', i);
+                String inner = end > i ? path.substring(i + 1, end) : "";
+                if (inner.isEmpty() || !inner.chars().allMatch(Character::isDigit)) {
+                    throw new IllegalArgumentException("Invalid array index in " + reference);
+                }
+                tokens.add(Integer.parseInt(inner));
+                i = end + 1;
+            } else {
+                throw new IllegalArgumentException("Invalid reference path: " + reference);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 단계 인자의 참조를 앞 단계 결과로 치환한 복사본
+     *
+     * @throws IllegalArgumentException 참조한 값이 없거나 바디가 JSON이 아닌 경우
+     */
+    JsonNode resolve(int step, StepOutputs outputs) {
+        return substitute(steps.get(step), outputs);
+    }
+
+    private static JsonNode substitute(JsonNode node, StepOutputs outputs) {
+        if (node.isTextual()) {
+            String text = node.asText();
+            Matcher matcher = REFERENCE.matcher(text);
+            if (matcher.matches()) {
+                return lookup(matcher, outputs);
+            }
+
+            matcher.reset();
+            StringBuilder sb = new StringBuilder();
+            boolean found = false;
+            while (matcher.find()) {
+                JsonNode value = lookup(matcher, outputs);
+                matcher.appendReplacement(sb, Matcher.quoteReplacement(value.isValueNode() ? value.asText() : value.toString()));
+                found = true;
+            }
+            if (!found) return node;
+            matcher.appendTail(sb);
+            return JsonNodeFactory.instance.textNode(sb.toString());
+        }
+        if (node.isObject()) {
+            ObjectNode copy = JsonNodeFactory.instance.objectNode();
+            node.fields().forEachRemaining(field -> copy.set(field.getKey(), substitute(field.getValue(), outputs)));
+            return copy;
+        }
+        if (node.isArray()) {
+            ArrayNode copy = JsonNodeFactory.instance.arrayNode();
+            node.forEach(child -> copy.add(substitute(child, outputs)));
+            return copy;
+        }
+        return node;
+    }
+
+    private static JsonNode lookup(Matcher matcher, StepOutputs outputs) {
+        int target = Integer.parseInt(matcher.group(1));
+        if (matcher.group(2).equals("status")) {
+            return JsonNodeFactory.instance.numberNode(outputs.status(target));
+        }
+
+        JsonNode value = outputs.body(target);
+        if (value == null) {
+            throw new IllegalArgumentException(matcher.group() + ": steps[" + target
+                + "] did not return a JSON body (or it was larger than maxDrainBytes)");
+        }
+        for (Object token : parsePath(matcher.group(3), matcher.group())) {
+            if (token instanceof Integer) {
+                value = value.get((Integer) token);
+            } else if (value.isArray() && ((String) token).chars().allMatch(Character::isDigit)) {
+                value = value.get(Integer.parseInt((String) token));
+            } else {
+                value = value.get((String) token);
+            }
+            if (value == null || value.isMissingNode()) {
+                throw new IllegalArgumentException(matcher.group() + " did not match any value in steps["
+                    + target + "] response");
+            }
+        }
+        return value;
+    }
+
+    int size() {
+        return steps.size();
+    }
+
+    JsonNode step(int index) {
+        return steps.get(index);
+    }
+
+    /**
+     * 실행 순서 (의존하는 단계가 항상 앞에 옴)
+     */
+    int[] order() {
+        return order;
+    }
+
+    Set<Integer> dependencies(int step) {
+        return dependencies.get(step);
+    }
+
+    /**
+     * 다른 단계가 이 단계의 응답 바디를 참조하는지 (원본 바디를 받아 둬야 함)
+     */
+    boolean isBodyReferenced(int step) {
+        return bodyReferenced[step];
+    }
+
+    /**
+     * 다른 단계가 이 단계를 참조하는지 (중간 단계)
+     */
+    boolean isReferenced(int step) {
+        return referenced[step];
+    }
+
+    /**
+     * 앞 단계 결과 조회
+     */
+    interface StepOutputs {
+        int status(int step);
+
+        JsonNode body(int step);
+    }
+}
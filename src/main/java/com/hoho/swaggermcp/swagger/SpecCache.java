@@ -0,0 +1,143 @@
+package com.hoho.swaggermcp.swagger;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 스펙 디스크 캐시
+ *
+ * 스펙 URL마다 두 개의 파일을 저장합니다.
+ * - {키}.spec: 내려받은 원본 스펙 (모델 형식이 바뀌면 네트워크 없이 다시 추출할 때 사용)
+ * - {키}.model.json: 추출된 엔드포인트/파라미터 모델과 ETag, Last-Modified
+ *
+ * 키는 스펙 URL의 SHA-256 앞 16바이트입니다. 파일은 임시 파일에 쓴 뒤 교체하므로
+ * 여러 프로세스가 같은 캐시 디렉토리를 공유해도 반쯤 쓰인 파일을 읽지 않습니다.
+ */
+public class SpecCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpecCache.class);
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+
+    public SpecCache(Path directory) {
+        this.directory = directory;
+        this.objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * 캐시된 모델 읽기 (없거나 손상되었으면 null)
+     */
+    public SpecModel readModel(String specUrl) {
+        Path file = modelFile(specUrl);
+        if (!Files.isRegularFile(file)) return null;
+
+        try {
+            SpecModel model = objectMapper.readValue(file.toFile(), SpecModel.class);
+            if (!specUrl.equals(model.getSpecUrl())) {
+                logger.warn("캐시 키 충돌, 무시: {} ({})", specUrl, file);
+                return null;
+            }
+            return model;
+        } catch (IOException e) {
+            logger.warn("캐시된 모델을 읽을 수 없음: {} - {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 캐시된 원본 스펙 읽기 (없으면 null)
+     */
+    public String readRawSpec(String specUrl) {
+        Path file = specFile(specUrl);
+        if (!Files.isRegularFile(file)) return null;
+
+        try {
+            return Files.readString(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("캐시된 스펙을 읽을 수 없음: {} - {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 원본 스펙과 모델 저장 (실패해도 예외를 던지지 않음)
+     */
+    public void write(String specUrl, String rawSpec, SpecModel model) {
+        try {
+            Files.createDirectories(directory);
+            if (rawSpec != null) {
+                writeAtomically(specFile(specUrl), rawSpec.getBytes(StandardCharsets.UTF_8));
+            }
+            writeAtomically(modelFile(specUrl), objectMapper.writeValueAsBytes(model));
+            logger.debug("스펙 캐시 저장: {} -> {}", specUrl, directory);
+        } catch (IOException e) {
+            logger.warn("스펙 캐시 저장 실패: {} - {}", specUrl, e.getMessage());
+        }
+    }
+
+    /**
+     * 모델만 갱신 (304 응답에 새 검증자가 온 경우, 모델 형식이 바뀌어 다시 추출한 경우)
+     */
+    public void writeModel(String specUrl, SpecModel model) {
+        write(specUrl, null, model);
+    }
+
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, content);
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path modelFile(String specUrl) {
+        return directory.resolve(cacheKey(specUrl) + ".model.json");
+    }
+
+    private Path specFile(String specUrl) {
+        return directory.resolve(cacheKey(specUrl) + ".spec");
+    }
+
+    private static String cacheKey(String specUrl) {
+        return sha256(specUrl.getBytes(StandardCharsets.UTF_8), 16);
+    }
+
+    /**
+     * SHA-256 해시의 앞 bytes바이트를 16진수 문자열로 (캐시 키, 스펙 내용 비교에 사용)
+     */
+    static String sha256(byte[] content, int bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder sb = new StringBuilder(bytes * 2);
+            for (int i = 0; i < Math.min(bytes, digest.length); i++) {
+                sb.append(String.format("%02x", digest[i]));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+    }
+}
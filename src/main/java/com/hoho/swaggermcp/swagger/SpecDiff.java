@@ -0,0 +1,112 @@
+package com.hoho.swaggermcp.swagger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 스펙 갱신 전후의 엔드포인트 변경 내역
+ *
+ * 엔드포인트는 메서드+경로로 짝을 짓고, 같은 엔드포인트의 operationId/설명/파라미터가 달라졌으면 변경으로 봅니다.
+ */
+public class SpecDiff {
+
+    static final SpecDiff EMPTY = new SpecDiff(List.of(), List.of(), List.of(), false);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<String> added;
+    private final List<String> removed;
+    private final List<String> changed;
+    private final boolean infoChanged;
+
+    private SpecDiff(List<String> added, List<String> removed, List<String> changed, boolean infoChanged) {
+        this.added = added;
+        this.removed = removed;
+        this.changed = changed;
+        this.infoChanged = infoChanged;
+    }
+
+    /**
+     * @param infoChanged API 제목, 버전, base URL이 바뀌었는지
+     */
+    static SpecDiff between(List<ApiEndpoint> before, List<ApiEndpoint> after, boolean infoChanged) {
+        Map<String, String> beforeSignatures = signatures(before);
+        Map<String, String> afterSignatures = signatures(after);
+
+        List<String> added = new ArrayList<>();
+        List<String> changed = new ArrayList<>();
+        for (Map.Entry<String, String> entry : afterSignatures.entrySet()) {
+            String previous = beforeSignatures.get(entry.getKey());
+            if (previous == null) {
+                added.add(entry.getKey());
+            } else if (!previous.equals(entry.getValue())) {
+                changed.add(entry.getKey());
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (String key : beforeSignatures.keySet()) {
+            if (!afterSignatures.containsKey(key)) removed.add(key);
+        }
+
+        if (added.isEmpty() && removed.isEmpty() && changed.isEmpty() && !infoChanged) {
+            return EMPTY;
+        }
+        return new SpecDiff(Collections.unmodifiableList(added), Collections.unmodifiableList(removed),
+            Collections.unmodifiableList(changed), infoChanged);
+    }
+
+    /**
+     * "메서드 경로" -> 엔드포인트 전체를 직렬화한 문자열
+     */
+    private static Map<String, String> signatures(List<ApiEndpoint> endpoints) {
+        Map<String, String> signatures = new LinkedHashMap<>();
+        for (ApiEndpoint endpoint : endpoints) {
+            String key = endpoint.getMethod() + " " + endpoint.getPath();
+            try {
+                signatures.put(key, objectMapper.writeValueAsString(endpoint));
+            } catch (JsonProcessingException e) {
+                // 직렬화할 수 없으면 항상 변경된 것으로 취급
+                signatures.put(key, String.valueOf(System.identityHashCode(endpoint)));
+            }
+        }
+        return signatures;
+    }
+
+    public boolean isEmpty() {
+        return this == EMPTY;
+    }
+
+    public List<String> getAdded() {
+        return added;
+    }
+
+    public List<String> getRemoved() {
+        return removed;
+    }
+
+    public List<String> getChanged() {
+        return changed;
+    }
+
+    public boolean isInfoChanged() {
+        return infoChanged;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("추가 ").append(added.size()).append(", 삭제 ").append(removed.size())
+            .append(", 변경 ").append(changed.size());
+        if (infoChanged) sb.append(", API 정보 변경");
+        if (!added.isEmpty()) sb.append(" | +").append(String.join(", +", added));
+        if (!removed.isEmpty()) sb.append(" | -").append(String.join(", -", removed));
+        if (!changed.isEmpty()) sb.append(" | ~").append(String.join(", ~", changed));
+        return sb.toString();
+    }
+}
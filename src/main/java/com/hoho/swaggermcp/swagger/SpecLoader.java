@@ -0,0 +1,256 @@
+package com.hoho.swaggermcp.swagger;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스펙 로더
+ *
+ * 캐시가 없으면 기존처럼 SwaggerParser가 스펙 URL을 직접 읽습니다.
+ * 캐시가 설정되면 동작은 다음과 같습니다.
+ * 1. 캐시된 ETag/Last-Modified로 조건부 GET (If-None-Match / If-Modified-Since)
+ * 2. 304 응답이면 캐시된 모델을 그대로 사용 (다시 파싱하지 않음)
+ * 3. 200 응답이면 본문을 파싱하고 캐시 갱신
+ * 4. 스펙 서버에 접속할 수 없으면 캐시된 모델로 시작
+ *
+ * 오프라인 모드에서는 네트워크 요청 없이 캐시만 사용합니다.
+ *
+ * reload()는 실행 중 스펙 갱신용으로, 지금 사용 중인 모델의 ETag/Last-Modified로 조건부 요청을 보냅니다.
+ * (디스크 캐시가 없어도 동작) 검증자가 없는 200 응답이나 파일/클래스패스 스펙은 원본의 SHA-256을 비교해서
+ * 내용이 같으면 다시 파싱하지 않습니다.
+ */
+public class SpecLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpecLoader.class);
+
+    private static final OkHttpClient SPEC_CLIENT = new OkHttpClient.Builder()
+            .connectTimeout(30, TimeUnit.SECONDS)
+            .readTimeout(30, TimeUnit.SECONDS)
+            .build();
+
+    private final SpecCache cache;
+    private final boolean offline;
+
+    public SpecLoader() {
+        this(null, false);
+    }
+
+    /**
+     * @param cache 디스크 캐시 (null이면 캐시 미사용)
+     * @param offline true면 네트워크 없이 캐시만 사용
+     */
+    public SpecLoader(SpecCache cache, boolean offline) {
+        this.cache = cache;
+        this.offline = offline;
+    }
+
+    /**
+     * 스펙 로드
+     */
+    public SpecModel load(String specUrl) throws IOException {
+        if (cache == null || !isHttpUrl(specUrl)) {
+            return parseLocation(specUrl, isHttpUrl(specUrl) ? null : readLocation(specUrl));
+        }
+
+        SpecModel cached = readCached(specUrl);
+
+        if (offline) {
+            if (cached == null) {
+                throw new IllegalStateException("오프라인 모드이지만 캐시된 스펙이 없습니다: " + specUrl);
+            }
+            logger.info("오프라인 모드: 캐시된 스펙 사용 - {} ({}개 엔드포인트)", specUrl, cached.getEndpoints().size());
+            return cached;
+        }
+
+        try {
+            SpecModel model = fetch(specUrl, cached);
+            if (model == cached) {
+                logger.info("스펙 변경 없음 (304), 캐시 사용: {}", specUrl);
+            }
+            return model;
+        } catch (IOException e) {
+            if (cached == null) throw e;
+            logger.warn("스펙 서버에 접속할 수 없어 캐시된 스펙 사용: {} - {}", specUrl, e.getMessage());
+            return cached;
+        }
+    }
+
+    /**
+     * 실행 중 스펙 재검증
+     *
+     * @param current 지금 사용 중인 모델 (검증자로 사용)
+     * @return 304이면 current 그대로, 바뀌었으면 새 모델, 오프라인 모드이면 null
+     */
+    public SpecModel reload(String specUrl, SpecModel current) throws IOException {
+        if (offline) return null;
+        if (!isHttpUrl(specUrl)) {
+            byte[] raw = readLocation(specUrl);
+            if (raw != null && contentUnchanged(current, raw)) {
+                logger.debug("스펙 변경 없음 (내용 동일): {}", specUrl);
+                return current;
+            }
+            return parseLocation(specUrl, raw);
+        }
+        SpecModel model = fetch(specUrl, current);
+        if (model == current) {
+            logger.debug("스펙 변경 없음 (304): {}", specUrl);
+        }
+        return model;
+    }
+
+    /**
+     * 조건부 GET으로 스펙을 내려받아 모델 생성 (캐시가 있으면 갱신)
+     */
+    private SpecModel fetch(String specUrl, SpecModel cached) throws IOException {
+        Request.Builder requestBuilder = new Request.Builder().url(specUrl).get();
+        if (cached != null) {
+            if (cached.getEtag() != null) {
+                requestBuilder.header("If-None-Match", cached.getEtag());
+            }
+            if (cached.getLastModified() != null) {
+                requestBuilder.header("If-Modified-Since", cached.getLastModified());
+            }
+        }
+
+        try (Response response = SPEC_CLIENT.newCall(requestBuilder.build()).execute()) {
+            if (response.code() == 304 && cached != null) {
+                // 모델은 그대로이므로 디스크에 다시 쓰지 않음 (서버가 새 검증자를 보낸 경우만 저장)
+                cached.setFetchedAt(System.currentTimeMillis());
+                if (updateValidators(cached, response) && cache != null) cache.writeModel(specUrl, cached);
+                return cached;
+            }
+            if (!response.isSuccessful()) {
+                throw new IOException("스펙 요청 실패: HTTP " + response.code() + " " + response.message());
+            }
+
+            ResponseBody body = response.body();
+            String rawSpec = body != null ? body.string() : "";
+
+            // 검증자가 없거나 바뀌었어도 내용이 같으면 다시 파싱하지 않음
+            byte[] raw = rawSpec.getBytes(StandardCharsets.UTF_8);
+            if (cached != null && contentUnchanged(cached, raw)) {
+                cached.setFetchedAt(System.currentTimeMillis());
+                if (updateValidators(cached, response) && cache != null) cache.writeModel(specUrl, cached);
+                return cached;
+            }
+
+            SpecModel model = parseContents(specUrl, rawSpec);
+            model.setEtag(response.header("ETag"));
+            model.setLastModified(response.header("Last-Modified"));
+            model.setContentHash(contentHash(raw));
+            if (cache != null) cache.write(specUrl, rawSpec, model);
+            return model;
+        }
+    }
+
+    /**
+     * 변경 없음 응답(304 또는 내용이 같은 200)에 새 ETag/Last-Modified가 있으면 모델에 반영
+     *
+     * @return 검증자가 바뀌었으면 true
+     */
+    private static boolean updateValidators(SpecModel model, Response response) {
+        String etag = response.header("ETag");
+        String lastModified = response.header("Last-Modified");
+        boolean changed = false;
+        if (etag != null && !etag.equals(model.getEtag())) {
+            model.setEtag(etag);
+            changed = true;
+        }
+        if (lastModified != null && !lastModified.equals(model.getLastModified())) {
+            model.setLastModified(lastModified);
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * 캐시된 모델 읽기
+     *
+     * 모델 형식이 바뀌었으면 캐시된 원본 스펙에서 다시 추출합니다.
+     */
+    private SpecModel readCached(String specUrl) {
+        SpecModel cached = cache.readModel(specUrl);
+        if (cached == null || cached.getFormatVersion() == SpecModel.CURRENT_FORMAT_VERSION) {
+            return cached;
+        }
+
+        String rawSpec = cache.readRawSpec(specUrl);
+        if (rawSpec == null) return null;
+
+        try {
+            logger.info("캐시 모델 형식이 달라 원본 스펙에서 다시 추출: {}", specUrl);
+            SpecModel model = parseContents(specUrl, rawSpec);
+            model.setEtag(cached.getEtag());
+            model.setLastModified(cached.getLastModified());
+            model.setContentHash(contentHash(rawSpec.getBytes(StandardCharsets.UTF_8)));
+            cache.writeModel(specUrl, model);
+            return model;
+        } catch (RuntimeException e) {
+            logger.warn("캐시된 스펙을 파싱할 수 없음: {} - {}", specUrl, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 위치로 파싱 (상대 $ref를 위치 기준으로 풀도록 SwaggerParser가 직접 읽음)
+     *
+     * @param raw 변경 확인용으로 미리 읽은 원본 (읽을 수 없었으면 null, 해시 없이 저장)
+     */
+    private SpecModel parseLocation(String specUrl, byte[] raw) {
+        SwaggerParser parser = new SwaggerParser(specUrl);
+        List<ApiEndpoint> endpoints = parser.parse();
+        SpecModel model = SpecModel.from(specUrl, parser, endpoints);
+        if (raw != null) model.setContentHash(contentHash(raw));
+        return model;
+    }
+
+    /**
+     * 파일 경로(file: URL 포함) 또는 클래스패스 스펙의 원본 읽기 (읽을 수 없으면 null)
+     */
+    private static byte[] readLocation(String specUrl) {
+        try {
+            Path path = specUrl.startsWith("file:") ? Path.of(URI.create(specUrl)) : Path.of(specUrl);
+            if (Files.isRegularFile(path)) return Files.readAllBytes(path);
+
+            String resource = specUrl.startsWith("/") ? specUrl.substring(1) : specUrl;
+            try (InputStream in = SpecLoader.class.getClassLoader().getResourceAsStream(resource)) {
+                if (in != null) return in.readAllBytes();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("스펙 원본을 읽을 수 없어 내용 비교 생략: {} - {}", specUrl, e.getMessage());
+        }
+        return null;
+    }
+
+    private static boolean contentUnchanged(SpecModel current, byte[] raw) {
+        return current != null && current.getContentHash() != null
+            && current.getContentHash().equals(contentHash(raw));
+    }
+
+    private static String contentHash(byte[] raw) {
+        return SpecCache.sha256(raw, 32);
+    }
+
+    private SpecModel parseContents(String specUrl, String rawSpec) {
+        SwaggerParser parser = new SwaggerParser(specUrl);
+        List<ApiEndpoint> endpoints = parser.parseContents(rawSpec);
+        return SpecModel.from(specUrl, parser, endpoints);
+    }
+
+    private static boolean isHttpUrl(String specUrl) {
+        return specUrl.startsWith("http://") || specUrl.startsWith("https://");
+    }
+}
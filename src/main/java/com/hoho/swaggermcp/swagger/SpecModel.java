@@ -0,0 +1,128 @@
+package com.hoho.swaggermcp.swagger;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스펙에서 추출한 API 모델
+ *
+ * SwaggerParser의 파싱 결과와 캐시 재검증에 필요한 HTTP 검증자(ETag, Last-Modified)를 담습니다.
+ * 디스크 캐시에는 이 객체가 JSON으로 저장됩니다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SpecModel {
+
+    /** 모델 형식 버전 (ApiEndpoint/ApiParameter 구조가 바뀌면 올림) */
+    public static final int CURRENT_FORMAT_VERSION = 1;
+
+    private int formatVersion = CURRENT_FORMAT_VERSION;
+    private String specUrl;
+    private String apiTitle;
+    private String apiVersion;
+    private String baseUrl;
+    private List<ApiEndpoint> endpoints = new ArrayList<>();
+    private String etag;
+    private String lastModified;
+    private String contentHash;  // 원본 스펙의 SHA-256 (검증자가 없거나 파일 스펙일 때 변경 확인용)
+    private long fetchedAt;
+
+    public SpecModel() {}
+
+    /**
+     * 파싱이 끝난 SwaggerParser에서 모델 생성
+     */
+    public static SpecModel from(String specUrl, SwaggerParser parser, List<ApiEndpoint> endpoints) {
+        SpecModel model = new SpecModel();
+        model.setSpecUrl(specUrl);
+        model.setApiTitle(parser.getApiTitle());
+        model.setApiVersion(parser.getApiVersion());
+        model.setBaseUrl(parser.getBaseUrl());
+        model.setEndpoints(endpoints);
+        model.setFetchedAt(System.currentTimeMillis());
+        return model;
+    }
+
+    public int getFormatVersion() {
+        return formatVersion;
+    }
+
+    public void setFormatVersion(int formatVersion) {
+        this.formatVersion = formatVersion;
+    }
+
+    public String getSpecUrl() {
+        return specUrl;
+    }
+
+    public void setSpecUrl(String specUrl) {
+        this.specUrl = specUrl;
+    }
+
+    public String getApiTitle() {
+        return apiTitle;
+    }
+
+    public void setApiTitle(String apiTitle) {
+        this.apiTitle = apiTitle;
+    }
+
+    public String getApiVersion() {
+        return apiVersion;
+    }
+
+    public void setApiVersion(String apiVersion) {
+        this.apiVersion = apiVersion;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public List<ApiEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<ApiEndpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(long fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+}
@@ -0,0 +1,154 @@
+package com.hoho.swaggermcp.swagger;
+
+import com.hoho.swaggermcp.http.HttpClientSettings;
+import com.hoho.swaggermcp.http.OutputFormat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SwaggerToolProvider 동작 옵션
+ *
+ * 커맨드라인 인자에서 읽은 값을 담습니다. 지정하지 않은 항목은 기본값을 사용합니다.
+ */
+public class SwaggerOptions {
+
+    public static final int DEFAULT_INIT_PARALLELISM = 8;
+    public static final int DEFAULT_INIT_TIMEOUT_SECONDS = 60;
+    public static final int DEFAULT_BATCH_PARALLELISM = 8;
+
+    private int initParallelism = DEFAULT_INIT_PARALLELISM;
+    private int initTimeoutSeconds = DEFAULT_INIT_TIMEOUT_SECONDS;
+    private String cacheDir;
+    private boolean offline;
+    private boolean lazy;
+    private boolean warmup;
+    private int batchParallelism = DEFAULT_BATCH_PARALLELISM;
+    private int refreshIntervalSeconds;
+    private OutputFormat outputFormat = OutputFormat.MARKDOWN;
+    private HttpClientSettings httpSettings = new HttpClientSettings();
+    private final Map<String, HttpClientSettings> apiHttpSettings = new HashMap<>();
+
+    public SwaggerOptions() {}
+
+    /**
+     * 동시에 로드할 스펙 수
+     */
+    public int getInitParallelism() {
+        return initParallelism;
+    }
+
+    public void setInitParallelism(int initParallelism) {
+        this.initParallelism = initParallelism;
+    }
+
+    /**
+     * 스펙 하나당 로드 제한 시간 (초, 0 이하이면 제한 없음)
+     */
+    public int getInitTimeoutSeconds() {
+        return initTimeoutSeconds;
+    }
+
+    public void setInitTimeoutSeconds(int initTimeoutSeconds) {
+        this.initTimeoutSeconds = initTimeoutSeconds;
+    }
+
+    /**
+     * 스펙 디스크 캐시 디렉토리 (null이면 캐시 미사용)
+     */
+    public String getCacheDir() {
+        return cacheDir;
+    }
+
+    public void setCacheDir(String cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * 오프라인 모드: 스펙 서버에 요청하지 않고 캐시만 사용
+     */
+    public boolean isOffline() {
+        return offline;
+    }
+
+    public void setOffline(boolean offline) {
+        this.offline = offline;
+    }
+
+    /**
+     * 지연 로드 모드: 시작 시 이름/URL만 등록하고 처음 사용될 때 스펙 로드
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    /**
+     * 지연 로드 모드에서 initialize 핸드셰이크 이후 백그라운드로 모든 스펙 미리 로드
+     */
+    public boolean isWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(boolean warmup) {
+        this.warmup = warmup;
+    }
+
+    /**
+     * call_api_batch/call_api_pipeline에서 동시에 실행할 최대 호출 수 (호출별 parallelism의 상한)
+     */
+    public int getBatchParallelism() {
+        return batchParallelism;
+    }
+
+    public void setBatchParallelism(int batchParallelism) {
+        this.batchParallelism = batchParallelism;
+    }
+
+    /**
+     * 스펙 갱신 확인 주기 (초, 0 이하이면 갱신하지 않음)
+     */
+    public int getRefreshIntervalSeconds() {
+        return refreshIntervalSeconds;
+    }
+
+    public void setRefreshIntervalSeconds(int refreshIntervalSeconds) {
+        this.refreshIntervalSeconds = refreshIntervalSeconds;
+    }
+
+    /**
+     * format 인자를 생략했을 때 list_api_endpoints, search_api, call_api 결과 형식
+     */
+    public OutputFormat getOutputFormat() {
+        return outputFormat;
+    }
+
+    public void setOutputFormat(OutputFormat outputFormat) {
+        this.outputFormat = outputFormat;
+    }
+
+    /**
+     * API 호출에 사용할 HTTP 클라이언트 기본 설정
+     */
+    public HttpClientSettings getHttpSettings() {
+        return httpSettings;
+    }
+
+    public void setHttpSettings(HttpClientSettings httpSettings) {
+        this.httpSettings = httpSettings;
+    }
+
+    /**
+     * 특정 API의 HTTP 클라이언트 설정 (따로 지정하지 않았으면 기본 설정)
+     */
+    public HttpClientSettings getHttpSettings(String apiName) {
+        return apiHttpSettings.getOrDefault(apiName, httpSettings);
+    }
+
+    public void setHttpSettings(String apiName, HttpClientSettings settings) {
+        apiHttpSettings.put(apiName, settings);
+    }
+}
@@ -1,11 +1,14 @@
 package com.hoho.swaggermcp.swagger;
 
+import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +39,34 @@ public class SwaggerParser {
         logger.info("Swagger 스펙 파싱 시작: {}", specUrl);
 
         openAPI = new OpenAPIV3Parser().read(specUrl);
+        return extractAll();
+    }
+
+    /**
+     * 이미 내려받은 스펙 본문 파싱 (캐시/조건부 요청용)
+     *
+     * 상대 $ref와 서버 URL은 specUrl 기준으로 해석합니다.
+     */
+    public List<ApiEndpoint> parseContents(String content) {
+        logger.info("Swagger 스펙 파싱 시작 (내려받은 본문): {}", specUrl);
+
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+
+        SwaggerParseResult result = new OpenAPIV3Parser().readContents(content, null, options, specUrl);
+        openAPI = result != null ? result.getOpenAPI() : null;
+        if (openAPI == null) {
+            // OpenAPI 3가 아니면 (Swagger 2.0 등) 변환기 포함 파서로 재시도
+            result = new OpenAPIParser().readContents(content, null, options);
+            openAPI = result != null ? result.getOpenAPI() : null;
+        }
+        return extractAll();
+    }
+
+    /**
+     * 파싱된 OpenAPI 모델에서 엔드포인트 추출
+     */
+    private List<ApiEndpoint> extractAll() {
         if (openAPI == null) {
             throw new IllegalStateException("Swagger 스펙을 파싱할 수 없습니다: " + specUrl);
         }
@@ -2,12 +2,31 @@ package com.hoho.swaggermcp.swagger;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hoho.swaggermcp.concurrent.AsyncLimiter;
+import com.hoho.swaggermcp.concurrent.ThreadPools;
+import com.hoho.swaggermcp.http.ApiResponse;
+import com.hoho.swaggermcp.http.CallOptions;
+import com.hoho.swaggermcp.http.JsonProjection;
+import com.hoho.swaggermcp.http.OutputFormat;
 import com.hoho.swaggermcp.mcp.McpModels;
 import com.hoho.swaggermcp.mcp.ToolProvider;
+import com.hoho.swaggermcp.metrics.ServerMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -21,53 +40,311 @@ import java.util.stream.Collectors;
  * 3. list_api_endpoints - 특정 카테고리의 엔드포인트 목록 조회
  * 4. search_api - 키워드로 API 검색
  * 5. call_api - operationId로 API 직접 호출
+ * 6. call_api_batch - 여러 API를 한 번에 동시 호출
+ * 7. call_api_pipeline - 앞 호출의 응답을 다음 호출에 이어 붙여 서버 안에서 실행
+ * 8. server_metrics - 단계별 처리 시간/크기 분포 조회 (업스트림 지연과 서버 처리 시간 구분)
  */
 public class SwaggerToolProvider implements ToolProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(SwaggerToolProvider.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final int MAX_BATCH_ITEMS = 100;
 
     private final Map<String, String> apiConfigs;
     private final Map<String, String> authHeaders;
+    private final SwaggerOptions options;
+    private final SpecLoader specLoader;
     private final Map<String, ApiInstance> apiInstances = new LinkedHashMap<>();
+    private final AtomicBoolean warmupStarted = new AtomicBoolean();
+    private volatile Runnable toolListChangedListener;
+    // getTools() 결과 (스펙이 바뀌거나 지연 로드가 끝나면 null로 비워 다시 생성)
+    private volatile List<McpModels.Tool> tools;
+    private ScheduledExecutorService refresher;
+
+    // 전체 API 검색용 풀 (API별 색인 검색을 코어 수만큼 병렬 처리)
+    private final ExecutorService searchPool = Executors.newFixedThreadPool(
+        Runtime.getRuntime().availableProcessors(), ThreadPools.daemonThreadFactory("api-search"));
 
     public SwaggerToolProvider(Map<String, String> apiConfigs) {
         this(apiConfigs, new LinkedHashMap<>());
     }
 
     public SwaggerToolProvider(Map<String, String> apiConfigs, Map<String, String> authHeaders) {
+        this(apiConfigs, authHeaders, new SwaggerOptions());
+    }
+
+    public SwaggerToolProvider(Map<String, String> apiConfigs, Map<String, String> authHeaders,
+                               SwaggerOptions options) {
         this.apiConfigs = apiConfigs;
         this.authHeaders = authHeaders != null ? authHeaders : new LinkedHashMap<>();
+        this.options = options != null ? options : new SwaggerOptions();
+        this.specLoader = createSpecLoader(this.options);
+    }
+
+    private static SpecLoader createSpecLoader(SwaggerOptions options) {
+        if (options.getCacheDir() == null || options.getCacheDir().isBlank()) {
+            if (options.isOffline()) {
+                logger.warn("오프라인 모드는 캐시 디렉토리(--cache-dir)가 있어야 동작합니다");
+            }
+            return new SpecLoader();
+        }
+        logger.info("스펙 캐시 사용: {}{}", options.getCacheDir(), options.isOffline() ? " (오프라인 모드)" : "");
+        return new SpecLoader(new SpecCache(Paths.get(options.getCacheDir())), options.isOffline());
     }
 
     /**
      * 초기화: 모든 API의 Swagger 스펙 파싱
+     *
+     * 스펙은 병렬로 로드하지만 등록 순서는 설정 순서를 그대로 유지합니다.
+     * 실패하거나 제한 시간을 넘긴 API는 건너뛰고 나머지만 등록합니다.
      */
     public void initialize() {
-        logger.info("SwaggerToolProvider 초기화 시작");
+        if (apiConfigs.isEmpty()) {
+            logger.info("등록할 API가 없습니다");
+            return;
+        }
+
+        if (options.isLazy()) {
+            // 지연 로드: 이름/URL만 등록하고 처음 사용될 때 스펙 로드
+            for (Map.Entry<String, String> entry : apiConfigs.entrySet()) {
+                String name = entry.getKey();
+                apiInstances.put(name, new ApiInstance(name, entry.getValue(), authHeaders.get(name), specLoader,
+                    options.getHttpSettings(name)));
+            }
+            logger.info("지연 로드 모드: {}개의 API 등록 (스펙은 처음 사용할 때 로드)", apiInstances.size());
+            startRefresher();
+            return;
+        }
+
+        int parallelism = Math.max(1, Math.min(options.getInitParallelism(), apiConfigs.size()));
+        logger.info("SwaggerToolProvider 초기화 시작 (병렬 로드: {}개, API별 제한 시간: {}초)",
+            parallelism, options.getInitTimeoutSeconds() > 0 ? options.getInitTimeoutSeconds() : "없음");
+        long startedAt = System.nanoTime();
 
-        for (Map.Entry<String, String> entry : apiConfigs.entrySet()) {
-            String name = entry.getKey();
-            String url = entry.getValue();
-            String authHeader = authHeaders.get(name);
+        ExecutorService loaders = Executors.newFixedThreadPool(parallelism, ThreadPools.daemonThreadFactory("spec-loader"));
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(ThreadPools.daemonThreadFactory("spec-timeout"));
+
+        try {
+            Map<String, CompletableFuture<ApiInstance>> pending = new LinkedHashMap<>();
+            for (Map.Entry<String, String> entry : apiConfigs.entrySet()) {
+                String name = entry.getKey();
+                pending.put(name, loadAsync(name, entry.getValue(), authHeaders.get(name), loaders, timer));
+            }
+
+            // 설정 순서대로 결과 수집 (LinkedHashMap 등록 순서 유지)
+            for (Map.Entry<String, CompletableFuture<ApiInstance>> entry : pending.entrySet()) {
+                try {
+                    apiInstances.put(entry.getKey(), entry.getValue().join());
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    logger.error("API 초기화 실패: {} - {}", entry.getKey(), cause.getMessage());
+                }
+            }
+        } finally {
+            // 제한 시간을 넘겨 아직 실행 중인 로더는 중단
+            loaders.shutdownNow();
+            timer.shutdownNow();
+        }
+
+        logger.info("총 {}개의 API 초기화 완료 (설정 {}개 중, 전체 {}ms)",
+            apiInstances.size(), apiConfigs.size(), elapsedMillis(startedAt));
+        startRefresher();
+    }
+
+    /**
+     * 스펙 갱신 스케줄러 시작 (--refresh-interval)
+     */
+    private void startRefresher() {
+        int interval = options.getRefreshIntervalSeconds();
+        if (interval <= 0 || apiInstances.isEmpty()) return;
+        if (options.isOffline()) {
+            logger.warn("오프라인 모드에서는 스펙 갱신을 하지 않습니다");
+            return;
+        }
+
+        refresher = Executors.newSingleThreadScheduledExecutor(ThreadPools.daemonThreadFactory("spec-refresher"));
+        refresher.scheduleWithFixedDelay(this::refreshSpecs, interval, interval, TimeUnit.SECONDS);
+        logger.info("스펙 갱신 확인 주기: {}초", interval);
+    }
+
+    /**
+     * 로드된 모든 스펙을 조건부 요청으로 재검증하고, 하나라도 바뀌었으면 Tool 목록 변경 알림
+     *
+     * 각 API는 새 스냅샷으로 통째로 교체되므로 진행 중인 call_api는 이전 엔드포인트로 끝까지 실행됩니다.
+     * 재검증에 실패하면 기존 스냅샷을 그대로 유지합니다.
+     */
+    void refreshSpecs() {
+        boolean changed = false;
+        for (ApiInstance api : apiInstances.values()) {
+            if (!api.isLoaded()) continue;
+            try {
+                changed |= !api.refresh().isEmpty();
+            } catch (Exception e) {
+                logger.warn("스펙 갱신 실패, 기존 스펙 유지: {} - {}", api.getName(), e.getMessage());
+            }
+        }
+
+        if (changed) toolListChanged();
+    }
+
+    /**
+     * Tool 목록을 다시 만들도록 하고 클라이언트에 목록 변경 알림 (notifications/tools/list_changed)
+     */
+    private void toolListChanged() {
+        tools = null;
+        Runnable listener = toolListChangedListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    @Override
+    public void setToolListChangedListener(Runnable listener) {
+        this.toolListChangedListener = listener;
+    }
+
+    /**
+     * API 하나를 로더 스레드에서 초기화
+     *
+     * 제한 시간은 대기열이 아니라 실제 로드가 시작된 시점부터 계산합니다.
+     */
+    private CompletableFuture<ApiInstance> loadAsync(String name, String url, String authHeader,
+                                                     ExecutorService loaders, ScheduledExecutorService timer) {
+        CompletableFuture<ApiInstance> future = new CompletableFuture<>();
+        int timeoutSeconds = options.getInitTimeoutSeconds();
+
+        loaders.execute(() -> {
+            ScheduledFuture<?> timeout = timeoutSeconds > 0
+                ? timer.schedule(() -> future.completeExceptionally(
+                    new TimeoutException("스펙 로드 제한 시간 초과 (" + timeoutSeconds + "초)")),
+                    timeoutSeconds, TimeUnit.SECONDS)
+                : null;
+            long startedAt = System.nanoTime();
 
             try {
                 logger.info("API 초기화 중: {} ({}){}", name, url, authHeader != null ? " [인증 설정됨]" : "");
-                ApiInstance instance = new ApiInstance(name, url, authHeader);
+                ApiInstance instance = new ApiInstance(name, url, authHeader, specLoader, options.getHttpSettings(name));
                 instance.initialize();
-                apiInstances.put(name, instance);
-                logger.info("API 초기화 완료: {} - {}개 엔드포인트, {}개 카테고리",
-                    name, instance.getEndpointCount(), instance.getCategoryCount());
-            } catch (Exception e) {
-                logger.error("API 초기화 실패: {} - {}", name, e.getMessage());
+                if (future.complete(instance)) {
+                    logger.info("API 초기화 완료: {} - {}개 엔드포인트, {}개 카테고리 ({}ms)",
+                        name, instance.getEndpointCount(), instance.getCategoryCount(), elapsedMillis(startedAt));
+                } else {
+                    logger.warn("제한 시간 이후에 완료되어 무시: {} ({}ms)", name, elapsedMillis(startedAt));
+                }
+            } catch (Throwable e) {
+                logger.debug("API 로드 오류: {} ({}ms)", name, elapsedMillis(startedAt), e);
+                future.completeExceptionally(e);
+            } finally {
+                if (timeout != null) {
+                    timeout.cancel(false);
+                }
+            }
+        });
+
+        return future;
+    }
+
+    private static long elapsedMillis(long startedAtNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+    }
+
+    /**
+     * initialize 핸드셰이크 이후: 지연 로드 모드에서 워밍업이 켜져 있으면 백그라운드로 모든 스펙 로드
+     */
+    @Override
+    public void onInitialized() {
+        if (!options.isLazy() || !options.isWarmup() || !warmupStarted.compareAndSet(false, true)) {
+            return;
+        }
+
+        Thread warmupThread = new Thread(this::warmUp, "spec-warmup");
+        warmupThread.setDaemon(true);
+        warmupThread.start();
+    }
+
+    private void warmUp() {
+        int parallelism = Math.max(1, Math.min(options.getInitParallelism(), apiInstances.size()));
+        logger.info("백그라운드 워밍업 시작 (병렬 로드: {}개)", parallelism);
+        long startedAt = System.nanoTime();
+
+        ExecutorService loaders = Executors.newFixedThreadPool(parallelism, ThreadPools.daemonThreadFactory("spec-warmup"));
+        try {
+            List<CompletableFuture<Void>> loads = new ArrayList<>();
+            for (ApiInstance api : apiInstances.values()) {
+                loads.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        ensureLoaded(api);
+                    } catch (Exception e) {
+                        logger.warn("워밍업 중 API 로드 실패: {} - {}", api.getName(), e.getMessage());
+                    }
+                }, loaders));
             }
+            CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            loaders.shutdown();
         }
 
-        logger.info("총 {}개의 API 초기화 완료", apiInstances.size());
+        long loadedCount = apiInstances.values().stream().filter(ApiInstance::isLoaded).count();
+        logger.info("백그라운드 워밍업 완료: {}/{}개 로드 ({}ms)", loadedCount, apiInstances.size(), elapsedMillis(startedAt));
     }
 
+    /**
+     * 종료: 스펙 갱신과 검색 풀 종료, 각 API의 HTTP 클라이언트 반납
+     */
+    @Override
+    public void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+        searchPool.shutdownNow();
+        for (ApiInstance api : apiInstances.values()) {
+            api.close();
+        }
+    }
+
+    /**
+     * 스펙이 아직 로드되지 않았으면 로드 (동시 호출 시 한 번만 로드)
+     */
+    private void ensureLoaded(ApiInstance api) throws IOException {
+        if (api.isLoaded()) return;
+
+        long startedAt = System.nanoTime();
+        boolean loadedNow;
+        try {
+            loadedNow = api.initialize();
+        } catch (IOException | RuntimeException e) {
+            throw new IOException("API 스펙 로드 실패: " + api.getName() + " - " + e.getMessage(), e);
+        }
+        if (loadedNow) {
+            // Tool 설명에 API 제목/버전이 들어가므로 다시 생성하고, 목록을 캐시한 클라이언트에도 알림
+            toolListChanged();
+            logger.info("API 로드 완료: {} - {}개 엔드포인트, {}개 카테고리 ({}ms)",
+                api.getName(), api.getEndpointCount(), api.getCategoryCount(), elapsedMillis(startedAt));
+        }
+    }
+
+    /**
+     * 목록 표시용 로드 상태
+     */
+    private static String loadStatus(ApiInstance api) {
+        if (api.isLoaded()) return "로드됨";
+        return api.getLoadError() != null ? "로드 실패" : "미로드";
+    }
+
+    /**
+     * Tool 목록 (바뀌지 않았으면 같은 리스트 인스턴스를 반환)
+     */
     @Override
     public List<McpModels.Tool> getTools() {
+        List<McpModels.Tool> cached = tools;
+        if (cached == null) {
+            cached = Collections.unmodifiableList(createTools());
+            tools = cached;
+        }
+        return cached;
+    }
+
+    private List<McpModels.Tool> createTools() {
         List<McpModels.Tool> tools = new ArrayList<>();
 
         // 1. list_registered_apis (멀티 API일 때만 추가)
@@ -87,6 +364,15 @@ public class SwaggerToolProvider implements ToolProvider {
         // 5. call_api
         tools.add(createCallApiToolDef());
 
+        // 6. call_api_batch
+        tools.add(createCallApiBatchToolDef());
+
+        // 7. call_api_pipeline
+        tools.add(createCallApiPipelineToolDef());
+
+        // 8. server_metrics
+        tools.add(createServerMetricsToolDef());
+
         return tools;
     }
 
@@ -146,6 +432,7 @@ public class SwaggerToolProvider implements ToolProvider {
             "string",
             "Category (tag) name to list endpoints for. Use list_api_categories to get available categories."
         ));
+        properties.put("format", formatProperty());
 
         return new McpModels.Tool(
             "list_api_endpoints",
@@ -162,7 +449,7 @@ public class SwaggerToolProvider implements ToolProvider {
         if (apiInstances.size() > 1) {
             properties.put("api", new McpModels.PropertySchema(
                 "string",
-                "API name to search in. Use list_registered_apis to see available APIs."
+                "API name to search in. Omit to search all registered APIs at once."
             ));
         }
         properties.put("keyword", new McpModels.PropertySchema(
@@ -173,11 +460,14 @@ public class SwaggerToolProvider implements ToolProvider {
             "integer",
             "Maximum number of results to return (default: 10, max: 50)"
         ));
+        properties.put("format", formatProperty());
 
         return new McpModels.Tool(
             "search_api",
             "Search for API endpoints by keyword.\n" +
-            "Searches in paths, operationIds, summaries, and descriptions.\n" +
+            "Searches in paths, operationIds, summaries, descriptions, and tags.\n" +
+            "Multiple words must all match (prefix match, e.g. 'pet' matches 'pets'); results are ranked by relevance.\n" +
+            (apiInstances.size() > 1 ? "Without 'api', searches every registered API and shows which API owns each endpoint.\n" : "") +
             "Returns matching endpoints with full details including parameters.",
             new McpModels.InputSchema(properties, List.of("keyword"))
         );
@@ -196,6 +486,14 @@ public class SwaggerToolProvider implements ToolProvider {
             "string",
             "The operationId of the API to call. Get this from list_api_endpoints or search_api."
         ));
+        properties.put("method", new McpModels.PropertySchema(
+            "string",
+            "Optional HTTP method (e.g. GET). Use together with 'path' only when the operationId is ambiguous."
+        ));
+        properties.put("path", new McpModels.PropertySchema(
+            "string",
+            "Optional path template (e.g. /pets/{petId}). Use together with 'method' only when the operationId is ambiguous."
+        ));
         properties.put("parameters", new McpModels.PropertySchema(
             "object",
             "Parameters for the API call as a JSON object. Include path, query, and body parameters as needed."
@@ -204,19 +502,161 @@ public class SwaggerToolProvider implements ToolProvider {
             "object",
             "Custom HTTP headers to include in the request. Use this for Authorization tokens, e.g., {\"Authorization\": \"Bearer xxx\"}"
         ));
+        properties.put("select", new McpModels.PropertySchema(
+            "string",
+            "Optional comma-separated paths to keep from a JSON response, as JSON Pointer (/data/0/name) " +
+            "or JSONPath ($.data[*].name). '*' matches any field or element. Other fields are dropped."
+        ));
+        properties.put("offset", new McpModels.PropertySchema(
+            "integer",
+            "Optional index of the first element to return from the outermost JSON array(s) in the response (default: 0)"
+        ));
+        properties.put("limit", new McpModels.PropertySchema(
+            "integer",
+            "Optional maximum number of elements to return from the outermost JSON array(s) in the response"
+        ));
+        properties.put("maxDepth", new McpModels.PropertySchema(
+            "integer",
+            "Optional maximum nesting depth of the response to print (root = 1). Deeper objects/arrays are shown as {…} / […]."
+        ));
+        properties.put("noCache", new McpModels.PropertySchema(
+            "boolean",
+            "Set true to bypass the response cache and fetch a fresh result (only relevant when caching is enabled for the API)"
+        ));
+        properties.put("format", formatProperty());
 
         return new McpModels.Tool(
             "call_api",
             "Call an API endpoint by its operationId.\n" +
             "First use list_api_endpoints or search_api to find the operationId and required parameters.\n" +
             "Pass parameters as a JSON object with parameter names as keys.\n" +
-            "Use 'headers' parameter to pass custom headers like Authorization tokens.",
+            "Use 'headers' parameter to pass custom headers like Authorization tokens.\n" +
+            "For large responses, use 'select', 'offset'/'limit' and 'maxDepth' to return only what you need.",
             new McpModels.InputSchema(properties, List.of("operationId"))
         );
     }
 
+    private McpModels.PropertySchema formatProperty() {
+        return new McpModels.PropertySchema(
+            "string",
+            "Optional output format: 'compact' (one line per item, minified JSON; fewest tokens), " +
+            "'markdown' (tables and pretty-printed JSON) or 'json' (a single minified JSON document). " +
+            "Default: " + options.getOutputFormat().id()
+        );
+    }
+
+    private McpModels.Tool createCallApiBatchToolDef() {
+        Map<String, McpModels.PropertySchema> properties = new LinkedHashMap<>();
+
+        McpModels.PropertySchema items = new McpModels.PropertySchema(
+            "array",
+            "Calls to make. Each item takes the same arguments as call_api " +
+            "(" + (apiInstances.size() > 1 ? "api, " : "") + "operationId, parameters, headers, and optionally " +
+            "method, path, select, offset, limit, maxDepth, noCache, format). Max " + MAX_BATCH_ITEMS + " items."
+        );
+        items.setItems(new McpModels.PropertySchema("object", "call_api arguments for one call"));
+        properties.put("items", items);
+        properties.put("parallelism", new McpModels.PropertySchema(
+            "integer",
+            "Optional maximum number of calls to run at the same time (default and upper bound: " +
+            options.getBatchParallelism() + ")"
+        ));
+        properties.put("mode", new McpModels.PropertySchema(
+            "string",
+            "'continue' (default) runs every item even if some fail. " +
+            "'failFast' skips items that have not started yet once any item fails (invalid arguments, network error or HTTP 4xx/5xx)."
+        ));
+
+        return new McpModels.Tool(
+            "call_api_batch",
+            "Call several API endpoints in one request, running them concurrently.\n" +
+            "Use this instead of repeated call_api calls when you already know the operationIds and parameters.\n" +
+            "Returns a summary table and each item's status, timing and response in input order.",
+            new McpModels.InputSchema(properties, List.of("items"))
+        );
+    }
+
+    private McpModels.Tool createCallApiPipelineToolDef() {
+        Map<String, McpModels.PropertySchema> properties = new LinkedHashMap<>();
+
+        McpModels.PropertySchema steps = new McpModels.PropertySchema(
+            "array",
+            "Calls to make, each with the same arguments as call_api. Any string value may reference an earlier " +
+            "step's result: ${steps[N].body.path} (e.g. ${steps[0].body.id}, ${steps[0].body.items[0].name}) or " +
+            "${steps[N].status}. A value that is exactly one reference keeps the referenced JSON type. Max " +
+            MAX_BATCH_ITEMS + " steps."
+        );
+        steps.setItems(new McpModels.PropertySchema("object", "call_api arguments for one step"));
+        properties.put("steps", steps);
+        properties.put("showAll", new McpModels.PropertySchema(
+            "boolean",
+            "Set true to include the responses of intermediate steps (by default only failed steps and steps " +
+            "that no other step references are shown)"
+        ));
+
+        return new McpModels.Tool(
+            "call_api_pipeline",
+            "Run dependent API calls inside the server, feeding fields from earlier responses into later calls.\n" +
+            "Example: create a resource, then GET /things/{id} with parameters {\"id\": \"${steps[0].body.id}\"}.\n" +
+            "Steps that do not reference each other run concurrently. If a step fails (HTTP 4xx/5xx or error), " +
+            "steps that reference it are skipped.",
+            new McpModels.InputSchema(properties, List.of("steps"))
+        );
+    }
+
+    private McpModels.Tool createServerMetricsToolDef() {
+        Map<String, McpModels.PropertySchema> properties = new LinkedHashMap<>();
+        properties.put("filter", new McpModels.PropertySchema(
+            "string",
+            "Only show rows whose label contains this text (e.g. an API name or operationId)"
+        ));
+        properties.put("reset", new McpModels.PropertySchema(
+            "boolean",
+            "Set true to clear all metrics after returning them (starts a new measurement window)"
+        ));
+
+        return new McpModels.Tool(
+            "server_metrics",
+            "Show latency and size percentiles recorded by this server.\n" +
+            "Per tool: tools/call dispatch time. Per API operation: upstream time until response headers, " +
+            "response formatting time (includes reading the body), request/response body bytes. " +
+            "Also JSON-RPC parse time and message sizes.\n" +
+            "Use this to tell whether a slow call_api is the upstream API or this server's response handling.",
+            new McpModels.InputSchema(properties, null)
+        );
+    }
+
     @Override
     public McpModels.CallToolResult callTool(String name, JsonNode arguments) {
+        return callToolAsync(name, arguments).join();
+    }
+
+    /**
+     * Tool 비동기 호출 (API 호출 Tool은 HTTP 응답을 기다리는 동안 스레드를 점유하지 않음)
+     */
+    @Override
+    public CompletableFuture<McpModels.CallToolResult> callToolAsync(String name, JsonNode arguments) {
+        try {
+            switch (name) {
+                case "call_api":
+                    return handleCallApi(arguments);
+                case "call_api_batch":
+                    return handleCallApiBatch(arguments);
+                case "call_api_pipeline":
+                    return handleCallApiPipeline(arguments);
+                default:
+                    return CompletableFuture.completedFuture(callLookupTool(name, arguments));
+            }
+        } catch (Exception e) {
+            logger.error("Tool 실행 오류: {}", name, e);
+            return CompletableFuture.completedFuture(McpModels.CallToolResult.error("Error: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 조회 Tool 실행 (바로 끝나는 작업)
+     */
+    private McpModels.CallToolResult callLookupTool(String name, JsonNode arguments) {
         try {
             switch (name) {
                 case "list_registered_apis":
@@ -227,8 +667,8 @@ public class SwaggerToolProvider implements ToolProvider {
                     return handleListEndpoints(arguments);
                 case "search_api":
                     return handleSearchApi(arguments);
-                case "call_api":
-                    return handleCallApi(arguments);
+                case "server_metrics":
+                    return handleServerMetrics(arguments);
                 default:
                     return McpModels.CallToolResult.error("Unknown tool: " + name);
             }
@@ -271,8 +711,9 @@ public class SwaggerToolProvider implements ToolProvider {
         sb.append("|------|-----|------------|\n");
 
         for (ApiInstance api : apiInstances.values()) {
-            sb.append(String.format("| %s | %s | %d개 |\n",
-                api.getName(), api.getSpecUrl(), api.getEndpointCount()));
+            sb.append(String.format("| %s | %s | %s |\n",
+                api.getName(), api.getSpecUrl(),
+                api.isLoaded() ? api.getEndpointCount() + "개" : loadStatus(api)));
         }
 
         sb.append("\n예: \"로컬 API 카테고리 보여줘\" 또는 api 파라미터에 API 이름 지정");
@@ -288,16 +729,19 @@ public class SwaggerToolProvider implements ToolProvider {
         sb.append("# 등록된 API 목록\n\n");
         sb.append(String.format("총 %d개의 API가 등록되어 있습니다.\n\n", apiInstances.size()));
 
-        sb.append("| 이름 | 제목 | 버전 | 카테고리 | 엔드포인트 |\n");
-        sb.append("|------|------|------|----------|------------|\n");
+        sb.append("| 이름 | 제목 | 버전 | 카테고리 | 엔드포인트 | 상태 |\n");
+        sb.append("|------|------|------|----------|------------|------|\n");
 
+        // 지연 로드 모드에서도 스펙을 강제로 로드하지 않음
         for (ApiInstance api : apiInstances.values()) {
-            sb.append(String.format("| %s | %s | %s | %d개 | %d개 |\n",
+            boolean loaded = api.isLoaded();
+            sb.append(String.format("| %s | %s | %s | %s | %s | %s |\n",
                 api.getName(),
                 api.getApiTitle() != null ? api.getApiTitle() : "-",
                 api.getApiVersion() != null ? api.getApiVersion() : "-",
-                api.getCategoryCount(),
-                api.getEndpointCount()
+                loaded ? api.getCategoryCount() + "개" : "-",
+                loaded ? api.getEndpointCount() + "개" : "-",
+                loadStatus(api)
             ));
         }
 
@@ -309,7 +753,7 @@ public class SwaggerToolProvider implements ToolProvider {
     /**
      * 카테고리(태그) 목록 반환
      */
-    private McpModels.CallToolResult handleListCategories(JsonNode arguments) {
+    private McpModels.CallToolResult handleListCategories(JsonNode arguments) throws IOException {
         ApiInstance api = getApiInstance(arguments);
         if (api == null && apiInstances.size() > 1) {
             return requireApiSelection();
@@ -317,31 +761,48 @@ public class SwaggerToolProvider implements ToolProvider {
         if (api == null) {
             return McpModels.CallToolResult.error("등록된 API가 없습니다.");
         }
+        ensureLoaded(api);
 
+        // 스펙에서 나온 내용만 담으므로 스냅샷마다 한 번만 만듦 (연결/캐시/요청 제한 통계는 server_metrics)
+        String text = api.rendered("categories", () -> renderCategoriesHeader(api) + renderCategoriesTable(api));
+        return McpModels.CallToolResult.success(text);
+    }
+
+    private static String renderCategoriesHeader(ApiInstance api) {
         StringBuilder sb = new StringBuilder();
-        sb.append(String.format("# API Categories - %s\n\n", api.getName()));
-        sb.append(String.format("**%s** (v%s)\n\n",
-            api.getApiTitle() != null ? api.getApiTitle() : "API",
-            api.getApiVersion() != null ? api.getApiVersion() : "?"));
-        sb.append(String.format("Total: %d categories, %d endpoints\n\n",
-            api.getCategoryCount(), api.getEndpointCount()));
+        sb.append("# API Categories - ").append(api.getName()).append("\n\n");
+        sb.append("**").append(api.getApiTitle() != null ? api.getApiTitle() : "API")
+            .append("** (v").append(api.getApiVersion() != null ? api.getApiVersion() : "?").append(")\n\n");
+        sb.append("Total: ").append(api.getCategoryCount()).append(" categories, ")
+            .append(api.getEndpointCount()).append(" endpoints\n");
+        return sb.toString();
+    }
 
+    private static String renderCategoriesTable(ApiInstance api) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\n");
         sb.append("| Category | Endpoints |\n");
         sb.append("|----------|----------|\n");
 
         for (Map.Entry<String, List<ApiEndpoint>> entry : api.getEndpointsByTag().entrySet()) {
-            sb.append(String.format("| %s | %d |\n", entry.getKey(), entry.getValue().size()));
+            sb.append("| ").append(entry.getKey()).append(" | ").append(entry.getValue().size()).append(" |\n");
         }
 
-        sb.append("\n*Use `list_api_endpoints` with a category name to see endpoints.*");
+        if (!api.getOperationIdConflicts().isEmpty()) {
+            sb.append("\n**Duplicate operationIds** (call_api needs 'method' and 'path' for these):\n");
+            for (String conflict : api.getOperationIdConflicts()) {
+                sb.append("- ").append(conflict).append("\n");
+            }
+        }
 
-        return McpModels.CallToolResult.success(sb.toString());
+        sb.append("\n*Use `list_api_endpoints` with a category name to see endpoints.*");
+        return sb.toString();
     }
 
     /**
      * 특정 카테고리의 엔드포인트 목록 반환
      */
-    private McpModels.CallToolResult handleListEndpoints(JsonNode arguments) {
+    private McpModels.CallToolResult handleListEndpoints(JsonNode arguments) throws IOException {
         ApiInstance api = getApiInstance(arguments);
         if (api == null && apiInstances.size() > 1) {
             return requireApiSelection();
@@ -349,11 +810,18 @@ public class SwaggerToolProvider implements ToolProvider {
         if (api == null) {
             return McpModels.CallToolResult.error("등록된 API가 없습니다.");
         }
+        ensureLoaded(api);
 
         String category = getStringParam(arguments, "category");
         if (category == null || category.isEmpty()) {
             return McpModels.CallToolResult.error("'category' parameter is required");
         }
+        OutputFormat format;
+        try {
+            format = parseFormat(arguments);
+        } catch (IllegalArgumentException e) {
+            return McpModels.CallToolResult.error(e.getMessage());
+        }
 
         List<ApiEndpoint> categoryEndpoints = api.getEndpointsByTag().get(category);
         if (categoryEndpoints == null) {
@@ -374,49 +842,48 @@ public class SwaggerToolProvider implements ToolProvider {
             );
         }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("# Endpoints in '%s' (%s)\n\n", category, api.getName()));
-        sb.append(String.format("Total: %d endpoints\n\n", categoryEndpoints.size()));
-
-        for (ApiEndpoint ep : categoryEndpoints) {
-            sb.append(String.format("## %s\n", ep.getOperationId()));
-            sb.append(String.format("- **Method:** %s\n", ep.getMethod()));
-            sb.append(String.format("- **Path:** %s\n", ep.getPath()));
-            if (ep.getSummary() != null && !ep.getSummary().isEmpty()) {
-                sb.append(String.format("- **Summary:** %s\n", ep.getSummary()));
-            }
+        String resolvedCategory = category;
+        List<ApiEndpoint> endpoints = categoryEndpoints;
+        return McpModels.CallToolResult.success(api.rendered("endpoints:" + format.id() + ":" + category,
+            () -> EndpointFormatter.endpoints(api.getName(), resolvedCategory, endpoints, format)));
+    }
 
-            // 파라미터 요약
-            if (ep.getParameters() != null && !ep.getParameters().isEmpty()) {
-                List<String> required = ep.getParameters().stream()
-                    .filter(ApiParameter::isRequired)
-                    .map(ApiParameter::getName)
-                    .collect(Collectors.toList());
-                List<String> optional = ep.getParameters().stream()
-                    .filter(p -> !p.isRequired())
-                    .map(ApiParameter::getName)
-                    .collect(Collectors.toList());
-
-                if (!required.isEmpty()) {
-                    sb.append(String.format("- **Required params:** %s\n", String.join(", ", required)));
-                }
-                if (!optional.isEmpty()) {
-                    sb.append(String.format("- **Optional params:** %s\n", String.join(", ", optional)));
-                }
-            }
-            sb.append("\n");
+    /**
+     * 서버 지표 조회 (reset이면 조회 후 초기화)
+     */
+    private McpModels.CallToolResult handleServerMetrics(JsonNode arguments) {
+        ServerMetrics metrics = ServerMetrics.shared();
+        String text = metrics.renderMarkdown(getStringParam(arguments, "filter"));
+        if (getBooleanParam(arguments, "reset")) {
+            metrics.reset();
+            logger.info("서버 지표 초기화");
         }
-
-        sb.append("*Use `call_api` with operationId and parameters to call an endpoint.*\n");
-        sb.append("*Use `search_api` to get full parameter details for a specific endpoint.*");
-
-        return McpModels.CallToolResult.success(sb.toString());
+        return McpModels.CallToolResult.success(text);
     }
 
     /**
      * API 검색
      */
-    private McpModels.CallToolResult handleSearchApi(JsonNode arguments) {
+    private McpModels.CallToolResult handleSearchApi(JsonNode arguments) throws IOException {
+        String keyword = getStringParam(arguments, "keyword");
+        int limit = getIntParam(arguments, "limit", 10);
+        limit = Math.max(1, Math.min(limit, 50));  // 0 이하가 오면 힙 크기(limit + 1)가 잘못되지 않도록 1로
+        OutputFormat format;
+        try {
+            format = parseFormat(arguments);
+        } catch (IllegalArgumentException e) {
+            return McpModels.CallToolResult.error(e.getMessage());
+        }
+
+        // 멀티 API에서 api를 지정하지 않으면 전체 API 검색
+        String apiName = getStringParam(arguments, "api");
+        if (apiInstances.size() > 1 && (apiName == null || apiName.isEmpty())) {
+            if (keyword == null || keyword.isEmpty()) {
+                return McpModels.CallToolResult.error("'keyword' parameter is required");
+            }
+            return handleGlobalSearch(keyword, limit, format);
+        }
+
         ApiInstance api = getApiInstance(arguments);
         if (api == null && apiInstances.size() > 1) {
             return requireApiSelection();
@@ -424,223 +891,724 @@ public class SwaggerToolProvider implements ToolProvider {
         if (api == null) {
             return McpModels.CallToolResult.error("등록된 API가 없습니다.");
         }
+        ensureLoaded(api);
 
-        String keyword = getStringParam(arguments, "keyword");
         if (keyword == null || keyword.isEmpty()) {
             return McpModels.CallToolResult.error("'keyword' parameter is required");
         }
 
-        int limit = getIntParam(arguments, "limit", 10);
-        limit = Math.min(limit, 50);
-
-        String lowerKeyword = keyword.toLowerCase();
-
-        List<ApiEndpoint> matches = api.getEndpoints().stream()
-            .filter(ep -> matchesKeyword(ep, lowerKeyword))
-            .limit(limit)
-            .collect(Collectors.toList());
+        EndpointSearchIndex.SearchResult result = api.getSearchIndex().search(keyword, limit);
 
-        if (matches.isEmpty()) {
+        if (result.getHits().isEmpty() && format == OutputFormat.MARKDOWN) {
             return McpModels.CallToolResult.success(
                 "No endpoints found matching '" + keyword + "' in " + api.getName() + ".\n" +
                 "Try different keywords or use list_api_categories to browse."
             );
         }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("# Search Results for '%s' in %s\n\n", keyword, api.getName()));
-        sb.append(String.format("Found %d endpoints (showing max %d)\n\n", matches.size(), limit));
-
-        for (ApiEndpoint ep : matches) {
-            sb.append(formatEndpointDetails(ep));
-            sb.append("\n---\n\n");
+        List<ApiEndpoint> endpoints = new ArrayList<>(result.getHits().size());
+        for (EndpointSearchIndex.Hit hit : result.getHits()) {
+            endpoints.add(hit.getEndpoint());
         }
-
-        return McpModels.CallToolResult.success(sb.toString());
+        return McpModels.CallToolResult.success(EndpointFormatter.searchResults(new EndpointFormatter.SearchPage(
+            keyword, "in " + api.getName(), api.getName(), result.getTotalMatches(), endpoints, null,
+            Collections.emptyList()), format));
     }
 
-    private boolean matchesKeyword(ApiEndpoint ep, String lowerKeyword) {
-        if (ep.getOperationId().toLowerCase().contains(lowerKeyword)) return true;
-        if (ep.getPath().toLowerCase().contains(lowerKeyword)) return true;
-        if (ep.getSummary() != null && ep.getSummary().toLowerCase().contains(lowerKeyword)) return true;
-        if (ep.getDescription() != null && ep.getDescription().toLowerCase().contains(lowerKeyword)) return true;
-        if (ep.getTags() != null) {
-            for (String tag : ep.getTags()) {
-                if (tag.toLowerCase().contains(lowerKeyword)) return true;
-            }
+    /**
+     * 전체 API 검색
+     *
+     * API별 색인 검색을 검색 풀에서 병렬로 수행하고, 각 API의 상위 limit개만 모아
+     * 크기가 limit인 힙으로 합칩니다. 결과 메모리는 API 수 x limit을 넘지 않습니다.
+     * 지연 로드 모드에서 아직 로드되지 않은 API는 이때 함께 로드됩니다.
+     */
+    private McpModels.CallToolResult handleGlobalSearch(String keyword, int limit, OutputFormat format) {
+        List<ApiInstance> apis = new ArrayList<>(apiInstances.values());
+        List<CompletableFuture<EndpointSearchIndex.SearchResult>> searches = new ArrayList<>(apis.size());
+        for (ApiInstance api : apis) {
+            searches.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    ensureLoaded(api);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+                return api.getSearchIndex().search(keyword, limit);
+            }, searchPool));
         }
-        return false;
-    }
 
-    private String formatEndpointDetails(ApiEndpoint ep) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("## %s\n", ep.getOperationId()));
-        sb.append(String.format("**%s** `%s`\n\n", ep.getMethod(), ep.getPath()));
+        PriorityQueue<ApiHit> top = new PriorityQueue<>(limit + 1, ApiHit.LOWEST_FIRST);
+        int totalMatches = 0;
+        List<String> failures = new ArrayList<>();
+
+        for (int i = 0; i < apis.size(); i++) {
+            EndpointSearchIndex.SearchResult result;
+            try {
+                result = searches.get(i).join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                failures.add(apis.get(i).getName() + ": " + cause.getMessage());
+                continue;
+            }
 
-        if (ep.getSummary() != null && !ep.getSummary().isEmpty()) {
-            sb.append(ep.getSummary()).append("\n\n");
+            totalMatches += result.getTotalMatches();
+            List<EndpointSearchIndex.Hit> hits = result.getHits();
+            for (int rank = 0; rank < hits.size(); rank++) {
+                top.add(new ApiHit(apis.get(i).getName(), hits.get(rank), i, rank));
+                if (top.size() > limit) top.poll();
+            }
         }
 
-        if (ep.getDescription() != null && !ep.getDescription().isEmpty()
-            && !ep.getDescription().equals(ep.getSummary())) {
-            sb.append(ep.getDescription()).append("\n\n");
+        if (top.isEmpty() && format == OutputFormat.MARKDOWN) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("No endpoints found matching '").append(keyword).append("' in any registered API.\n")
+                .append("Try different keywords or use list_registered_apis to browse.");
+            appendSearchFailures(sb, failures);
+            return McpModels.CallToolResult.success(sb.toString());
         }
 
-        if (ep.getTags() != null && !ep.getTags().isEmpty()) {
-            sb.append("**Tags:** ").append(String.join(", ", ep.getTags())).append("\n\n");
+        int count = top.size();
+        List<ApiEndpoint> endpoints = new ArrayList<>(Collections.nCopies(count, null));
+        List<String> apiNames = new ArrayList<>(Collections.nCopies(count, null));
+        for (int i = count - 1; i >= 0; i--) {
+            ApiHit apiHit = top.poll();
+            endpoints.set(i, apiHit.hit.getEndpoint());
+            apiNames.set(i, apiHit.apiName);
         }
 
-        if (ep.getParameters() != null && !ep.getParameters().isEmpty()) {
-            sb.append("**Parameters:**\n\n");
-            sb.append("| Name | Location | Type | Required | Description |\n");
-            sb.append("|------|----------|------|----------|-------------|\n");
+        return McpModels.CallToolResult.success(EndpointFormatter.searchResults(new EndpointFormatter.SearchPage(
+            keyword, "across " + (apis.size() - failures.size()) + " APIs", null, totalMatches, endpoints, apiNames,
+            failures), format));
+    }
 
-            for (ApiParameter param : ep.getParameters()) {
-                sb.append(String.format("| %s | %s | %s | %s | %s |\n",
-                    param.getName(),
-                    param.getLocation(),
-                    param.getType(),
-                    param.isRequired() ? "Yes" : "No",
-                    param.getDescription() != null ? param.getDescription() : ""
-                ));
-            }
-        } else {
-            sb.append("**Parameters:** None\n");
+    private static void appendSearchFailures(StringBuilder sb, List<String> failures) {
+        if (failures.isEmpty()) return;
+        sb.append("\n\n**Skipped APIs (load failed):**\n");
+        for (String failure : failures) {
+            sb.append("- ").append(failure).append("\n");
         }
+    }
 
-        return sb.toString();
+    /**
+     * 전체 API 검색 결과 한 건 (API 이름 포함)
+     */
+    private static class ApiHit {
+        // 힙 정렬 기준: 점수가 낮을수록, 같으면 등록 순서/API 내 순위가 뒤일수록 먼저 제거
+        static final Comparator<ApiHit> LOWEST_FIRST = Comparator
+            .comparingDouble((ApiHit h) -> h.hit.getScore())
+            .thenComparing(h -> h.apiOrder, Comparator.reverseOrder())
+            .thenComparing(h -> h.rank, Comparator.reverseOrder());
+
+        final String apiName;
+        final EndpointSearchIndex.Hit hit;
+        final int apiOrder;
+        final int rank;
+
+        ApiHit(String apiName, EndpointSearchIndex.Hit hit, int apiOrder, int rank) {
+            this.apiName = apiName;
+            this.hit = hit;
+            this.apiOrder = apiOrder;
+            this.rank = rank;
+        }
     }
 
     /**
      * API 호출
+     *
+     * 응답을 기다리는 동안 스레드를 점유하지 않으며, 반환된 future를 취소하면 HTTP 요청도 취소됩니다.
      */
-    private McpModels.CallToolResult handleCallApi(JsonNode arguments) {
+    private CompletableFuture<McpModels.CallToolResult> handleCallApi(JsonNode arguments) throws IOException {
         ApiInstance api = getApiInstance(arguments);
         if (api == null && apiInstances.size() > 1) {
-            return requireApiSelection();
+            return CompletableFuture.completedFuture(requireApiSelection());
         }
         if (api == null) {
-            return McpModels.CallToolResult.error("등록된 API가 없습니다.");
+            return CompletableFuture.completedFuture(McpModels.CallToolResult.error("등록된 API가 없습니다."));
         }
+        ensureLoaded(api);
 
-        String operationId = getStringParam(arguments, "operationId");
-        if (operationId == null || operationId.isEmpty()) {
-            return McpModels.CallToolResult.error("'operationId' parameter is required");
+        ResolvedCall call = resolveCall(api, arguments);
+        if (call.error != null) {
+            return CompletableFuture.completedFuture(McpModels.CallToolResult.error(call.error));
         }
 
-        // 엔드포인트 찾기
-        ApiEndpoint endpoint = api.getEndpoints().stream()
-            .filter(e -> e.getOperationId().equals(operationId))
-            .findFirst()
-            .orElse(null);
+        CompletableFuture<ApiResponse> response = execute(call);
+        return linkCancellation(response.handle((result, error) -> {
+            if (error == null) {
+                return McpModels.CallToolResult.success(result.getText());
+            }
+            Throwable cause = unwrap(error);
+            logger.error("API 호출 실패: {} {} {}", api.getName(), call.endpoint.getMethod(), call.endpoint.getPath(), cause);
+            return McpModels.CallToolResult.error("API call failed: " + cause.getMessage());
+        }), response);
+    }
 
-        if (endpoint == null) {
-            // 대소문자 무시하고 찾기
-            endpoint = api.getEndpoints().stream()
-                .filter(e -> e.getOperationId().equalsIgnoreCase(operationId))
-                .findFirst()
-                .orElse(null);
+    /**
+     * call_api 인자를 실제 요청으로 해석 (엔드포인트 선택, 파라미터 분류, 필수 파라미터 검증)
+     *
+     * call_api와 call_api_batch가 같이 사용합니다. 잘못된 인자이면 error만 채운 결과를 반환합니다.
+     */
+    private ResolvedCall resolveCall(ApiInstance api, JsonNode arguments) {
+        String operationId = getStringParam(arguments, "operationId");
+        if (operationId == null || operationId.isEmpty()) {
+            return ResolvedCall.failed("'operationId' parameter is required");
         }
 
-        if (endpoint == null) {
-            return McpModels.CallToolResult.error(
+        // 엔드포인트 찾기 (operationId 색인, 충돌 시 method/path로 선택)
+        String method = getStringParam(arguments, "method");
+        String path = getStringParam(arguments, "path");
+        List<ApiEndpoint> candidates = api.findByOperationId(operationId);
+
+        if (candidates.isEmpty()) {
+            return ResolvedCall.failed(
                 "Endpoint not found: " + operationId + " in " + api.getName() + "\n" +
                 "Use search_api or list_api_endpoints to find valid operationIds."
             );
         }
 
+        ApiEndpoint endpoint = candidates.size() == 1 ? candidates.get(0) : null;
+        if (method != null && path != null) {
+            ApiEndpoint byMethodAndPath = api.findByMethodAndPath(method, path);
+            endpoint = candidates.contains(byMethodAndPath) ? byMethodAndPath : null;
+        }
+
+        if (endpoint == null) {
+            StringBuilder sb = new StringBuilder();
+            if (method != null && path != null) {
+                // method/path를 줬지만 이 operationId의 엔드포인트가 아님
+                sb.append("No operation matches ").append(method.toUpperCase(Locale.ROOT)).append(' ').append(path)
+                    .append(" for operationId: ").append(operationId).append(" in ").append(api.getName())
+                    .append(". Valid method/path for this operationId:\n");
+            } else {
+                sb.append("Ambiguous operationId: ").append(operationId).append(" in ").append(api.getName())
+                    .append(" matches ").append(candidates.size()).append(" endpoints:\n");
+            }
+            for (ApiEndpoint candidate : candidates) {
+                sb.append("- ").append(candidate.getOperationId()).append(": ")
+                    .append(candidate.getMethod()).append(' ').append(candidate.getPath()).append('\n');
+            }
+            sb.append("\nSpecify 'method' and 'path' (path template as listed above) to choose one.");
+            return ResolvedCall.failed(sb.toString());
+        }
+
+        CallOptions callOptions;
         try {
-            JsonNode params = arguments != null ? arguments.get("parameters") : null;
-            JsonNode customHeaders = arguments != null ? arguments.get("headers") : null;
-
-            // 파라미터 분류
-            Map<String, String> pathParams = new HashMap<>();
-            Map<String, String> queryParams = new HashMap<>();
-            Map<String, String> headerParams = new HashMap<>();
-            Map<String, Object> bodyParams = new LinkedHashMap<>();
-
-            // 커스텀 헤더 추가 (Claude가 직접 전달한 헤더)
-            if (customHeaders != null && customHeaders.isObject()) {
-                customHeaders.fields().forEachRemaining(field -> {
-                    String headerValue = field.getValue().isTextual()
-                        ? field.getValue().asText()
-                        : field.getValue().toString();
-                    headerParams.put(field.getKey(), headerValue);
-                    logger.debug("커스텀 헤더 추가: {} = {}", field.getKey(),
-                        field.getKey().equalsIgnoreCase("Authorization") ? "[MASKED]" : headerValue);
-                });
+            callOptions = new CallOptions(parseProjection(arguments), getBooleanParam(arguments, "noCache"))
+                .withOperation(api.getName() + "/" + endpoint.getOperationId());
+        } catch (IllegalArgumentException e) {
+            return ResolvedCall.failed("Invalid 'select': " + e.getMessage());
+        }
+        try {
+            callOptions = callOptions.withFormat(parseFormat(arguments));
+        } catch (IllegalArgumentException e) {
+            return ResolvedCall.failed(e.getMessage());
+        }
+
+        JsonNode params = arguments != null ? arguments.get("parameters") : null;
+        JsonNode customHeaders = arguments != null ? arguments.get("headers") : null;
+
+        // 파라미터 분류
+        Map<String, String> pathParams = new HashMap<>();
+        Map<String, String> queryParams = new HashMap<>();
+        Map<String, String> headerParams = new HashMap<>();
+        Map<String, Object> bodyParams = new LinkedHashMap<>();
+
+        // 커스텀 헤더 추가 (Claude가 직접 전달한 헤더)
+        if (customHeaders != null && customHeaders.isObject()) {
+            customHeaders.fields().forEachRemaining(field -> {
+                String headerValue = field.getValue().isTextual()
+                    ? field.getValue().asText()
+                    : field.getValue().toString();
+                headerParams.put(field.getKey(), headerValue);
+                logger.debug("커스텀 헤더 추가: {} = {}", field.getKey(),
+                    field.getKey().equalsIgnoreCase("Authorization") ? "[MASKED]" : headerValue);
+            });
+        }
+
+        for (ApiParameter param : endpoint.getParameters()) {
+            JsonNode value = params != null ? params.get(param.getName()) : null;
+            if (value != null && !value.isNull()) {
+                String stringValue = value.isTextual() ? value.asText() : value.toString();
+
+                switch (param.getLocation()) {
+                    case "path":
+                        pathParams.put(param.getName(), stringValue);
+                        break;
+                    case "query":
+                        queryParams.put(param.getName(), stringValue);
+                        break;
+                    case "header":
+                        headerParams.put(param.getName(), stringValue);
+                        break;
+                    case "body":
+                        bodyParams.put(param.getName(), extractValue(value));
+                        break;
+                }
             }
+        }
 
-            for (ApiParameter param : endpoint.getParameters()) {
+        // 필수 파라미터 검증
+        List<String> missingRequired = new ArrayList<>();
+        for (ApiParameter param : endpoint.getParameters()) {
+            if (param.isRequired()) {
                 JsonNode value = params != null ? params.get(param.getName()) : null;
-                if (value != null && !value.isNull()) {
-                    String stringValue = value.isTextual() ? value.asText() : value.toString();
-
-                    switch (param.getLocation()) {
-                        case "path":
-                            pathParams.put(param.getName(), stringValue);
-                            break;
-                        case "query":
-                            queryParams.put(param.getName(), stringValue);
-                            break;
-                        case "header":
-                            headerParams.put(param.getName(), stringValue);
-                            break;
-                        case "body":
-                            bodyParams.put(param.getName(), extractValue(value));
-                            break;
-                    }
+                if (value == null || value.isNull()) {
+                    missingRequired.add(param.getName() + " (" + param.getLocation() + ")");
                 }
             }
+        }
 
-            // 필수 파라미터 검증
-            List<String> missingRequired = new ArrayList<>();
-            for (ApiParameter param : endpoint.getParameters()) {
-                if (param.isRequired()) {
-                    JsonNode value = params != null ? params.get(param.getName()) : null;
-                    if (value == null || value.isNull()) {
-                        missingRequired.add(param.getName() + " (" + param.getLocation() + ")");
-                    }
+        if (!missingRequired.isEmpty()) {
+            return ResolvedCall.failed(
+                "Missing required parameters: " + String.join(", ", missingRequired) + "\n\n" +
+                "Use search_api with operationId '" + operationId + "' to see all parameter details."
+            );
+        }
+
+        // Path 파라미터 치환
+        String resolvedPath = endpoint.getPath();
+        for (Map.Entry<String, String> entry : pathParams.entrySet()) {
+            resolvedPath = resolvedPath.replace("{" + entry.getKey() + "}", entry.getValue());
+        }
+
+        // Authorization 헤더 자동 주입 (설정된 경우)
+        if (api.getAuthHeader() != null && !api.getAuthHeader().isEmpty()) {
+            // 사용자가 명시적으로 Authorization 헤더를 지정하지 않은 경우에만 추가
+            if (!headerParams.containsKey("Authorization")) {
+                headerParams.put("Authorization", api.getAuthHeader());
+                logger.debug("Authorization 헤더 자동 주입: {}", api.getName());
+            }
+        }
+
+        ResolvedCall call = new ResolvedCall();
+        call.api = api;
+        call.endpoint = endpoint;
+        call.path = resolvedPath;
+        call.queryParams = queryParams;
+        call.headers = headerParams;
+        call.body = bodyParams.isEmpty() ? null : bodyParams;
+        call.options = callOptions;
+        return call;
+    }
+
+    /**
+     * 해석된 요청 비동기 실행
+     */
+    private CompletableFuture<ApiResponse> execute(ResolvedCall call) {
+        CompletableFuture<ApiResponse> response = call.api.getHttpClient().executeAsync(
+            call.endpoint.getMethod(),
+            call.path,
+            call.queryParams,
+            call.headers,
+            call.body,
+            call.options
+        );
+        response.thenAccept(result ->
+            logger.info("API 호출 성공: {} {} {}", call.api.getName(), call.endpoint.getMethod(), call.path));
+        return response;
+    }
+
+    /**
+     * downstream이 취소되면 upstream(HTTP 요청 등)도 취소 (CompletableFuture는 취소를 앞 단계로 전파하지 않음)
+     */
+    private static <T> CompletableFuture<T> linkCancellation(CompletableFuture<T> downstream, CompletableFuture<?> upstream) {
+        downstream.whenComplete((result, error) -> {
+            if (downstream.isCancelled()) upstream.cancel(true);
+        });
+        return downstream;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * 여러 API를 한 번에 호출
+     *
+     * 항목마다 call_api와 같은 인자를 받아 최대 parallelism개씩 동시에 실행하고, 결과는 입력 순서대로 보여줍니다.
+     * failFast 모드에서는 실패(인자 오류, 전송 오류, HTTP 4xx/5xx)가 나오면 아직 시작하지 않은 항목을 건너뜁니다.
+     * 반환된 future를 취소하면 진행 중인 항목의 HTTP 요청을 모두 취소합니다.
+     */
+    private CompletableFuture<McpModels.CallToolResult> handleCallApiBatch(JsonNode arguments) {
+        JsonNode items = arguments != null ? arguments.get("items") : null;
+        if (items == null || !items.isArray() || items.isEmpty()) {
+            return CompletableFuture.completedFuture(
+                McpModels.CallToolResult.error("'items' must be a non-empty array of call_api arguments"));
+        }
+        if (items.size() > MAX_BATCH_ITEMS) {
+            return CompletableFuture.completedFuture(McpModels.CallToolResult.error(
+                "Too many items: " + items.size() + " (max " + MAX_BATCH_ITEMS + " per call_api_batch)"));
+        }
+
+        String mode = getStringParam(arguments, "mode");
+        boolean failFast;
+        if (mode == null || mode.isEmpty() || mode.equalsIgnoreCase("continue")) {
+            failFast = false;
+        } else if (mode.equalsIgnoreCase("failFast")) {
+            failFast = true;
+        } else {
+            return CompletableFuture.completedFuture(
+                McpModels.CallToolResult.error("Invalid 'mode': " + mode + " (use 'continue' or 'failFast')"));
+        }
+
+        int maxParallelism = Math.max(1, options.getBatchParallelism());
+        int parallelism = Math.max(1, Math.min(Math.min(
+            getIntParam(arguments, "parallelism", maxParallelism), maxParallelism), items.size()));
+
+        // 최대 parallelism개만 동시에 실행하고, 하나가 끝나면 다음 항목 시작 (대기 중 스레드 점유 없음)
+        AsyncLimiter limiter = new AsyncLimiter(parallelism);
+        AtomicBoolean aborted = new AtomicBoolean();
+        List<CompletableFuture<BatchItemResult>> futures = new ArrayList<>(items.size());
+        long startedAt = System.nanoTime();
+        for (JsonNode item : items) {
+            futures.add(limiter.submit(() -> aborted.get()
+                ? CompletableFuture.completedFuture(null)
+                : runBatchItem(item, false, failFast ? aborted : null)));
+        }
+
+        CompletableFuture<McpModels.CallToolResult> result = CompletableFuture
+            .allOf(futures.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> renderBatchResult(items, futures, parallelism, failFast, elapsedMillis(startedAt)));
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                aborted.set(true);
+                futures.forEach(future -> future.cancel(true));
+                logger.info("일괄 호출 취소: {}개 중 진행 중인 항목 취소", items.size());
+            }
+        });
+        return result;
+    }
+
+    private McpModels.CallToolResult renderBatchResult(JsonNode items, List<CompletableFuture<BatchItemResult>> futures,
+                                                       int parallelism, boolean failFast, long totalMillis) {
+        BatchItemResult[] results = new BatchItemResult[futures.size()];
+        int succeeded = 0, failed = 0, skipped = 0;
+        for (int i = 0; i < results.length; i++) {
+            results[i] = futures.get(i).join();
+            if (results[i] == null) skipped++;
+            else if (results[i].failed) failed++;
+            else succeeded++;
+        }
+        logger.info("일괄 호출 완료: {}개 (성공 {}, 실패 {}, 건너뜀 {}, 동시 실행 {}, {}ms)",
+            results.length, succeeded, failed, skipped, parallelism, totalMillis);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("# 일괄 호출 결과\n\n");
+        sb.append(String.format("총 %d개: 성공 %d, 실패 %d, 건너뜀 %d (동시 실행 %d, 전체 %dms%s)\n\n",
+            results.length, succeeded, failed, skipped, parallelism, totalMillis, failFast ? ", failFast" : ""));
+
+        sb.append("| # | 호출 | 상태 | 시간 |\n");
+        sb.append("|---|------|------|------|\n");
+        for (int i = 0; i < results.length; i++) {
+            BatchItemResult result = results[i];
+            sb.append(String.format("| %d | %s | %s | %s |\n", i,
+                batchItemLabel(items.get(i)),
+                result == null ? "건너뜀" : result.statusText(),
+                result == null ? "-" : result.millis + "ms"));
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            BatchItemResult result = results[i];
+            if (result == null) continue;
+            sb.append("\n## [").append(i).append("] ").append(batchItemLabel(items.get(i)))
+                .append(" - ").append(result.statusText()).append("\n\n");
+            sb.append(result.text).append("\n");
+        }
+
+        return McpModels.CallToolResult.success(sb.toString());
+    }
+
+    /**
+     * 의존 관계가 있는 호출을 서버 안에서 이어서 실행
+     *
+     * 단계 인자의 ${steps[N].body.경로} 참조를 앞 단계 응답으로 채웁니다. 서로 참조하지 않는 단계는
+     * 동시에 실행하고(최대 batchParallelism개), 앞 단계가 실패하면 그 단계를 참조하는 단계는 건너뜁니다.
+     * 중간 단계의 응답은 기본적으로 결과에서 생략해 모델 컨텍스트로 보내지 않습니다.
+     */
+    private CompletableFuture<McpModels.CallToolResult> handleCallApiPipeline(JsonNode arguments) {
+        JsonNode stepsNode = arguments != null ? arguments.get("steps") : null;
+        if (stepsNode == null || !stepsNode.isArray() || stepsNode.isEmpty()) {
+            return CompletableFuture.completedFuture(
+                McpModels.CallToolResult.error("'steps' must be a non-empty array of call_api arguments"));
+        }
+        if (stepsNode.size() > MAX_BATCH_ITEMS) {
+            return CompletableFuture.completedFuture(McpModels.CallToolResult.error(
+                "Too many steps: " + stepsNode.size() + " (max " + MAX_BATCH_ITEMS + " per call_api_pipeline)"));
+        }
+
+        PipelinePlan plan;
+        try {
+            plan = PipelinePlan.parse(stepsNode);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(McpModels.CallToolResult.error("Invalid pipeline: " + e.getMessage()));
+        }
+        boolean showAll = getBooleanParam(arguments, "showAll");
+
+        int count = plan.size();
+        AsyncLimiter limiter = new AsyncLimiter(options.getBatchParallelism());
+        AtomicBoolean aborted = new AtomicBoolean();
+        Set<CompletableFuture<?>> running = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<BatchItemResult>> futures = new ArrayList<>(Collections.nCopies(count, null));
+        long startedAt = System.nanoTime();
+
+        // 의존하는 단계가 모두 끝나면 실행 (실행 순서상 의존 단계의 future가 항상 먼저 만들어짐)
+        for (int index : plan.order()) {
+            CompletableFuture<?>[] deps = plan.dependencies(index).stream()
+                .map(futures::get)
+                .toArray(CompletableFuture<?>[]::new);
+            futures.set(index, CompletableFuture.allOf(deps).thenCompose(ignored -> {
+                if (aborted.get() || dependencyFailed(plan, index, futures)) {
+                    return CompletableFuture.completedFuture(null);
                 }
+                CompletableFuture<BatchItemResult> step = limiter.submit(() -> runPipelineStep(plan, index, futures));
+                running.add(step);
+                step.whenComplete((result, error) -> running.remove(step));
+                return step;
+            }));
+        }
+
+        CompletableFuture<McpModels.CallToolResult> result = CompletableFuture
+            .allOf(futures.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> renderPipelineResult(plan, futures, showAll, elapsedMillis(startedAt)));
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                aborted.set(true);
+                running.forEach(step -> step.cancel(true));
+                logger.info("파이프라인 취소: 진행 중인 단계 {}개 취소", running.size());
             }
+        });
+        return result;
+    }
+
+    private static boolean dependencyFailed(PipelinePlan plan, int index, List<CompletableFuture<BatchItemResult>> futures) {
+        for (int dep : plan.dependencies(index)) {
+            BatchItemResult depResult = futures.get(dep).join();
+            if (depResult == null || depResult.failed) return true;
+        }
+        return false;
+    }
+
+    private McpModels.CallToolResult renderPipelineResult(PipelinePlan plan, List<CompletableFuture<BatchItemResult>> futures,
+                                                          boolean showAll, long totalMillis) {
+        int count = plan.size();
+        BatchItemResult[] results = new BatchItemResult[count];
+        int succeeded = 0, failed = 0, skipped = 0;
+        for (int i = 0; i < count; i++) {
+            results[i] = futures.get(i).join();
+            if (results[i] == null) skipped++;
+            else if (results[i].failed) failed++;
+            else succeeded++;
+        }
+        logger.info("파이프라인 완료: {}단계 (성공 {}, 실패 {}, 건너뜀 {}, {}ms)",
+            count, succeeded, failed, skipped, totalMillis);
 
-            if (!missingRequired.isEmpty()) {
-                return McpModels.CallToolResult.error(
-                    "Missing required parameters: " + String.join(", ", missingRequired) + "\n\n" +
-                    "Use search_api with operationId '" + operationId + "' to see all parameter details."
-                );
+        StringBuilder sb = new StringBuilder();
+        sb.append("# 파이프라인 실행 결과\n\n");
+        sb.append(String.format("총 %d단계: 성공 %d, 실패 %d, 건너뜀 %d (전체 %dms)\n\n",
+            count, succeeded, failed, skipped, totalMillis));
+
+        sb.append("| # | 호출 | 의존 | 상태 | 시간 |\n");
+        sb.append("|---|------|------|------|------|\n");
+        for (int i = 0; i < count; i++) {
+            BatchItemResult result = results[i];
+            Set<Integer> deps = plan.dependencies(i);
+            sb.append(String.format("| %d | %s | %s | %s | %s |\n", i,
+                batchItemLabel(plan.step(i)),
+                deps.isEmpty() ? "-" : deps.stream().map(String::valueOf).collect(Collectors.joining(", ")),
+                result == null ? "건너뜀" : result.statusText(),
+                result == null ? "-" : result.millis + "ms"));
+        }
+
+        // 실패한 단계와 다른 단계가 참조하지 않는 마지막 단계의 결과만 표시 (showAll이면 전부)
+        int hidden = 0;
+        for (int i = 0; i < count; i++) {
+            BatchItemResult result = results[i];
+            if (result == null) continue;
+            if (!showAll && !result.failed && plan.isReferenced(i)) {
+                hidden++;
+                continue;
             }
+            sb.append("\n## [").append(i).append("] ").append(batchItemLabel(plan.step(i)))
+                .append(" - ").append(result.statusText()).append("\n\n");
+            sb.append(result.text).append("\n");
+        }
+        if (hidden > 0) {
+            sb.append("\n*중간 단계 ").append(hidden).append("개의 응답은 생략했습니다. 모두 보려면 showAll: true*\n");
+        }
 
-            // Path 파라미터 치환
-            String resolvedPath = endpoint.getPath();
-            for (Map.Entry<String, String> entry : pathParams.entrySet()) {
-                resolvedPath = resolvedPath.replace("{" + entry.getKey() + "}", entry.getValue());
+        return McpModels.CallToolResult.success(sb.toString());
+    }
+
+    /**
+     * 파이프라인 단계 하나 실행 (앞 단계 결과로 참조를 채운 뒤 호출)
+     */
+    private CompletableFuture<BatchItemResult> runPipelineStep(PipelinePlan plan, int index,
+                                                               List<CompletableFuture<BatchItemResult>> futures) {
+        JsonNode arguments;
+        try {
+            arguments = plan.resolve(index, new PipelinePlan.StepOutputs() {
+                @Override
+                public int status(int step) {
+                    return futures.get(step).join().statusCode;
+                }
+
+                @Override
+                public JsonNode body(int step) {
+                    return futures.get(step).join().body;
+                }
+            });
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(BatchItemResult.failure("Reference error: " + e.getMessage(), 0));
+        }
+        return runBatchItem(arguments, plan.isBodyReferenced(index), null);
+    }
+
+    /**
+     * 일괄 호출 항목 하나 실행 (예외는 실패 결과로 변환)
+     *
+     * @param captureBody 응답 바디를 JSON으로 파싱해 결과에 담을지 (파이프라인에서 참조하는 단계)
+     * @param abortOnFailure 실패하면 true로 설정할 플래그 (failFast, 없으면 null)
+     */
+    private CompletableFuture<BatchItemResult> runBatchItem(JsonNode item, boolean captureBody,
+                                                            AtomicBoolean abortOnFailure) {
+        long startedAt = System.nanoTime();
+        ResolvedCall call;
+        try {
+            ApiInstance api = item.isObject() ? getApiInstance(item) : null;
+            if (!item.isObject()) {
+                call = ResolvedCall.failed("Each item must be an object with call_api arguments");
+            } else if (api == null) {
+                call = ResolvedCall.failed(apiInstances.isEmpty() ? "등록된 API가 없습니다."
+                    : "Unknown or missing 'api'. Use list_registered_apis to see available APIs.");
+            } else {
+                ensureLoaded(api);
+                call = resolveCall(api, item);
+                if (captureBody && call.error == null) {
+                    call.options = call.options.withCaptureBody();
+                }
             }
+        } catch (Exception e) {
+            logger.error("일괄 호출 항목 실패: {}", batchItemLabel(item), e);
+            call = ResolvedCall.failed("API call failed: " + e.getMessage());
+        }
 
-            // Authorization 헤더 자동 주입 (설정된 경우)
-            if (api.getAuthHeader() != null && !api.getAuthHeader().isEmpty()) {
-                // 사용자가 명시적으로 Authorization 헤더를 지정하지 않은 경우에만 추가
-                if (!headerParams.containsKey("Authorization")) {
-                    headerParams.put("Authorization", api.getAuthHeader());
-                    logger.debug("Authorization 헤더 자동 주입: {}", api.getName());
+        if (call.error != null) {
+            if (abortOnFailure != null) abortOnFailure.set(true);
+            return CompletableFuture.completedFuture(BatchItemResult.failure(call.error, elapsedMillis(startedAt)));
+        }
+
+        CompletableFuture<ApiResponse> response = execute(call);
+        return linkCancellation(response.handle((value, error) -> {
+            BatchItemResult result = new BatchItemResult();
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                logger.error("일괄 호출 항목 실패: {}", batchItemLabel(item), cause);
+                result.failed = true;
+                result.text = "API call failed: " + cause.getMessage();
+            } else {
+                result.statusCode = value.getStatusCode();
+                result.failed = !value.isSuccessful();
+                result.text = value.getText();
+                if (captureBody && value.getBody() != null) {
+                    result.body = parseJsonBody(value.getBody());
                 }
             }
+            result.millis = elapsedMillis(startedAt);
+            // 결과가 완료되기 전에 설정해야 다음 항목이 시작되기 전에 보임
+            if (result.failed && abortOnFailure != null) abortOnFailure.set(true);
+            return result;
+        }), response);
+    }
 
-            // API 호출
-            String response = api.getHttpClient().request(
-                endpoint.getMethod(),
-                resolvedPath,
-                queryParams,
-                headerParams,
-                bodyParams.isEmpty() ? null : bodyParams
-            );
+    private static JsonNode parseJsonBody(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return null;  // JSON이 아닌 응답은 참조할 수 없음
+        }
+    }
 
-            logger.info("API 호출 성공: {} {} {}", api.getName(), endpoint.getMethod(), resolvedPath);
-            return McpModels.CallToolResult.success(response);
+    private String batchItemLabel(JsonNode item) {
+        String operationId = getStringParam(item, "operationId");
+        String label = operationId != null ? operationId : "(operationId 없음)";
+        String apiName = getStringParam(item, "api");
+        return apiInstances.size() > 1 && apiName != null ? apiName + " / " + label : label;
+    }
 
-        } catch (Exception e) {
-            logger.error("API 호출 실패: {} {} {}", api.getName(), endpoint.getMethod(), endpoint.getPath(), e);
-            return McpModels.CallToolResult.error("API call failed: " + e.getMessage());
+    /**
+     * call_api 인자를 해석한 요청 (잘못된 인자이면 error만 설정)
+     */
+    private static class ResolvedCall {
+        String error;
+        ApiInstance api;
+        ApiEndpoint endpoint;
+        String path;
+        Map<String, String> queryParams;
+        Map<String, String> headers;
+        Map<String, Object> body;
+        CallOptions options;
+
+        static ResolvedCall failed(String error) {
+            ResolvedCall call = new ResolvedCall();
+            call.error = error;
+            return call;
+        }
+    }
+
+    /**
+     * 일괄 호출 항목 / 파이프라인 단계 결과
+     */
+    private static class BatchItemResult {
+        int statusCode = -1;  // HTTP 응답을 받지 못했으면 -1
+        boolean failed;
+        String text;
+        long millis;
+        JsonNode body;        // 파이프라인에서 다른 단계가 참조할 때만 설정
+
+        static BatchItemResult failure(String text, long millis) {
+            BatchItemResult result = new BatchItemResult();
+            result.failed = true;
+            result.text = text;
+            result.millis = millis;
+            return result;
+        }
+
+        String statusText() {
+            if (statusCode < 0) return "오류";
+            return failed ? statusCode + " (실패)" : String.valueOf(statusCode);
+        }
+    }
+
+    /**
+     * 응답 투영 옵션 파싱 (select는 쉼표로 구분한 문자열 또는 문자열 배열)
+     */
+    private JsonProjection parseProjection(JsonNode args) {
+        if (args == null) return JsonProjection.NONE;
+
+        List<String> select = new ArrayList<>();
+        JsonNode selectNode = args.get("select");
+        if (selectNode != null && selectNode.isArray()) {
+            selectNode.forEach(node -> select.add(node.asText()));
+        } else if (selectNode != null && selectNode.isTextual()) {
+            for (String path : selectNode.asText().split(",")) {
+                if (!path.isBlank()) select.add(path.trim());
+            }
+        }
+
+        JsonProjection projection = new JsonProjection(select,
+            getIntParam(args, "offset", 0),
+            getIntParam(args, "limit", -1),
+            getIntParam(args, "maxDepth", -1));
+        return projection.isIdentity() ? JsonProjection.NONE : projection;
+    }
+
+    /**
+     * 출력 형식 파싱 (생략하면 --output-format 기본값)
+     */
+    private OutputFormat parseFormat(JsonNode args) {
+        try {
+            return OutputFormat.parse(getStringParam(args, "format"), options.getOutputFormat());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid 'format': " + e.getMessage());
         }
     }
 
@@ -650,6 +1618,12 @@ public class SwaggerToolProvider implements ToolProvider {
         return node != null && !node.isNull() ? node.asText() : null;
     }
 
+    private boolean getBooleanParam(JsonNode args, String name) {
+        if (args == null) return false;
+        JsonNode node = args.get(name);
+        return node != null && node.asBoolean(false);
+    }
+
     private int getIntParam(JsonNode args, String name, int defaultValue) {
         if (args == null) return defaultValue;
         JsonNode node = args.get(name);
@@ -0,0 +1,45 @@
+package com.hoho.swaggermcp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MainTest {
+
+    @Test
+    void parsesNamedApis() {
+        Map<String, String> apis = Main.parseApiArgs(new String[] {
+            "--api", "pets=http://localhost/pets.json", "--api", "users=https://example.com/v3/api-docs"});
+
+        assertEquals(Map.of("pets", "http://localhost/pets.json", "users", "https://example.com/v3/api-docs"), apis);
+    }
+
+    @Test
+    void acceptsLegacySingleUrl() {
+        Map<String, String> apis = Main.parseApiArgs(new String[] {"http://localhost/v3/api-docs"});
+
+        assertEquals(Map.of("default", "http://localhost/v3/api-docs"), apis);
+    }
+
+    @Test
+    void optionValueIsNotTakenAsUrl() {
+        Map<String, String> apis = Main.parseApiArgs(new String[] {
+            "--transport", "http", "--api", "pets=http://localhost/pets.json", "--port", "8080"});
+
+        assertEquals(Map.of("pets", "http://localhost/pets.json"), apis);
+    }
+
+    @Test
+    void flagOptionsDoNotSwallowNextArgument() {
+        Map<String, String> apis = Main.parseApiArgs(new String[] {"--lazy", "https://example.com/spec.json"});
+
+        assertEquals(Map.of("default", "https://example.com/spec.json"), apis);
+    }
+
+    @Test
+    void ignoresNonUrlArguments() {
+        assertTrue(Main.parseApiArgs(new String[] {"httpbin"}).isEmpty());
+    }
+}
@@ -0,0 +1,147 @@
+package com.hoho.swaggermcp.concurrent;
+
+import com.hoho.swaggermcp.concurrent.AdaptiveLimiter.Outcome;
+import com.hoho.swaggermcp.concurrent.AdaptiveLimiter.Permit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimiterTest {
+
+    @Test
+    void rejectsBeyondLimitWithoutQueue() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 2, 0);
+
+        assertTrue(limiter.acquire(0).isDone());
+        assertTrue(limiter.acquire(0).isDone());
+        CompletableFuture<Permit> third = limiter.acquire(0);
+
+        ExecutionException error = assertThrows(ExecutionException.class, third::get);
+        assertInstanceOf(LimitExceededException.class, error.getCause());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    void droppedShrinksLimitMultiplicatively() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 10, 0);
+
+        limiter.acquire(0).join().release(Outcome.DROPPED);
+
+        assertEquals(9, limiter.getLimit());
+        assertEquals(1, limiter.getBackoffs());
+    }
+
+    @Test
+    void limitNeverDropsBelowMinimum() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(3, 4, 0);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire(0).join().release(Outcome.DROPPED);
+        }
+
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void saturatedSuccessGrowsLimitAdditively() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 10, 0);
+        limiter.acquire(0).join().release(Outcome.DROPPED);
+        assertEquals(9, limiter.getLimit());
+
+        // 한도 가까이 쓰는 동안의 성공만 한도를 늘림 (한도만큼 성공하면 약 1 증가)
+        for (int round = 0; round < 5 && limiter.getLimit() < 10; round++) {
+            List<Permit> permits = new ArrayList<>();
+            for (int i = 0; i < limiter.getLimit(); i++) {
+                permits.add(limiter.acquire(0).join());
+            }
+            permits.forEach(permit -> permit.release(Outcome.SUCCESS));
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void idleSuccessDoesNotGrowLimit() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 10, 0);
+        limiter.acquire(0).join().release(Outcome.DROPPED);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.acquire(0).join().release(Outcome.SUCCESS);
+        }
+
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    void releaseIsCountedOnce() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 10, 0);
+        Permit permit = limiter.acquire(0).join();
+
+        permit.release(Outcome.DROPPED);
+        permit.release(Outcome.DROPPED);
+
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, limiter.getBackoffs());
+    }
+
+    @Test
+    void queuedWaiterGetsReleasedSlot() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1);
+        Permit first = limiter.acquire(0).join();
+
+        CompletableFuture<Permit> waiter = limiter.acquire(TimeUnit.SECONDS.toNanos(10));
+        assertFalse(waiter.isDone());
+        assertEquals(1, limiter.getQueued());
+
+        first.release(Outcome.IGNORED);
+
+        assertTrue(waiter.isDone());
+        assertEquals(1, limiter.getInFlight());
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    void queuedWaiterTimesOut() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1);
+        limiter.acquire(0).join();
+
+        CompletableFuture<Permit> waiter = limiter.acquire(TimeUnit.MILLISECONDS.toNanos(20));
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+            () -> waiter.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(LimitExceededException.class, error.getCause());
+        assertEquals(0, limiter.getQueued());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1);
+        limiter.acquire(0).join();
+        limiter.acquire(TimeUnit.SECONDS.toNanos(10));
+
+        CompletableFuture<Permit> overflow = limiter.acquire(TimeUnit.SECONDS.toNanos(10));
+
+        assertTrue(overflow.isCompletedExceptionally());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    void cancelledWaiterLeavesQueue() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1);
+        Permit first = limiter.acquire(0).join();
+
+        CompletableFuture<Permit> waiter = limiter.acquire(TimeUnit.SECONDS.toNanos(10));
+        waiter.cancel(true);
+        first.release(Outcome.SUCCESS);
+
+        assertEquals(0, limiter.getQueued());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,82 @@
+package com.hoho.swaggermcp.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLimiterTest {
+
+    @Test
+    void queuesTasksBeyondLimit() {
+        AsyncLimiter limiter = new AsyncLimiter(1);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+
+        CompletableFuture<String> a = limiter.submit(() -> {
+            started.incrementAndGet();
+            return first;
+        });
+        CompletableFuture<String> b = limiter.submit(() -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture("b");
+        });
+
+        assertEquals(1, started.get());
+        assertFalse(b.isDone());
+
+        first.complete("a");
+        assertEquals("a", a.join());
+        assertEquals("b", b.join());
+        assertEquals(2, started.get());
+    }
+
+    @Test
+    void cancelledQueuedTaskIsNeverStarted() {
+        AsyncLimiter limiter = new AsyncLimiter(1);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+
+        limiter.submit(() -> first);
+        CompletableFuture<String> queued = limiter.submit(() -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture("queued");
+        });
+        queued.cancel(true);
+        first.complete("a");
+
+        assertEquals(0, started.get());
+
+        // 취소된 작업의 자리도 돌려받음
+        CompletableFuture<String> next = limiter.submit(() -> CompletableFuture.completedFuture("next"));
+        assertEquals("next", next.join());
+    }
+
+    @Test
+    void cancellingRunningTaskCancelsItsFuture() {
+        AsyncLimiter limiter = new AsyncLimiter(1);
+        CompletableFuture<String> running = new CompletableFuture<>();
+
+        CompletableFuture<String> result = limiter.submit(() -> running);
+        result.cancel(true);
+
+        assertTrue(running.isCancelled());
+        CompletableFuture<String> next = limiter.submit(() -> CompletableFuture.completedFuture("next"));
+        assertEquals("next", next.join());
+    }
+
+    @Test
+    void taskThatThrowsReleasesItsSlot() {
+        AsyncLimiter limiter = new AsyncLimiter(1);
+
+        CompletableFuture<String> failed = limiter.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+        assertTrue(failed.isCompletedExceptionally());
+
+        CompletableFuture<String> next = limiter.submit(() -> CompletableFuture.completedFuture("next"));
+        assertEquals("next", next.join());
+    }
+}
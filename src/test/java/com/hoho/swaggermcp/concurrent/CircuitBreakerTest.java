@@ -0,0 +1,88 @@
+package com.hoho.swaggermcp.concurrent;
+
+import com.hoho.swaggermcp.concurrent.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 1, TimeUnit.HOURS);
+
+        breaker.onFailure("503");
+        assertEquals(State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure("503");
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(1, breaker.getOpenedCount());
+        assertEquals("503", breaker.getLastFailure());
+        assertTrue(breaker.getRemainingOpenMillis() > 0);
+    }
+
+    @Test
+    void successResetsFailureCount() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 1, TimeUnit.HOURS);
+
+        breaker.onFailure("503");
+        breaker.onSuccess();
+        breaker.onFailure("503");
+
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void halfOpenAllowsSingleProbe() {
+        // 열린 시간 0: 열리자마자 HALF_OPEN
+        CircuitBreaker breaker = new CircuitBreaker(1, 0, TimeUnit.MILLISECONDS);
+        breaker.onFailure("timeout");
+
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void ignoredProbeReturnsSlot() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 0, TimeUnit.MILLISECONDS);
+        breaker.onFailure("timeout");
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onIgnored();
+
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void successfulProbeCloses() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 0, TimeUnit.MILLISECONDS);
+        breaker.onFailure("timeout");
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onSuccess();
+
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getConsecutiveFailures());
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void failedProbeReopens() {
+        CircuitBreaker breaker = new CircuitBreaker(3, 0, TimeUnit.MILLISECONDS);
+        breaker.onFailure("503");
+        breaker.onFailure("503");
+        breaker.onFailure("503");
+        assertTrue(breaker.tryAcquire());
+
+        // HALF_OPEN에서는 한 번의 실패로 다시 열림
+        breaker.onFailure("503");
+
+        assertEquals(2, breaker.getOpenedCount());
+    }
+}
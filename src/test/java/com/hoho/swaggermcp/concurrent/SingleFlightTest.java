@@ -0,0 +1,89 @@
+package com.hoho.swaggermcp.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneExecution() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CompletableFuture<String> source = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> a = flight.executeAsync("k", () -> {
+            calls.incrementAndGet();
+            return source;
+        });
+        CompletableFuture<String> b = flight.executeAsync("k", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        source.complete("value");
+
+        assertEquals("value", a.join());
+        assertEquals("value", b.join());
+        assertEquals(1, calls.get());
+        assertEquals(1, flight.getExecuted());
+        assertEquals(1, flight.getShared());
+    }
+
+    @Test
+    void cancellingOneWaiterKeepsTheCall() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CompletableFuture<String> source = new CompletableFuture<>();
+
+        CompletableFuture<String> a = flight.executeAsync("k", () -> source);
+        CompletableFuture<String> b = flight.executeAsync("k", () -> source);
+        a.cancel(true);
+
+        assertFalse(source.isCancelled());
+        source.complete("value");
+        assertEquals("value", b.join());
+    }
+
+    @Test
+    void cancellingAllWaitersCancelsTheCall() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CompletableFuture<String> source = new CompletableFuture<>();
+
+        CompletableFuture<String> a = flight.executeAsync("k", () -> source);
+        CompletableFuture<String> b = flight.executeAsync("k", () -> source);
+        a.cancel(true);
+        b.cancel(true);
+
+        assertTrue(source.isCancelled());
+
+        // 취소된 작업에 합류하지 않고 새로 실행
+        CompletableFuture<String> c = flight.executeAsync("k", () -> CompletableFuture.completedFuture("fresh"));
+        assertEquals("fresh", c.join());
+        assertEquals(2, flight.getExecuted());
+    }
+
+    @Test
+    void executeRethrowsIOException() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+
+        IOException error = assertThrows(IOException.class, () -> flight.execute("k", () -> {
+            throw new IOException("boom");
+        }));
+        assertEquals("boom", error.getMessage());
+    }
+
+    @Test
+    void completedCallIsNotCached() throws IOException {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        flight.execute("k", calls::incrementAndGet);
+        flight.execute("k", calls::incrementAndGet);
+
+        assertEquals(2, calls.get());
+        assertEquals(0, flight.getShared());
+    }
+}
@@ -0,0 +1,49 @@
+package com.hoho.swaggermcp.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    @Test
+    void burstIsAvailableImmediately() {
+        TokenBucket bucket = new TokenBucket(1, 3);
+
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(0, bucket.reserve(0));
+    }
+
+    @Test
+    void rejectsWhenWaitExceedsMaxWait() {
+        TokenBucket bucket = new TokenBucket(1, 1);
+        assertEquals(0, bucket.reserve(0));
+
+        // 다음 토큰까지 약 1초 남았으므로 기다릴 수 없으면 -1, 토큰도 쓰지 않음
+        assertEquals(-1, bucket.reserve(TimeUnit.MILLISECONDS.toNanos(100)));
+        assertTrue(bucket.available() > -0.5);
+    }
+
+    @Test
+    void reservationsSpreadOverTime() {
+        TokenBucket bucket = new TokenBucket(10, 1);
+        long maxWait = TimeUnit.SECONDS.toNanos(10);
+        assertEquals(0, bucket.reserve(maxWait));
+
+        long first = bucket.reserve(maxWait);
+        long second = bucket.reserve(maxWait);
+
+        // 초당 10개이므로 한 토큰은 약 100ms, 뒤이은 예약은 그만큼 더 밀림
+        assertTrue(first > 0 && first <= TimeUnit.MILLISECONDS.toNanos(100), "first wait " + first);
+        assertTrue(second - first >= TimeUnit.MILLISECONDS.toNanos(90), "second wait " + second);
+        assertTrue(bucket.available() < 0);
+    }
+
+    @Test
+    void rejectsNonPositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+    }
+}
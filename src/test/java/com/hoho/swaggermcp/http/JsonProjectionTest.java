@@ -0,0 +1,107 @@
+package com.hoho.swaggermcp.http;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonProjectionTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ResponseFormatter formatter = new ResponseFormatter(1024 * 1024, 64L * 1024 * 1024);
+
+    @Test
+    void selectsJsonPath() throws IOException {
+        String body = "{\"data\":[{\"id\":1,\"name\":\"a\",\"tags\":[1]},{\"id\":2,\"name\":\"b\"}],\"meta\":{\"total\":2}}";
+
+        JsonNode result = body(format(body, projection(List.of("$.data[*].name"), 0, -1, -1)));
+
+        assertEquals(MAPPER.readTree("{\"data\":[{\"name\":\"a\"},{\"name\":\"b\"}]}"), result);
+    }
+
+    @Test
+    void selectsJsonPointer() throws IOException {
+        String body = "{\"data\":[{\"id\":1},{\"id\":2}],\"meta\":{\"total\":2}}";
+
+        JsonNode result = body(format(body, projection(List.of("/meta/total", "/data/1"), 0, -1, -1)));
+
+        assertEquals(MAPPER.readTree("{\"data\":[{\"id\":2}],\"meta\":{\"total\":2}}"), result);
+    }
+
+    @Test
+    void reportsNoMatch() throws IOException {
+        String result = format("{\"a\":1}", projection(List.of("$.missing"), 0, -1, -1), OutputFormat.COMPACT);
+
+        assertTrue(result.contains("(선택한 경로와 일치하는 값이 없습니다)"), result);
+    }
+
+    @Test
+    void slicesOutermostArray() throws IOException {
+        String result = format("[0,1,2,3,4,5,6,7,8,9]", projection(null, 2, 3, -1), OutputFormat.COMPACT);
+
+        assertTrue(result.startsWith("HTTP 200 OK\n[2,3,4]"), result);
+        assertTrue(result.contains("전체 10개"), result);
+    }
+
+    @Test
+    void slicesOnlyOutermostArray() throws IOException {
+        String body = "{\"items\":[{\"tags\":[1,2,3]},{\"tags\":[4]},{\"tags\":[5]}]}";
+
+        JsonNode result = body(format(body, projection(null, 0, 2, -1)));
+
+        assertEquals(MAPPER.readTree("{\"items\":[{\"tags\":[1,2,3]},{\"tags\":[4]}]}"), result);
+    }
+
+    @Test
+    void replacesSubtreesBeyondMaxDepth() throws IOException {
+        String body = "{\"a\":{\"b\":{\"c\":1}},\"list\":[[1]],\"n\":1}";
+
+        JsonNode result = body(format(body, projection(null, 0, -1, 2)));
+
+        assertEquals("{…}", result.get("a").get("b").asText());
+        assertEquals("[…]", result.get("list").get(0).asText());
+        assertEquals(1, result.get("n").asInt());
+    }
+
+    @Test
+    void textBodyIgnoresProjection() throws IOException {
+        String result = format("plain text", projection(List.of("$.a"), 0, -1, -1), OutputFormat.COMPACT);
+
+        assertTrue(result.contains("JSON 응답이 아니어서"), result);
+    }
+
+    @Test
+    void rejectsRecursiveDescent() {
+        assertThrows(IllegalArgumentException.class, () -> projection(List.of("$..name"), 0, -1, -1));
+    }
+
+    @Test
+    void rootSelectionIsIdentity() {
+        assertTrue(projection(List.of("$"), 0, -1, -1).isIdentity());
+        assertFalse(projection(List.of("$.a"), 0, -1, -1).isIdentity());
+    }
+
+    private static JsonProjection projection(List<String> select, int offset, int limit, int maxDepth) {
+        return new JsonProjection(select, offset, limit, maxDepth);
+    }
+
+    private String format(String body, JsonProjection projection, OutputFormat outputFormat) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return formatter.format(200, "OK", new ByteArrayInputStream(bytes), bytes.length, null, projection, outputFormat);
+    }
+
+    private String format(String body, JsonProjection projection) throws IOException {
+        return format(body, projection, OutputFormat.JSON);
+    }
+
+    private static JsonNode body(String json) throws IOException {
+        return MAPPER.readTree(json).get("body");
+    }
+}
@@ -0,0 +1,131 @@
+package com.hoho.swaggermcp.http;
+
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    private static final byte[] BODY = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void keyIgnoresHeaderOrderAndCase() {
+        String a = ResponseCache.key("GET", "http://x/pets", Map.of("Accept", "json", "X-Tenant", "1"));
+        String b = ResponseCache.key("GET", "http://x/pets", Map.of("x-tenant", "1", "accept", "json"));
+
+        assertEquals(a, b);
+        assertNotEquals(a, ResponseCache.key("GET", "http://x/pets", Map.of()));
+    }
+
+    @Test
+    void storesFreshResponse() {
+        ResponseCache cache = new ResponseCache(10, 1024 * 1024, 0);
+
+        cache.put("k", response(200, "Cache-Control", "max-age=60"), BODY);
+
+        ResponseCache.Entry entry = cache.get("k");
+        assertNotNull(entry);
+        assertTrue(entry.isFresh());
+        assertArrayEquals(BODY, entry.getBody());
+        assertEquals(BODY.length, cache.getTotalBytes());
+    }
+
+    @Test
+    void skipsResponseWithoutFreshnessOrValidators() {
+        ResponseCache cache = new ResponseCache(10, 1024 * 1024, 0);
+
+        cache.put("k", response(200), BODY);
+
+        assertNull(cache.get("k"));
+    }
+
+    @Test
+    void noStoreIsNotStorable() {
+        assertFalse(ResponseCache.isStorable(response(200, "Cache-Control", "no-store")));
+        assertFalse(ResponseCache.isStorable(response(404)));
+        assertTrue(ResponseCache.isStorable(response(200)));
+    }
+
+    @Test
+    void ageReducesFreshness() {
+        ResponseCache cache = new ResponseCache(10, 1024 * 1024, 0);
+
+        cache.put("k", response(200, "Cache-Control", "max-age=60", "Age", "60", "ETag", "\"v1\""), BODY);
+
+        ResponseCache.Entry entry = cache.get("k");
+        assertFalse(entry.isFresh());
+        assertTrue(entry.hasValidators());
+    }
+
+    @Test
+    void revalidationKeepsBodyAndRefreshesValidators() {
+        ResponseCache cache = new ResponseCache(10, 1024 * 1024, 0);
+        cache.put("k", response(200, "Cache-Control", "no-cache", "ETag", "\"v1\""), BODY);
+        ResponseCache.Entry stale = cache.get("k");
+        assertFalse(stale.isFresh());
+
+        ResponseCache.Entry refreshed = cache.revalidated("k", stale,
+            response(304, "Cache-Control", "max-age=60", "ETag", "\"v2\""));
+
+        assertTrue(refreshed.isFresh());
+        assertEquals("\"v2\"", refreshed.getEtag());
+        assertEquals(200, refreshed.getCode());
+        assertArrayEquals(BODY, refreshed.getBody());
+        assertSame(refreshed, cache.get("k"));
+        assertEquals(1, cache.getRevalidations());
+    }
+
+    @Test
+    void revalidationWithoutValidatorsKeepsPrevious() {
+        ResponseCache cache = new ResponseCache(10, 1024 * 1024, 0);
+        cache.put("k", response(200, "Cache-Control", "no-cache", "Last-Modified", "Mon, 01 Jan 2024 00:00:00 GMT"), BODY);
+
+        ResponseCache.Entry refreshed = cache.revalidated("k", cache.get("k"), response(304));
+
+        assertEquals("Mon, 01 Jan 2024 00:00:00 GMT", refreshed.getLastModified());
+        assertFalse(refreshed.isFresh());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        ResponseCache cache = new ResponseCache(2, 1024 * 1024, 60);
+        cache.put("a", response(200), BODY);
+        cache.put("b", response(200), BODY);
+        cache.get("a");
+
+        cache.put("c", response(200), BODY);
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2, cache.getEntryCount());
+    }
+
+    @Test
+    void skipsEntryLargerThanQuarterOfCache() {
+        ResponseCache cache = new ResponseCache(10, 16, 60);
+
+        cache.put("k", response(200), new byte[5]);
+
+        assertNull(cache.get("k"));
+    }
+
+    private static Response response(int code, String... headers) {
+        Response.Builder builder = new Response.Builder()
+            .request(new Request.Builder().url("http://localhost/pets").build())
+            .protocol(Protocol.HTTP_1_1)
+            .code(code)
+            .message(code == 304 ? "Not Modified" : "OK");
+        for (int i = 0; i < headers.length; i += 2) {
+            builder.addHeader(headers[i], headers[i + 1]);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.hoho.swaggermcp.http;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseFormatterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ResponseFormatter formatter = new ResponseFormatter(1024 * 1024, 64L * 1024 * 1024);
+
+    @Test
+    void formatsMarkdown() throws IOException {
+        String result = formatter.format(200, "OK", stream("{\"id\":1}"), -1, null);
+
+        assertTrue(result.startsWith("=== HTTP 응답 ===\n상태: 200 OK"), result);
+        assertTrue(result.contains("\"id\" : 1"), result);
+    }
+
+    @Test
+    void formatsEmptyBody() throws IOException {
+        assertTrue(formatter.format(204, "No Content", null, 0, null).contains("(응답 바디 없음)"));
+        assertEquals("{\"status\":204,\"statusText\":\"No Content\",\"body\":null}",
+            format(formatter, "", OutputFormat.JSON));
+    }
+
+    @Test
+    void passesThroughText() throws IOException {
+        String result = format(formatter, "plain text", OutputFormat.COMPACT);
+
+        assertEquals("HTTP 200 OK\nplain text", result);
+    }
+
+    @Test
+    void truncatesAtArrayElementBoundary() throws IOException {
+        ResponseFormatter small = new ResponseFormatter(64, 64L * 1024 * 1024);
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) body.append(',');
+            body.append("{\"id\":").append(i).append(",\"name\":\"item").append(i).append("\"}");
+        }
+        body.append(']');
+
+        String result = format(small, body.toString(), OutputFormat.JSON);
+        JsonNode json = MAPPER.readTree(result);
+
+        // 잘린 뒤에도 닫힌 JSON이고, 요소 중간에서 끊기지 않음
+        JsonNode items = json.get("body");
+        assertTrue(items.isArray());
+        assertTrue(items.size() > 0 && items.size() < 100, "size " + items.size());
+        items.forEach(item -> assertTrue(item.has("id") && item.has("name"), item.toString()));
+        assertTrue(json.get("notes").get(0).asText().startsWith("(응답이 잘렸습니다"), result);
+        assertTrue(json.get("notes").get(0).asText().contains("요소 " + (100 - items.size()) + "개 생략"), result);
+    }
+
+    @Test
+    void truncatesText() throws IOException {
+        ResponseFormatter small = new ResponseFormatter(10, 64L * 1024 * 1024);
+
+        String result = format(small, "abcdefghijklmnopqrstuvwxyz", OutputFormat.COMPACT);
+
+        assertTrue(result.startsWith("HTTP 200 OK\nabcdefghij\n"), result);
+        assertTrue(result.contains("(응답이 잘렸습니다"), result);
+    }
+
+    @Test
+    void reportsParseError() throws IOException {
+        String result = format(formatter, "{\"a\":1,", OutputFormat.COMPACT);
+
+        assertTrue(result.contains("(JSON 파싱 중단"), result);
+    }
+
+    private static String format(ResponseFormatter formatter, String body, OutputFormat outputFormat) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return formatter.format(body.isEmpty() ? 204 : 200, body.isEmpty() ? "No Content" : "OK",
+            body.isEmpty() ? null : new ByteArrayInputStream(bytes), bytes.length, null,
+            JsonProjection.NONE, outputFormat);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,142 @@
+package com.hoho.swaggermcp.http;
+
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyTest {
+
+    @Test
+    void parsesRetryAfterSeconds() {
+        assertEquals(3000, RetryPolicy.retryAfterMillis("3"));
+        assertEquals(0, RetryPolicy.retryAfterMillis(" 0 "));
+    }
+
+    @Test
+    void parsesRetryAfterHttpDate() {
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30));
+
+        long millis = RetryPolicy.retryAfterMillis(date);
+
+        assertTrue(millis > 25_000 && millis <= 30_000, "millis " + millis);
+    }
+
+    @Test
+    void pastRetryAfterDateMeansNoWait() {
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).minusHours(1));
+
+        assertEquals(0, RetryPolicy.retryAfterMillis(date));
+    }
+
+    @Test
+    void invalidRetryAfterIsIgnored() {
+        assertEquals(-1, RetryPolicy.retryAfterMillis(null));
+        assertEquals(-1, RetryPolicy.retryAfterMillis(""));
+        assertEquals(-1, RetryPolicy.retryAfterMillis("-5"));
+        assertEquals(-1, RetryPolicy.retryAfterMillis("soon"));
+    }
+
+    @Test
+    void retriesIdempotentMethodsOnly() {
+        RetryPolicy policy = policy(false);
+
+        for (String method : new String[] {"GET", "PUT", "DELETE", "HEAD", "OPTIONS", "get"}) {
+            assertTrue(policy.delayAfterResponse(method, 0, response(503, null)) >= 0, method);
+        }
+        assertEquals(-1, policy.delayAfterResponse("POST", 0, response(503, null)));
+        assertEquals(-1, policy.delayAfterResponse("PATCH", 0, response(503, null)));
+    }
+
+    @Test
+    void retriesPostWhenEnabled() {
+        RetryPolicy policy = policy(true);
+
+        assertTrue(policy.delayAfterResponse("POST", 0, response(503, null)) >= 0);
+        assertEquals(-1, policy.delayAfterResponse("PATCH", 0, response(503, null)));
+    }
+
+    @Test
+    void stopsAfterMaxRetries() {
+        RetryPolicy policy = policy(false);
+
+        assertTrue(policy.delayAfterResponse("GET", 1, response(503, null)) >= 0);
+        assertEquals(-1, policy.delayAfterResponse("GET", 2, response(503, null)));
+    }
+
+    @Test
+    void retriesOnlyTransientStatuses() {
+        RetryPolicy policy = policy(false);
+
+        for (int code : new int[] {429, 502, 503, 504}) {
+            assertTrue(policy.delayAfterResponse("GET", 0, response(code, null)) >= 0, "status " + code);
+        }
+        for (int code : new int[] {200, 400, 404, 500}) {
+            assertEquals(-1, policy.delayAfterResponse("GET", 0, response(code, null)), "status " + code);
+        }
+    }
+
+    @Test
+    void honoursRetryAfterWithinMaxBackoff() {
+        RetryPolicy policy = policy(false);
+
+        assertEquals(1000, policy.delayAfterResponse("GET", 0, response(429, "1")));
+        // 최대 대기 시간(5초)보다 길면 재시도하지 않음
+        assertEquals(-1, policy.delayAfterResponse("GET", 0, response(429, "60")));
+    }
+
+    @Test
+    void backoffGrowsWithEqualJitter() {
+        RetryPolicy policy = policy(false);
+
+        for (int i = 0; i < 20; i++) {
+            long first = policy.delayAfterResponse("GET", 0, response(503, null));
+            long second = policy.delayAfterResponse("GET", 1, response(503, null));
+            assertTrue(first >= 50 && first <= 100, "first " + first);
+            assertTrue(second >= 100 && second <= 200, "second " + second);
+        }
+    }
+
+    @Test
+    void retriesConnectionErrorsOnly() {
+        RetryPolicy policy = policy(false);
+
+        assertTrue(policy.delayAfterError("GET", 0, new ConnectException("refused")) >= 0);
+        assertEquals(-1, policy.delayAfterError("GET", 0, new SocketTimeoutException("read timed out")));
+        assertEquals(-1, policy.delayAfterError("GET", 0, new UnknownHostException("nowhere")));
+        assertEquals(-1, policy.delayAfterError("GET", 0, new SSLException("handshake")));
+        assertEquals(-1, policy.delayAfterError("GET", 0, new CircuitOpenException("open")));
+        assertEquals(-1, policy.delayAfterError("GET", 0, new IOException("Canceled")));
+        assertEquals(-1, policy.delayAfterError("POST", 0, new ConnectException("refused")));
+    }
+
+    private static RetryPolicy policy(boolean retryPost) {
+        HttpClientSettings settings = new HttpClientSettings();
+        settings.apply("retries", "2");
+        settings.apply("retryBackoffMs", "100");
+        settings.apply("retryMaxBackoffMs", "5000");
+        settings.apply("retryPost", Boolean.toString(retryPost));
+        return new RetryPolicy(settings);
+    }
+
+    private static Response response(int code, String retryAfter) {
+        Response.Builder builder = new Response.Builder()
+            .request(new Request.Builder().url("http://localhost/pets").build())
+            .protocol(Protocol.HTTP_1_1)
+            .code(code)
+            .message("status " + code);
+        if (retryAfter != null) builder.header("Retry-After", retryAfter);
+        return builder.build();
+    }
+}
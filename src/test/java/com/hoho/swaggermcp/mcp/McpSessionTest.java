@@ -0,0 +1,83 @@
+package com.hoho.swaggermcp.mcp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.IntNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class McpSessionTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void errorThrownByToolBecomesInternalError() throws Exception {
+        McpSession session = new McpSession("test", new FailingToolProvider(), MAPPER);
+
+        JsonRpcResponse response = session.dispatchSafely(callTool(1, "sync")).join();
+
+        assertEquals(new IntNode(1), response.getId());
+        assertEquals(JsonRpcError.INTERNAL_ERROR, response.getError().getCode());
+        assertEquals("sync failure", response.getError().getMessage());
+    }
+
+    @Test
+    void failedToolFutureBecomesInternalError() throws Exception {
+        McpSession session = new McpSession("test", new FailingToolProvider(), MAPPER);
+
+        JsonRpcResponse response = session.dispatchSafely(callTool(2, "async")).join();
+
+        assertEquals(new IntNode(2), response.getId());
+        assertEquals(JsonRpcError.INTERNAL_ERROR, response.getError().getCode());
+    }
+
+    @Test
+    void failedNotificationHasNoResponse() {
+        McpSession session = new McpSession("test", new FailingToolProvider(), MAPPER);
+        JsonRpcRequest request = new JsonRpcRequest();
+        request.setJsonrpc("2.0");
+        request.setMethod("notifications/initialized");
+
+        assertNull(session.dispatchSafely(request).join());
+    }
+
+    private static JsonRpcRequest callTool(int id, String name) throws Exception {
+        JsonRpcRequest request = new JsonRpcRequest();
+        request.setJsonrpc("2.0");
+        request.setId(new IntNode(id));
+        request.setMethod("tools/call");
+        request.setParams(MAPPER.readTree("{\"name\":\"" + name + "\",\"arguments\":{}}"));
+        return request;
+    }
+
+    /**
+     * 호출마다 Error로 실패하는 도구 제공자 (sync는 바로 던지고, async는 실패한 future 반환)
+     */
+    private static class FailingToolProvider implements ToolProvider {
+
+        @Override
+        public List<McpModels.Tool> getTools() {
+            return List.of();
+        }
+
+        @Override
+        public McpModels.CallToolResult callTool(String name, JsonNode arguments) {
+            throw new AssertionError("not used");
+        }
+
+        @Override
+        public CompletableFuture<McpModels.CallToolResult> callToolAsync(String name, JsonNode arguments) {
+            if ("sync".equals(name)) throw new AssertionError("sync failure");
+            return CompletableFuture.failedFuture(new AssertionError("async failure"));
+        }
+
+        @Override
+        public void onInitialized() {
+            throw new AssertionError("initialized failure");
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.hoho.swaggermcp.swagger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelinePlanTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void independentStepsHaveNoDependencies() throws IOException {
+        PipelinePlan plan = PipelinePlan.parse(json("[{\"operationId\":\"a\"},{\"operationId\":\"b\"}]"));
+
+        assertEquals(2, plan.size());
+        assertTrue(plan.dependencies(0).isEmpty());
+        assertTrue(plan.dependencies(1).isEmpty());
+        assertFalse(plan.isReferenced(0));
+    }
+
+    @Test
+    void ordersDependentStepsAfterTheirSources() throws IOException {
+        PipelinePlan plan = PipelinePlan.parse(json("["
+            + "{\"operationId\":\"c\",\"parameters\":{\"id\":\"${steps[1].body.id}\"}},"
+            + "{\"operationId\":\"b\",\"parameters\":{\"code\":\"${steps[2].status}\"}},"
+            + "{\"operationId\":\"a\"}]"));
+
+        assertArrayEquals(new int[] {2, 1, 0}, plan.order());
+        assertEquals(Set.of(1), plan.dependencies(0));
+        assertTrue(plan.isBodyReferenced(1));
+        assertFalse(plan.isBodyReferenced(2));
+        assertTrue(plan.isReferenced(2));
+    }
+
+    @Test
+    void wholeValueReferenceKeepsJsonType() throws IOException {
+        PipelinePlan plan = PipelinePlan.parse(json("[{\"operationId\":\"a\"},"
+            + "{\"operationId\":\"b\",\"parameters\":{\"id\":\"${steps[0].body.items[1].id}\","
+            + "\"owner\":\"${steps[0].body.owner}\",\"status\":\"${steps[0].status}\"}}]"));
+
+        JsonNode resolved = plan.resolve(1, outputs(Map.of(0, "{\"items\":[{\"id\":1},{\"id\":42}],\"owner\":{\"name\":\"kim\"}}")));
+
+        JsonNode parameters = resolved.get("parameters");
+        assertTrue(parameters.get("id").isNumber());
+        assertEquals(42, parameters.get("id").asInt());
+        assertEquals("kim", parameters.get("owner").get("name").asText());
+        assertEquals(200, parameters.get("status").asInt());
+    }
+
+    @Test
+    void embeddedReferenceIsReplacedAsText() throws IOException {
+        PipelinePlan plan = PipelinePlan.parse(json("[{\"operationId\":\"a\"},"
+            + "{\"operationId\":\"b\",\"path\":\"/pets/${steps[0].body.0.id}/owner\"}]"));
+
+        JsonNode resolved = plan.resolve(1, outputs(Map.of(0, "[{\"id\":7}]")));
+
+        assertEquals("/pets/7/owner", resolved.get("path").asText());
+        // 원본 단계 인자는 바뀌지 않음
+        assertEquals("/pets/${steps[0].body.0.id}/owner", plan.step(1).get("path").asText());
+    }
+
+    @Test
+    void missingValueFailsResolution() throws IOException {
+        PipelinePlan plan = PipelinePlan.parse(json("[{\"operationId\":\"a\"},"
+            + "{\"operationId\":\"b\",\"id\":\"${steps[0].body.missing}\"}]"));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> plan.resolve(1, outputs(Map.of(0, "{\"id\":1}"))));
+        assertTrue(error.getMessage().contains("did not match any value"), error.getMessage());
+    }
+
+    @Test
+    void nonJsonBodyFailsResolution() throws IOException {
+        PipelinePlan plan = PipelinePlan.parse(json("[{\"operationId\":\"a\"},"
+            + "{\"operationId\":\"b\",\"id\":\"${steps[0].body.id}\"}]"));
+
+        assertThrows(IllegalArgumentException.class, () -> plan.resolve(1, outputs(Map.of())));
+    }
+
+    @Test
+    void rejectsInvalidPlans() {
+        assertRejected("[{\"id\":\"${steps[5].body.id}\"}]", "only 1 steps");
+        assertRejected("[{\"id\":\"${steps[0].body.id}\"}]", "references itself");
+        assertRejected("[{\"id\":\"${steps[1].status}\"},{\"id\":\"${steps[0].status}\"}]", "Circular");
+        assertRejected("[{},{\"id\":\"${steps[0].body.items[x]}\"}]", "Invalid array index");
+        assertRejected("[{},{\"id\":\"${steps[0].body..id}\"}]", "Empty field name");
+        assertRejected("[\"not an object\"]", "must be an object");
+    }
+
+    private static void assertRejected(String steps, String message) {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> PipelinePlan.parse(json(steps)));
+        assertTrue(error.getMessage().contains(message), error.getMessage());
+    }
+
+    private static PipelinePlan.StepOutputs outputs(Map<Integer, String> bodies) {
+        return new PipelinePlan.StepOutputs() {
+            @Override
+            public int status(int step) {
+                return 200;
+            }
+
+            @Override
+            public JsonNode body(int step) {
+                String body = bodies.get(step);
+                return body != null ? json(body) : null;
+            }
+        };
+    }
+
+    private static JsonNode json(String text) {
+        try {
+            return MAPPER.readTree(text);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}